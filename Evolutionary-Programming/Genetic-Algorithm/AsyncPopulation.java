@@ -0,0 +1,450 @@
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Runs the genetic algorithm asynchronously on every core at once. There
+ * are no generations and no point at which the breeders wait for one
+ * another: each continually selects parents from a shared population,
+ * breeds children, and writes them back, so a breeder stuck retrying a
+ * crossover holds up nobody but itself.
+ *
+ * <p>The population is an array of slots updated without locks. Parents
+ * are chosen by binary tournament, which needs only two reads rather than
+ * the sum of every fitness a roulette wheel needs. A child replaces the
+ * loser of a second tournament, if it is at least as fit, by
+ * compare-and-set on that slot, so a slot another breeder has replaced in
+ * the meantime is never overwritten blindly: the breeder reads the new
+ * occupant and tries again while the child is still no worse. Every
+ * child is a new object, so a slot's occupant identifies its version and
+ * the swaps cannot be fooled by an old occupant returning. Only the rare
+ * improvement on the best is published under a lock, so subscribers see
+ * improvements in order. As in <code>SteadyState</code>, children folded
+ * the same way as an individual already present are turned away.
+ *
+ * <p>The operators and their shares follow <code>SteadyState</code>. As
+ * many insertions as the population holds count as a generation in the
+ * <code>Messages</code> sent to subscribers, in the statistics and in the
+ * progress log.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class AsyncPopulation implements FoldingEngine {
+
+    /**
+     * How many times a breeder tries to place a child in a slot that
+     * keeps being replaced under it before giving the child up.
+     */
+    private static final int PLACEMENT_ATTEMPTS = 3;
+
+    private final String acidString;
+    private final int targetFitness;
+    private final int stopFitness;
+    private final int maxContacts;
+    private final int populationSize;
+    private final int breederCount;
+    private final Random random;
+    private final SearchMetrics metrics;
+    private final ProgressPublisher publisher;
+    private final ProgressLog log;
+
+    /**
+     * The population, one individual per slot.
+     */
+    private final AtomicReferenceArray<Chromosome> slots;
+
+    /**
+     * How many slots hold each canonical hash, so that a child folded the
+     * same way as an individual already present can be turned away. Kept
+     * up to date after each swap, so it may briefly lag the slots.
+     */
+    private final ConcurrentHashMap<Long, Integer> folds;
+
+    /**
+     * The number of children placed in the population.
+     */
+    private final AtomicLong insertions;
+
+    /**
+     * How many generations' worth of insertions without improvement pass
+     * before double-point mutation is applied.
+     */
+    private int stagnationThreshold;
+
+    /**
+     * Refines each child that ties or beats the best before it is
+     * placed, or <code>null</code> to run the plain genetic algorithm.
+     */
+    private LocalSearch localSearch;
+
+    /**
+     * Where every child is offered, or <code>null</code> if the fittest
+     * are not kept.
+     */
+    private HallOfFame hallOfFame;
+
+    /**
+     * The fittest individual found so far, and the number of insertions
+     * when it was found. Written under <code>this</code>.
+     */
+    private volatile Chromosome best;
+    private volatile long lastImprovement;
+
+    /**
+     * When progress was last reported to the log. Guarded by
+     * <code>this</code>.
+     */
+    private long lastLogged;
+
+    /**
+     * Whether the target has been reached, or the search has been asked
+     * to stop early.
+     */
+    private volatile boolean finished;
+    private volatile boolean cancelled;
+
+    /**
+     * Builds an asynchronous search of the default population size with
+     * one breeder per core.
+     *
+     * @param acidString the sequence of amino acids compromising the protein
+     * @param targetFitness the goal fitness for the search being performed
+     */
+    public AsyncPopulation(String acidString, int targetFitness) {
+        this(acidString, targetFitness, Population.POP_SIZE,
+                Runtime.getRuntime().availableProcessors(), new Random());
+    }
+
+    /**
+     * Builds an asynchronous search seeded by the provided random
+     * generator. Breeders run concurrently, so a seeded search is not
+     * reproducible unless it has a single breeder.
+     *
+     * @param acidString the sequence of amino acids compromising the protein
+     * @param targetFitness the goal fitness for the search being performed
+     * @param populationSize the number of individuals in the population
+     * @param breederCount the number of breeder threads
+     * @param random the random generator for the search
+     */
+    public AsyncPopulation(String acidString, int targetFitness, int populationSize,
+                           int breederCount, Random random) {
+        if (populationSize < Population.MIN_POP_SIZE) {
+            throw new IllegalArgumentException("A population holds at least "
+                    + Population.MIN_POP_SIZE + " individuals, not " + populationSize);
+        }
+        if (breederCount < 1) {
+            throw new IllegalArgumentException("At least one breeder is needed");
+        }
+        int bound = FitnessBound.bestPossibleFitness(acidString);
+        this.acidString = acidString;
+        this.targetFitness = targetFitness;
+        this.stopFitness = Math.max(targetFitness, bound);
+        this.maxContacts = -bound;
+        this.populationSize = populationSize;
+        this.breederCount = breederCount;
+        this.random = random;
+        this.metrics = new SearchMetrics(acidString, targetFitness);
+        this.publisher = new ProgressPublisher();
+        this.log = ProgressLog.getInstance();
+        this.stagnationThreshold = Population.STAGNATION_THRESHOLD;
+        this.insertions = new AtomicLong();
+
+        this.slots = new AtomicReferenceArray<>(populationSize);
+        this.folds = new ConcurrentHashMap<>();
+        Chromosome fittest = null;
+        for (int i = 0; i < populationSize; i++) {
+            Chromosome individual = new Chromosome(acidString, random, this.metrics);
+            this.slots.set(i, individual);
+            this.folds.merge(individual.getCanonicalHash(), 1, Integer::sum);
+            if (fittest == null || individual.getFitness() < fittest.getFitness()) {
+                fittest = individual;
+            }
+        }
+        this.metrics.recordEvaluations(populationSize);
+        this.best = fittest;
+    }
+
+    /**
+     * Sets how many generations' worth of insertions without improvement
+     * pass before double-point mutation is applied.
+     *
+     * @param generations the number of generations without improvement
+     */
+    public void setStagnationThreshold(int generations) {
+        if (generations < 1) {
+            throw new IllegalArgumentException("Stagnation threshold must be positive");
+        }
+        this.stagnationThreshold = generations;
+    }
+
+    /**
+     * Hybridizes this search with local search: every child at least as
+     * fit as the best individual is refined before it is placed.
+     *
+     * @param localSearch the local search to apply, or <code>null</code> for none
+     */
+    public void setLocalSearch(LocalSearch localSearch) {
+        this.localSearch = localSearch;
+    }
+
+    /**
+     * Offers every child, and the fittest of the initial population, to a
+     * hall of fame, from every breeder.
+     *
+     * @param hallOfFame the hall of fame, or <code>null</code> for none
+     */
+    @Override
+    public void setHallOfFame(HallOfFame hallOfFame) {
+        this.hallOfFame = hallOfFame;
+    }
+
+    @Override
+    public String getAcidString() {
+        return this.acidString;
+    }
+
+    @Override
+    public int getTargetFitness() {
+        return this.targetFitness;
+    }
+
+    @Override
+    public SearchMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Message> subscriber) {
+        this.publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Asks the breeders to stop after the children they are breeding.
+     */
+    @Override
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * Runs every breeder on its own thread until the target fitness is
+     * reached or the search is cancelled. The statistics of the search are
+     * registered over JMX for the duration.
+     */
+    @Override
+    public void evolve() {
+        this.metrics.register();
+        this.lastLogged = System.nanoTime();
+        this.finished = this.best.getFitness() <= this.stopFitness;
+        if (this.hallOfFame != null) {
+            this.hallOfFame.offer(this.best);
+        }
+        ExecutorService breeders = Executors.newFixedThreadPool(this.breederCount,
+                runnable -> {
+                    Thread thread = new Thread(runnable, "async-breeder");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            Future<?>[] running = new Future<?>[this.breederCount];
+            for (int i = 0; i < this.breederCount; i++) {
+                long seed = this.random.nextLong();
+                running[i] = breeders.submit(() -> this.breed(new Random(seed)));
+            }
+            for (Future<?> breeder : running) {
+                breeder.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.cancelled = true;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A breeder failed", e.getCause());
+        } finally {
+            breeders.shutdownNow();
+            // Count the last, partial generation, so the statistics end current.
+            if (this.insertions.get() % this.populationSize != 0) {
+                this.recordGeneration();
+            }
+            this.metrics.unregister();
+            this.publisher.close();
+        }
+    }
+
+    /**
+     * The body of a breeder's thread: breeds and places children until
+     * the search stops.
+     *
+     * @param random the breeder's own random generator
+     */
+    private void breed(Random random) {
+        while (!this.finished && !this.cancelled) {
+            if (random.nextDouble() < SteadyState.IMMIGRANT_RATE) {
+                this.metrics.recordEvaluations(1);
+                this.place(new Chromosome(this.acidString, random, this.metrics), random);
+                continue;
+            }
+
+            Chromosome left = this.selectByTournament(random);
+            Chromosome right = this.selectByTournament(random);
+            int pivot = random.nextInt(this.acidString.length() - 2) + 1;
+            Chromosome newLeft = Chromosome.crossover(left, right, pivot, random);
+            Chromosome newRight = Chromosome.crossover(right, left, pivot, random);
+            this.metrics.recordCrossover(newLeft != null);
+            this.metrics.recordCrossover(newRight != null);
+            if (newLeft != null) {
+                this.place(this.maybeMutate(newLeft, random), random);
+            }
+            if (newRight != null) {
+                this.place(this.maybeMutate(newRight, random), random);
+            }
+        }
+    }
+
+    /**
+     * Returns the fitter of two individuals chosen at random.
+     *
+     * @param random the breeder's random generator
+     * @return the winner of the tournament
+     */
+    private Chromosome selectByTournament(Random random) {
+        Chromosome first = this.slots.get(random.nextInt(this.populationSize));
+        Chromosome second = this.slots.get(random.nextInt(this.populationSize));
+        return (second.getFitness() < first.getFitness()) ? second : first;
+    }
+
+    /**
+     * Mutates a child at the mutation rate, at two points if the search
+     * has stagnated. A failed mutation leaves the child unchanged.
+     *
+     * @param child the child bred by crossover
+     * @param random the breeder's random generator
+     * @return the child, mutated or not
+     */
+    private Chromosome maybeMutate(Chromosome child, Random random) {
+        if (random.nextDouble() >= SteadyState.MUTATION_RATE) {
+            return child;
+        }
+        boolean doublePoint = (this.insertions.get() - this.lastImprovement)
+                >= (long) this.stagnationThreshold * this.populationSize;
+        int pivot = random.nextInt(this.acidString.length() - 2) + 1;
+        Chromosome mutant = Chromosome.mutate(child, pivot, random);
+        this.metrics.recordMutation(mutant != null);
+        if (mutant != null && doublePoint) {
+            int secondPivot = random.nextInt(this.acidString.length() - 2) + 1;
+            mutant = Chromosome.mutate(mutant, secondPivot, random);
+            this.metrics.recordMutation(mutant != null);
+        }
+        return (mutant != null) ? mutant : child;
+    }
+
+    /**
+     * Places a child in the slot of the loser of a tournament if the
+     * child is at least as fit and not folded the same way as an
+     * individual already present, retrying on the same slot while other
+     * breeders replace its occupant, and reports progress.
+     *
+     * @param child the child to place
+     * @param random the breeder's random generator
+     */
+    private void place(Chromosome child, Random random) {
+        if (this.localSearch != null && child.getFitness() <= this.best.getFitness()) {
+            Chromosome refined = this.localSearch.refine(child, random);
+            this.metrics.recordLocalSearch(this.localSearch.getMoves(),
+                    refined.getFitness() < child.getFitness());
+            child = refined;
+        }
+
+        if (this.hallOfFame != null) {
+            this.hallOfFame.offer(child);
+        }
+
+        int first = random.nextInt(this.populationSize);
+        int second = random.nextInt(this.populationSize);
+        int slot = (this.slots.get(second).getFitness() > this.slots.get(first).getFitness())
+                ? second : first;
+        // A new best is never given up, or the population could lose it.
+        boolean improving = child.getFitness() < this.best.getFitness();
+        boolean duplicate = !improving && this.folds.containsKey(child.getCanonicalHash());
+        for (int attempt = 0; !duplicate && (improving || attempt < PLACEMENT_ATTEMPTS); attempt++) {
+            Chromosome occupant = this.slots.get(slot);
+            if (child.getFitness() > occupant.getFitness()) {
+                break;
+            }
+            if (this.slots.compareAndSet(slot, occupant, child)) {
+                this.folds.merge(child.getCanonicalHash(), 1, Integer::sum);
+                this.folds.computeIfPresent(occupant.getCanonicalHash(),
+                        (hash, count) -> (count == 1) ? null : count - 1);
+                break;
+            }
+        }
+
+        long inserted = this.insertions.incrementAndGet();
+        if (improving) {
+            this.offerBest(child, inserted);
+        }
+        if (inserted % this.populationSize == 0) {
+            this.recordGeneration();
+        }
+    }
+
+    /**
+     * Publishes a child as the new best if no fitter one has been found
+     * in the meantime.
+     *
+     * @param child the child that improved on the best
+     * @param inserted the number of insertions when it was placed
+     */
+    private synchronized void offerBest(Chromosome child, long inserted) {
+        if (child.getFitness() >= this.best.getFitness()) {
+            return;
+        }
+        this.best = child;
+        this.lastImprovement = inserted;
+        int generation = (int) (inserted / this.populationSize);
+        this.publisher.publish(new Message(child, generation));
+        this.lastLogged = System.nanoTime();
+        this.log.record(this.metrics.getId(), generation, child.getFitness(), 1,
+                this.populationSize);
+        if (child.getFitness() <= this.stopFitness) {
+            this.finished = true;
+        }
+    }
+
+    /**
+     * Records the state of the population, read slot by slot while the
+     * breeders carry on, as the end of a generation.
+     */
+    private synchronized void recordGeneration() {
+        int bestFitness = this.best.getFitness();
+        boolean[] present = new boolean[this.maxContacts + 1];
+        int volume = 0;
+        int distinct = 0;
+        for (int i = 0; i < this.populationSize; i++) {
+            int fitness = this.slots.get(i).getFitness();
+            if (fitness == bestFitness) {
+                volume++;
+            }
+            if (!present[-fitness]) {
+                present[-fitness] = true;
+                distinct++;
+            }
+        }
+        this.metrics.recordGeneration(bestFitness, volume, distinct);
+
+        long now = System.nanoTime();
+        if (now - this.lastLogged >= ProgressLog.SAMPLE_INTERVAL) {
+            this.lastLogged = now;
+            this.log.record(this.metrics.getId(),
+                    (int) (this.insertions.get() / this.populationSize),
+                    bestFitness, volume, this.populationSize);
+        }
+    }
+
+}
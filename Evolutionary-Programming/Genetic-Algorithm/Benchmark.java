@@ -0,0 +1,456 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast each engine finishes a search, end to end, on a fixed
+ * corpus: the sample sequences of the README and the standard
+ * two-dimensional HP benchmark sequences of twenty to a hundred acids.
+ * Every engine is run on every sequence a number of times, each run with
+ * a fixed seed and a time budget, and the median and 95th percentile of
+ * the wall time and of the fitness evaluations taken to reach the target
+ * are reported, along with the fraction of runs reaching it within the
+ * budget. Wall time includes building the engine, and is taken over every
+ * run, so a run that fails counts at its full budget; evaluations are
+ * taken over the runs that succeed.
+ *
+ * <p>Run it with, for example,
+ * <code>java Benchmark -engines steady_state,parallel_tempering
+ * -repetitions 20 -budget 30 -out before.json</code>. Every option may be
+ * left out: <code>-engines</code> and <code>-sequences</code> take
+ * comma-separated names (by default every engine and every sequence),
+ * <code>-budget</code> is in seconds, <code>-seed</code> is the seed of the
+ * first repetition, and <code>-fraction</code> sets each target to that
+ * fraction of the best fitness known for the sequence. A summary table is
+ * printed, and every run, with its seed, is written to the
+ * <code>-out</code> file as JSON, so two builds can be compared run by run.
+ *
+ * <p>Engines are run directly rather than through a <code>Search</code>,
+ * so the result store neither answers nor seeds them. Seeded runs of the
+ * engines that search on several threads, and every run of the portfolio,
+ * are not reproducible move for move.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class Benchmark {
+
+    /**
+     * The sequences benchmarked, by name, with their lengths and the best
+     * fitness known for each: the README's samples, then the standard
+     * benchmarks S1-1 to S1-11, whose best known fitnesses are those
+     * published. Those of up to twenty-five acids are proven optimal by
+     * <code>ExactSolver</code>.
+     */
+    private static final Problem[] CORPUS = {
+        new Problem("sample-20", 20, "hhhpphphphpphphphpph", -10),
+        new Problem("std-20", 20, "hphpphhphpphphhpphph", -9),
+        new Problem("std-24", 24, "hhpphpphpphpphpphpphpphh", -9),
+        new Problem("std-25", 25, "pphpphhpppphhpppphhpppphh", -8),
+        new Problem("std-36", 36, "ppphhpphhppppphhhhhhhpphhpppphhpphpp", -14),
+        new Problem("std-48", 48, "pphpphhpphhppppphhhhhhhhhhpppppphhpphhpphpphhhhh", -23),
+        new Problem("std-50", 50, "hhphphphphhhhphppphppphpppphppphppphphhhhphphphphh", -21),
+        new Problem("std-60", 60,
+                "pphhhphhhhhhhhppphhhhhhhhhhphppphhhhhhhhhhhhpppphhhhhhphhphp", -36),
+        new Problem("std-64", 64,
+                "hhhhhhhhhhhhphphpphhpphhpphpphhpphhpphpphhpphhpphphphhhhhhhhhhhh", -42),
+        new Problem("std-85", 85, "hhhhpppphhhhhhhhhhhhpppppphhhhhhhhhhhhppphhhhhhhhhhhhppp"
+                + "hhhhhhhhhhhhppphpphhpphhpphph", -53),
+        new Problem("std-100a", 100, "pppppphphhppppphhhphhhhhphhpppphhpphhphhhhhphhhhhhhhhh"
+                + "phhphhhhhhhppppppppppphhhhhhhpphphhhpppppphphh", -48),
+        new Problem("std-100b", 100, "ppphhpphhhhpphhhphhphhphhhhpppppppphhhhhhpphhhhhhppppp"
+                + "pppphphhphhhhhhhhhhhpphhhphhphpphphhhpppppphhh", -50),
+    };
+
+    private int repetitions = 10;
+    private long budgetMillis = 60_000;
+    private long seed = 1;
+    private double fraction = 1.0;
+    private int warmups = 1;
+    private Path out = Paths.get("benchmark.json");
+    private List<EngineType> engines = new ArrayList<>(Arrays.asList(EngineType.values()));
+    private List<Problem> problems = new ArrayList<>(Arrays.asList(CORPUS));
+
+    /**
+     * Cancels runs whose budget has run out.
+     */
+    private final ScheduledExecutorService timer =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Benchmark budget");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Runs the benchmark, prints a summary and writes every run as JSON.
+     *
+     * @throws IOException if the results cannot be written
+     * @throws InterruptedException if interrupted while waiting for a run
+     */
+    public void run() throws IOException, InterruptedException {
+        for (int i = 0; i < this.warmups; i++) {
+            for (EngineType engine : this.engines) {
+                Problem problem = this.problems.get(0);
+                if (Benchmark.supports(engine, problem)) {
+                    this.runOnce(engine, problem, this.target(problem), -1 - i);
+                }
+            }
+        }
+
+        StringBuilder json = new StringBuilder();
+        json.append(String.format(Locale.ROOT,
+                "{\"environment\":{\"java\":\"%s\",\"processors\":%d,"
+                        + "\"maxMemoryMB\":%d,\"started\":\"%s\"},",
+                System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(),
+                Runtime.getRuntime().maxMemory() >> 20, Instant.now()));
+        json.append(String.format(Locale.ROOT,
+                "\"settings\":{\"repetitions\":%d,\"budgetMillis\":%d,"
+                        + "\"seed\":%d,\"fraction\":%s},\"results\":[",
+                this.repetitions, this.budgetMillis, this.seed, this.fraction));
+        StringBuilder table = new StringBuilder(String.format(
+                "%-20s %-9s %6s %7s %11s %11s %12s %12s%n", "engine", "sequence",
+                "target", "success", "median ms", "p95 ms", "median evals", "p95 evals"));
+
+        boolean first = true;
+        for (EngineType engine : this.engines) {
+            for (Problem problem : this.problems) {
+                if (!Benchmark.supports(engine, problem)) {
+                    continue;
+                }
+                int target = this.target(problem);
+                List<Run> runs = new ArrayList<>();
+                for (int repetition = 0; repetition < this.repetitions; repetition++) {
+                    runs.add(this.runOnce(engine, problem, target, this.seed + repetition));
+                }
+                Summary summary = new Summary(runs);
+                json.append(first ? "" : ",").append(summary.toJson(engine, problem, target));
+                first = false;
+                table.append(String.format("%-20s %-9s %6d %6.0f%% %11.1f %11.1f %12.0f %12.0f%n",
+                        engine.name(), problem.name, target, 100 * summary.successRate,
+                        summary.medianWall, summary.p95Wall, summary.medianEvaluations,
+                        summary.p95Evaluations));
+            }
+        }
+        json.append("]}").append(System.lineSeparator());
+
+        try (Writer writer = Files.newBufferedWriter(this.out, StandardCharsets.UTF_8)) {
+            writer.write(json.toString());
+        }
+        System.out.print(table);
+        System.out.println("Every run written to " + this.out);
+    }
+
+    /**
+     * Returns the target for a sequence: the given fraction of the best
+     * fitness known, rounded towards zero.
+     *
+     * @param problem the sequence
+     * @return the target fitness
+     */
+    private int target(Problem problem) {
+        return (int) (problem.bestKnown * this.fraction);
+    }
+
+    /**
+     * Runs one engine once on one sequence, cancelling it when its budget
+     * runs out.
+     *
+     * @param engineType the engine
+     * @param problem the sequence
+     * @param target the target fitness
+     * @param runSeed the seed of the run
+     * @return the outcome of the run
+     * @throws InterruptedException if interrupted while waiting for the run
+     */
+    private Run runOnce(EngineType engineType, Problem problem, int target, long runSeed)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        FoldingEngine engine = Benchmark.create(engineType, problem.acids, target,
+                new Random(runSeed));
+        long remaining = this.budgetMillis - (System.nanoTime() - start) / 1_000_000;
+        ScheduledFuture<?> budget = this.timer.schedule(engine::cancel,
+                Math.max(0, remaining), TimeUnit.MILLISECONDS);
+        BestTracker tracker = new BestTracker();
+        engine.subscribe(tracker);
+        engine.evolve();
+        long wall = System.nanoTime() - start;
+        budget.cancel(false);
+        tracker.finished.await();
+        boolean success = tracker.best <= target;
+        return new Run(runSeed, wall, engine.getMetrics().getFitnessEvaluations(),
+                tracker.best, success && wall <= this.budgetMillis * 1_000_000);
+    }
+
+    /**
+     * Returns whether an engine can be run on a sequence in reasonable time.
+     *
+     * @param engine the engine
+     * @param problem the sequence
+     * @return whether the sequence is short enough for the engine
+     */
+    private static boolean supports(EngineType engine, Problem problem) {
+        return engine != EngineType.EXACT
+                || problem.acids.length() <= Portfolio.EXACT_MAX_LENGTH;
+    }
+
+    /**
+     * Builds an engine configured as <code>EngineType</code> builds it,
+     * but drawing its random choices from the given generator where the
+     * engine allows.
+     *
+     * @param engineType the engine
+     * @param acids the sequence
+     * @param target the target fitness
+     * @param random the random generator for the run
+     * @return the engine
+     */
+    private static FoldingEngine create(EngineType engineType, String acids, int target,
+                                        Random random) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        switch (engineType) {
+            case GENETIC_ALGORITHM:
+                Population population = new Population(acids, target, Population.POP_SIZE,
+                        random);
+                population.setLocalSearch(new LocalSearch());
+                population.setAdaptiveOperators(true);
+                return population;
+            case STEADY_STATE:
+                SteadyState steadyState = new SteadyState(acids, target, Population.POP_SIZE,
+                        random);
+                steadyState.setLocalSearch(new LocalSearch());
+                return steadyState;
+            case ASYNCHRONOUS:
+                AsyncPopulation async = new AsyncPopulation(acids, target, Population.POP_SIZE,
+                        processors, random);
+                async.setLocalSearch(new LocalSearch());
+                return async;
+            case PARALLEL_TEMPERING:
+                return new ParallelTempering(acids, target, Math.max(2, processors), random);
+            case CHAIN_GROWTH:
+                return new ChainGrowth(acids, target, processors, random);
+            default:
+                // The exact solver has no random choices, and the portfolio draws its own.
+                return engineType.create(acids, target);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Benchmark benchmark = new Benchmark();
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException(args[i] + " needs a value");
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "-engines":
+                        benchmark.engines.clear();
+                        for (String name : value.split(",")) {
+                            benchmark.engines.add(EngineType.valueOf(name.trim().toUpperCase()));
+                        }
+                        break;
+                    case "-sequences":
+                        benchmark.problems.clear();
+                        for (String name : value.split(",")) {
+                            benchmark.problems.add(Benchmark.findProblem(name.trim()));
+                        }
+                        break;
+                    case "-repetitions":
+                        benchmark.repetitions = Integer.parseInt(value);
+                        break;
+                    case "-budget":
+                        benchmark.budgetMillis = Math.round(Double.parseDouble(value) * 1000);
+                        break;
+                    case "-seed":
+                        benchmark.seed = Long.parseLong(value);
+                        break;
+                    case "-fraction":
+                        benchmark.fraction = Double.parseDouble(value);
+                        break;
+                    case "-warmups":
+                        benchmark.warmups = Integer.parseInt(value);
+                        break;
+                    case "-out":
+                        benchmark.out = Paths.get(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: java Benchmark [-engines a,b] [-sequences a,b] "
+                    + "[-repetitions n] [-budget seconds] [-seed n] [-fraction f] "
+                    + "[-warmups n] [-out file]");
+            System.exit(1);
+        }
+        benchmark.run();
+        // Stop the progress log and any engine threads still winding down.
+        System.exit(0);
+    }
+
+    /**
+     * Returns the sequence of the corpus with the given name.
+     *
+     * @param name the name of the sequence
+     * @return the sequence
+     * @throws IllegalArgumentException if there is no such sequence
+     */
+    private static Problem findProblem(String name) {
+        for (Problem problem : CORPUS) {
+            if (problem.name.equals(name)) {
+                return problem;
+            }
+        }
+        throw new IllegalArgumentException("No sequence named " + name);
+    }
+
+
+    /**
+     * A sequence of the corpus.
+     */
+    private static class Problem {
+
+        private final String name;
+        private final String acids;
+        private final int bestKnown;
+
+        /**
+         * Builds a sequence of the corpus, checking it against its
+         * published length so that a mistyped sequence is caught at once.
+         *
+         * @throws IllegalArgumentException if the sequence is not of the
+         *         given length or not made of <code>h</code> and <code>p</code>
+         */
+        Problem(String name, int length, String acids, int bestKnown) {
+            if (acids.length() != length || !acids.matches("[hp]+")) {
+                throw new IllegalArgumentException("Sequence " + name + " should be "
+                        + length + " acids of h and p, not " + acids);
+            }
+            this.name = name;
+            this.acids = acids;
+            this.bestKnown = bestKnown;
+        }
+
+    }
+
+
+    /**
+     * The outcome of one run.
+     */
+    private static class Run {
+
+        private final long seed;
+        private final long wallNanos;
+        private final long evaluations;
+        private final int fitness;
+        private final boolean success;
+
+        Run(long seed, long wallNanos, long evaluations, int fitness, boolean success) {
+            this.seed = seed;
+            this.wallNanos = wallNanos;
+            this.evaluations = evaluations;
+            this.fitness = fitness;
+            this.success = success;
+        }
+
+    }
+
+
+    /**
+     * The statistics of the runs of one engine on one sequence.
+     */
+    private static class Summary {
+
+        private final List<Run> runs;
+        private final double[] walls;
+        private final double[] evaluations;
+        private final double successRate;
+        private final double medianWall;
+        private final double p95Wall;
+        private final double medianEvaluations;
+        private final double p95Evaluations;
+
+        Summary(List<Run> runs) {
+            this.runs = runs;
+            this.walls = runs.stream().mapToDouble(run -> run.wallNanos / 1e6)
+                    .sorted().toArray();
+            this.evaluations = runs.stream().filter(run -> run.success)
+                    .mapToDouble(run -> run.evaluations).sorted().toArray();
+            this.successRate = (double) this.evaluations.length / runs.size();
+            this.medianWall = Percentiles.of(this.walls, 0.5);
+            this.p95Wall = Percentiles.of(this.walls, 0.95);
+            this.medianEvaluations = Percentiles.of(this.evaluations, 0.5);
+            this.p95Evaluations = Percentiles.of(this.evaluations, 0.95);
+        }
+
+        String toJson(EngineType engine, Problem problem, int target) {
+            StringBuilder json = new StringBuilder();
+            json.append(String.format(Locale.ROOT,
+                    "{\"engine\":\"%s\",\"sequence\":\"%s\",\"length\":%d,"
+                            + "\"target\":%d,\"runs\":%d,\"successRate\":%.4f,"
+                            + "\"wallMillis\":%s,\"evaluationsToTarget\":%s,\"samples\":[",
+                    engine.name(), problem.name, problem.acids.length(), target,
+                    this.runs.size(), this.successRate, Percentiles.toJson(this.walls),
+                    Percentiles.toJson(this.evaluations)));
+            for (int i = 0; i < this.runs.size(); i++) {
+                Run run = this.runs.get(i);
+                json.append((i == 0) ? "" : ",").append(String.format(Locale.ROOT,
+                        "{\"seed\":%d,\"wallMillis\":%.3f,\"evaluations\":%d,"
+                                + "\"fitness\":%d,\"success\":%b}",
+                        run.seed, run.wallNanos / 1e6, run.evaluations, run.fitness,
+                        run.success));
+            }
+            return json.append("]}").toString();
+        }
+
+    }
+
+
+    /**
+     * Follows the fittest fitness a run reaches.
+     */
+    private static class BestTracker implements Flow.Subscriber<Message> {
+
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private volatile int best = 1;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Message message) {
+            this.best = Math.min(this.best, message.getFitness());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.finished.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            this.finished.countDown();
+        }
+
+    }
+
+}
@@ -0,0 +1,293 @@
+/**
+ * The partial fold being extended by one task of an
+ * <code>ExactSolver</code>. Keeps the contacts made so far and the free
+ * slots for contacts beside the hydrophobic acids placed, by parity,
+ * updating both as each acid is placed and removed, so the bound on the
+ * contacts still to come costs constant time per node.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class BoundedWalk {
+
+    /**
+     * The steps of directions 1 to 4 as in <code>Location.createNextLocation</code>.
+     */
+    private static final int[] DX = {0, 1, -1, 0, 0};
+    private static final int[] DY = {0, 0, 0, 1, -1};
+
+    private final ExactSolver solver;
+    private final boolean[] acids;
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] grid;
+    private final int mask;
+    private final int shift;
+
+    /**
+     * The number of acids placed.
+     */
+    private int length;
+
+    /**
+     * The contacts made by the acids placed.
+     */
+    private int contacts;
+
+    /**
+     * The empty cells beside the even and odd hydrophobic acids placed.
+     */
+    private int evenSlots;
+    private int oddSlots;
+
+    /**
+     * How many acids had been placed when the chain first left the line
+     * of its first bond, or zero if it has not yet turned.
+     */
+    private int turnedAt;
+
+    /**
+     * The number of partial folds visited by <code>search</code>.
+     */
+    private long nodes;
+
+    /**
+     * Scratch space for ordering the directions tried at each length.
+     */
+    private final int[][] order;
+    private final int[][] gains;
+
+    /**
+     * Builds a walk holding only the first acid, at the origin.
+     *
+     * @param solver the solver the walk reports to
+     */
+    public BoundedWalk(ExactSolver solver) {
+        this.solver = solver;
+        this.acids = solver.getAcids();
+        int size = this.acids.length;
+        this.xs = new int[size];
+        this.ys = new int[size];
+        int width = Integer.highestOneBit(size + 4) << 1;
+        this.mask = width - 1;
+        this.shift = Integer.numberOfTrailingZeros(width);
+        this.grid = new int[width * width];
+        this.order = new int[size][4];
+        this.gains = new int[size][4];
+        this.length = 0;
+        this.turnedAt = 0;
+        this.place(0, 0);
+    }
+
+    /**
+     * Returns whether the fold is complete.
+     *
+     * @return whether every acid has been placed
+     */
+    public boolean isComplete() {
+        return this.length == this.acids.length;
+    }
+
+    /**
+     * Returns the number of partial folds visited by <code>search</code>.
+     *
+     * @return the number of nodes of the search tree visited
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Returns whether the next acid may be placed in the given direction:
+     * the cell must be empty, the first bond must point right, and the
+     * first turn must be upward.
+     *
+     * @param direction the direction of the next bond
+     * @return whether the walk may be extended that way
+     */
+    public boolean canExtend(int direction) {
+        if (this.isComplete()) {
+            return false;
+        }
+        if (this.length == 1 && direction != 1) {
+            return false;
+        }
+        if (this.turnedAt == 0 && direction == 4) {
+            return false;
+        }
+        int x = this.xs[this.length - 1] + DX[direction];
+        int y = this.ys[this.length - 1] + DY[direction];
+        return this.grid[this.cell(x, y)] == 0;
+    }
+
+    /**
+     * Places the next acid in the given direction, which must be allowed
+     * by <code>canExtend</code>.
+     *
+     * @param direction the direction of the next bond
+     */
+    public void extend(int direction) {
+        if (this.turnedAt == 0 && direction != 1) {
+            this.turnedAt = this.length;
+        }
+        this.place(this.xs[this.length - 1] + DX[direction],
+                this.ys[this.length - 1] + DY[direction]);
+    }
+
+    /**
+     * Returns whether this partial fold cannot reach the solver's
+     * threshold however it is completed.
+     *
+     * @return whether the partial fold can be pruned
+     */
+    public boolean isPruned() {
+        return this.contacts + this.bound() < this.solver.getThreshold();
+    }
+
+    /**
+     * Searches every completion of this partial fold, depth first, trying
+     * the directions that make the most contacts first, and offers each
+     * fold that reaches the threshold to the solver.
+     */
+    public void search() {
+        this.nodes++;
+        if (this.solver.isStopped()) {
+            return;
+        }
+        if (this.isComplete()) {
+            if (this.contacts >= this.solver.getThreshold()) {
+                this.solver.offer(Fold.toChromosome(this.acids, this.xs.clone(),
+                        this.ys.clone(), -this.contacts));
+            }
+            return;
+        }
+        if (this.isPruned()) {
+            return;
+        }
+
+        // Order the possible directions by the contacts they make.
+        int[] directions = this.order[this.length];
+        int[] gain = this.gains[this.length];
+        int count = 0;
+        for (int d = 1; d <= 4; d++) {
+            if (this.canExtend(d)) {
+                int x = this.xs[this.length - 1] + DX[d];
+                int y = this.ys[this.length - 1] + DY[d];
+                int g = this.contactsAt(this.length, x, y);
+                int at = count++;
+                while (at > 0 && gain[at - 1] < g) {
+                    directions[at] = directions[at - 1];
+                    gain[at] = gain[at - 1];
+                    at--;
+                }
+                directions[at] = d;
+                gain[at] = g;
+            }
+        }
+
+        int turnedBefore = this.turnedAt;
+        for (int i = 0; i < count; i++) {
+            this.extend(directions[i]);
+            this.search();
+            this.removeLast();
+            this.turnedAt = turnedBefore;
+        }
+    }
+
+    /**
+     * Returns an upper bound on the contacts the acids still to be placed
+     * can make.
+     *
+     * @return the bound in contacts
+     */
+    private int bound() {
+        int byCapacity = this.solver.getSuffixCapacity(this.length);
+        int byParity = Math.min(
+                this.evenSlots + this.solver.getSuffixSlots(this.length, false),
+                this.oddSlots + this.solver.getSuffixSlots(this.length, true));
+        return Math.min(byCapacity, byParity);
+    }
+
+    /**
+     * Places the next acid in the given cell, updating the contacts and
+     * free slots.
+     */
+    private void place(int x, int y) {
+        int acid = this.length;
+        this.xs[acid] = x;
+        this.ys[acid] = y;
+        this.adjustSlots(acid, x, y, -1);
+        this.contacts += this.contactsAt(acid, x, y);
+        this.grid[this.cell(x, y)] = acid + 1;
+        this.length++;
+    }
+
+    /**
+     * Removes the last acid placed, exactly undoing <code>place</code>.
+     */
+    private void removeLast() {
+        this.length--;
+        int acid = this.length;
+        int x = this.xs[acid];
+        int y = this.ys[acid];
+        this.grid[this.cell(x, y)] = 0;
+        this.contacts -= this.contactsAt(acid, x, y);
+        this.adjustSlots(acid, x, y, 1);
+    }
+
+    /**
+     * Adjusts the free slots as an acid enters or leaves a cell: the cell
+     * is a slot of each hydrophobic neighbor, and each empty neighboring
+     * cell is a slot of the acid if it is hydrophobic.
+     *
+     * @param acid the acid entering or leaving
+     * @param x the x-coordinate of the cell
+     * @param y the y-coordinate of the cell
+     * @param sign -1 as the acid enters, 1 as it leaves
+     */
+    private void adjustSlots(int acid, int x, int y, int sign) {
+        int own = 0;
+        for (int d = 1; d <= 4; d++) {
+            int other = this.grid[this.cell(x + DX[d], y + DY[d])] - 1;
+            if (other < 0) {
+                own++;
+            } else if (this.acids[other]) {
+                if ((other & 1) == 0) {
+                    this.evenSlots += sign;
+                } else {
+                    this.oddSlots += sign;
+                }
+            }
+        }
+        if (this.acids[acid]) {
+            if ((acid & 1) == 0) {
+                this.evenSlots -= sign * own;
+            } else {
+                this.oddSlots -= sign * own;
+            }
+        }
+    }
+
+    /**
+     * Counts the contacts an acid would make in the given cell with the
+     * acids placed before it.
+     */
+    private int contactsAt(int acid, int x, int y) {
+        if (!this.acids[acid]) {
+            return 0;
+        }
+        int found = 0;
+        for (int d = 1; d <= 4; d++) {
+            int other = this.grid[this.cell(x + DX[d], y + DY[d])] - 1;
+            if (other >= 0 && other < acid - 1 && this.acids[other]) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private int cell(int x, int y) {
+        return ((x & this.mask) << this.shift) | (y & this.mask);
+    }
+
+}
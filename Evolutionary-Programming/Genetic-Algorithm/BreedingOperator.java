@@ -0,0 +1,37 @@
+/**
+ * The ways a <code>Generation</code> can fill the places left after its
+ * elites are carried over. Under an <code>OperatorController</code>, the
+ * share of places given to each is adapted as the search goes.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public enum BreedingOperator {
+
+    /**
+     * Breeds a pair of individuals chosen by roulette wheel selection.
+     */
+    CROSSOVER,
+
+    /**
+     * Bends an individual chosen by roulette wheel selection at one point.
+     */
+    MUTATION,
+
+    /**
+     * Bends an individual chosen by roulette wheel selection at two points.
+     */
+    DOUBLE_MUTATION,
+
+    /**
+     * Introduces an entirely random individual.
+     */
+    IMMIGRANT,
+
+    /**
+     * Refines an individual chosen by roulette wheel selection with a
+     * <code>LocalSearch</code>.
+     */
+    LOCAL_SEARCH
+
+}
@@ -0,0 +1,256 @@
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Searches for a fold by chain growth with the pruned-enriched Rosenbluth
+ * method (PERM). Structures are grown acid by acid from the fixed first
+ * bond, in the direction coding of <code>Location.createNextLocation</code>,
+ * preferring directions that make hydrophobic contacts, and promising
+ * partial chains are cloned while poor ones are pruned. On longer
+ * sequences this typically reaches low fitness far sooner than the genetic
+ * algorithm.
+ *
+ * <p>One <code>GrowthTour</code> worker runs per core, each touring
+ * independently with its own random generator; they share only the best
+ * structure found, which is checked without locking and updated under a
+ * lock only on improvement.
+ *
+ * <p>Each completed tour, of any worker, counts as a generation in the
+ * <code>Messages</code> sent to subscribers and in the progress log.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class ChainGrowth implements FoldingEngine {
+
+    /**
+     * The temperature weighting the choice of directions, in units of one
+     * hydrophobic contact. Lower temperatures grow more compact chains.
+     */
+    public static final double TEMPERATURE = 0.35;
+
+    /**
+     * The stack size of each worker thread. Tours recurse once per acid.
+     */
+    private static final long WORKER_STACK_SIZE = 64L << 20;
+
+    private final String acidString;
+    private final boolean[] acids;
+    private final int targetFitness;
+    private final int stopFitness;
+    private final int workerCount;
+    private final Random random;
+    private final SearchMetrics metrics;
+    private final ProgressPublisher publisher;
+    private final ProgressLog log;
+
+    /**
+     * The fitness of <code>best</code>, readable without locking.
+     */
+    private volatile int bestFitness;
+
+    /**
+     * The fittest structure found so far. Guarded by <code>this</code>.
+     */
+    private Chromosome best;
+
+    /**
+     * Whether the target has been reached or the search cancelled,
+     * telling every worker to stop.
+     */
+    private volatile boolean finished;
+
+    /**
+     * Where every fully grown structure fit enough is offered, or
+     * <code>null</code> if the fittest are not kept.
+     */
+    private HallOfFame hallOfFame;
+
+    private final AtomicInteger tours = new AtomicInteger();
+    private final AtomicLong lastLogged = new AtomicLong();
+
+    /**
+     * Builds a search running one worker per available processor.
+     *
+     * @param acidString the sequence of amino acids compromising the protein
+     * @param targetFitness the goal fitness for the search being performed
+     */
+    public ChainGrowth(String acidString, int targetFitness) {
+        this(acidString, targetFitness,
+                Runtime.getRuntime().availableProcessors(), new Random());
+    }
+
+    /**
+     * Builds a search with the given number of workers whose every random
+     * choice derives from the provided random generator.
+     *
+     * @param acidString the sequence of amino acids compromising the protein
+     * @param targetFitness the goal fitness for the search being performed
+     * @param workerCount the number of workers, at least one
+     * @param random the random generator for the search
+     */
+    public ChainGrowth(String acidString, int targetFitness, int workerCount, Random random) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("Chain growth needs at least one worker");
+        }
+        if (acidString.length() < 3) {
+            throw new IllegalArgumentException("Chain growth needs at least three acids");
+        }
+        this.acidString = acidString;
+        this.acids = Chromosome.parseAcids(acidString);
+        this.targetFitness = targetFitness;
+        this.stopFitness = Math.max(targetFitness,
+                FitnessBound.bestPossibleFitness(this.acids));
+        this.workerCount = workerCount;
+        this.random = random;
+        this.metrics = new SearchMetrics(acidString, targetFitness);
+        this.publisher = new ProgressPublisher();
+        this.log = ProgressLog.getInstance();
+        this.bestFitness = 1;
+    }
+
+    @Override
+    public String getAcidString() {
+        return this.acidString;
+    }
+
+    @Override
+    public int getTargetFitness() {
+        return this.targetFitness;
+    }
+
+    @Override
+    public SearchMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Message> subscriber) {
+        this.publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Offers every fully grown structure to a hall of fame. Structures it
+     * would turn away are not built.
+     *
+     * @param hallOfFame the hall of fame, or <code>null</code> for none
+     */
+    @Override
+    public void setHallOfFame(HallOfFame hallOfFame) {
+        this.hallOfFame = hallOfFame;
+    }
+
+    /**
+     * Runs every worker on its own thread until one grows a structure
+     * reaching the target fitness or the search is cancelled. The
+     * statistics of the search are registered over JMX for the duration.
+     */
+    @Override
+    public void evolve() {
+        this.metrics.register();
+        this.lastLogged.set(System.nanoTime());
+        ExecutorService workers = Executors.newFixedThreadPool(this.workerCount,
+                runnable -> {
+                    Thread thread = new Thread(null, runnable, "chain-growth",
+                            WORKER_STACK_SIZE);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            Future<?>[] running = new Future<?>[this.workerCount];
+            for (int i = 0; i < this.workerCount; i++) {
+                GrowthTour worker = new GrowthTour(this, this.acids, TEMPERATURE,
+                        new Random(this.random.nextLong()));
+                running[i] = workers.submit(worker::run);
+            }
+            for (Future<?> worker : running) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A chain growth worker failed", e.getCause());
+        } finally {
+            this.finished = true;
+            workers.shutdownNow();
+            this.metrics.unregister();
+            this.publisher.close();
+        }
+    }
+
+    /**
+     * Asks the workers to stop after the chains they are growing.
+     */
+    @Override
+    public void cancel() {
+        this.finished = true;
+    }
+
+    /**
+     * Returns whether the workers should stop.
+     *
+     * @return whether the search is over
+     */
+    public boolean isFinished() {
+        return this.finished;
+    }
+
+    /**
+     * Offers a fully grown structure as the new best. Called by workers
+     * for every completed chain, so the common case of no improvement
+     * returns without locking.
+     *
+     * @param xs the x-coordinate of each acid
+     * @param ys the y-coordinate of each acid
+     * @param fitness the fitness of the structure
+     */
+    public void offer(int[] xs, int[] ys, int fitness) {
+        if (this.hallOfFame != null && this.hallOfFame.admits(fitness)) {
+            this.hallOfFame.offer(Fold.toChromosome(this.acids, xs, ys, fitness));
+        }
+        if (fitness >= this.bestFitness) {
+            return;
+        }
+        synchronized (this) {
+            if (fitness >= this.bestFitness) {
+                return;
+            }
+            this.best = Fold.toChromosome(this.acids, xs, ys, fitness);
+            this.bestFitness = fitness;
+            this.publisher.publish(new Message(this.best, this.tours.get()));
+            if (fitness <= this.stopFitness) {
+                this.finished = true;
+            }
+        }
+    }
+
+    /**
+     * Records a completed tour of a worker.
+     *
+     * @param tourBest the best fitness of the chains completed in the tour
+     * @param volume the number of chains completed with that fitness
+     * @param placed the number of acids placed during the tour
+     */
+    public void endTour(int tourBest, int volume, long placed) {
+        int tour = this.tours.incrementAndGet();
+        int best = Math.min(this.bestFitness, 0);
+        this.metrics.recordEvaluations((int) Math.min(placed, Integer.MAX_VALUE));
+        // Chain growth keeps no population, so there are no distinct fitnesses to count.
+        this.metrics.recordGeneration(best, (tourBest == best) ? volume : 0, 0);
+
+        long now = System.nanoTime();
+        long last = this.lastLogged.get();
+        if (now - last >= ProgressLog.SAMPLE_INTERVAL
+                && this.lastLogged.compareAndSet(last, now)) {
+            this.log.record(this.metrics.getId(), tour, best,
+                    (tourBest == best) ? volume : 0, this.workerCount);
+        }
+    }
+
+}
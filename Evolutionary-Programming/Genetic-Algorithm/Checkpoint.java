@@ -0,0 +1,262 @@
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+
+/**
+ * The complete state of a running search at the end of one generation:
+ * the <code>Generation</code> itself, the generation counters and the state
+ * of the search's random generator. Enough to resume the search exactly
+ * where it left off.
+ *
+ * <p>A checkpoint file is big-endian binary: the magic number
+ * <code>HPCK</code>, a format version, the generation number, the
+ * generation of the last improvement, the target fitness, the amino acid
+ * sequence, the serialized random generator, and finally the
+ * <code>Generation</code> in the binary form of <code>ChromosomeWriter</code>.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class Checkpoint {
+
+    /**
+     * Marks the start of a checkpoint file.
+     */
+    public static final int MAGIC = 0x4850434B; 	// "HPCK"
+
+    /**
+     * The version of the checkpoint format written.
+     */
+    public static final int VERSION = 1;
+
+    private final String acidString;
+    private final int targetFitness;
+    private final int generationNumber;
+    private final int lastImprovement;
+
+    /**
+     * The serialized state of the search's random generator.
+     */
+    private final byte[] randomState;
+
+    /**
+     * The <code>Generation</code> when writing, or <code>null</code>
+     * when the checkpoint was read from a file.
+     */
+    private final Generation generation;
+
+    /**
+     * The undecoded <code>Generation</code> when the checkpoint was read
+     * from a file, or <code>null</code> when writing.
+     */
+    private final ByteBuffer encodedGeneration;
+
+    /**
+     * Captures the state of a search. The <code>Generation</code> is
+     * retained rather than copied, which is safe because a
+     * <code>Generation</code> is never modified once it has been bred.
+     *
+     * @param generation the current <code>Generation</code> of the search
+     * @param generationNumber the number of <code>generation</code>
+     * @param lastImprovement the number of the last generation that improved
+     * @param targetFitness the fitness the search is trying to reach
+     * @param random the random generator of the search
+     */
+    public Checkpoint(Generation generation,
+                      int generationNumber,
+                      int lastImprovement,
+                      int targetFitness,
+                      Random random) {
+        this.acidString = generation.getAcidString();
+        this.targetFitness = targetFitness;
+        this.generationNumber = generationNumber;
+        this.lastImprovement = lastImprovement;
+        this.randomState = Checkpoint.serialize(random);
+        this.generation = generation;
+        this.encodedGeneration = null;
+    }
+
+    /**
+     * Builds a checkpoint read back from a file.
+     *
+     * @param acidString the amino acid sequence of the search
+     * @param targetFitness the fitness the search is trying to reach
+     * @param generationNumber the number of the captured generation
+     * @param lastImprovement the number of the last generation that improved
+     * @param randomState the serialized random generator
+     * @param encodedGeneration the captured generation, still encoded
+     */
+    private Checkpoint(String acidString,
+                       int targetFitness,
+                       int generationNumber,
+                       int lastImprovement,
+                       byte[] randomState,
+                       ByteBuffer encodedGeneration) {
+        this.acidString = acidString;
+        this.targetFitness = targetFitness;
+        this.generationNumber = generationNumber;
+        this.lastImprovement = lastImprovement;
+        this.randomState = randomState;
+        this.generation = null;
+        this.encodedGeneration = encodedGeneration;
+    }
+
+    /**
+     * Returns the amino acid sequence of the search.
+     *
+     * @return the amino acid sequence
+     */
+    public String getAcidString() {
+        return this.acidString;
+    }
+
+    /**
+     * Returns the fitness the search is trying to reach.
+     *
+     * @return the target fitness
+     */
+    public int getTargetFitness() {
+        return this.targetFitness;
+    }
+
+    /**
+     * Returns the number of the captured <code>Generation</code>.
+     *
+     * @return the number of generations bred
+     */
+    public int getGenerationNumber() {
+        return this.generationNumber;
+    }
+
+    /**
+     * Returns the number of the last generation that improved the best
+     * fitness.
+     *
+     * @return the generation of the last improvement
+     */
+    public int getLastImprovement() {
+        return this.lastImprovement;
+    }
+
+    /**
+     * Returns a new random generator in the state captured by this
+     * checkpoint.
+     *
+     * @return the restored random generator
+     * @throws IOException if the captured state cannot be restored
+     */
+    public Random restoreRandom() throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(this.randomState))) {
+            return (Random) in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Could not restore random generator", e);
+        }
+    }
+
+    /**
+     * Returns the <code>Generation</code> captured by this checkpoint,
+     * attached to the random generator and statistics of the resumed search.
+     *
+     * @param random the random generator of the resumed search
+     * @param metrics the statistics of the resumed search
+     * @return the captured <code>Generation</code>
+     * @throws IOException if the <code>Generation</code> cannot be decoded
+     */
+    public Generation restoreGeneration(Random random, SearchMetrics metrics)
+            throws IOException {
+        return ChromosomeReader.readGenerationBinary(
+                this.encodedGeneration.duplicate(), random, metrics);
+    }
+
+    /**
+     * Writes this checkpoint to the given file. The checkpoint is written
+     * to a temporary file alongside it, synced to disk and then atomically
+     * renamed, so the file always holds a complete checkpoint even if the
+     * process dies mid-write.
+     *
+     * @param path the checkpoint file
+     * @throws IOException if the checkpoint cannot be written
+     */
+    public void write(Path path) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(file, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(this.generationNumber);
+            out.writeInt(this.lastImprovement);
+            out.writeInt(this.targetFitness);
+            byte[] acids = this.acidString.getBytes(StandardCharsets.US_ASCII);
+            out.writeInt(acids.length);
+            out.write(acids);
+            out.writeInt(this.randomState.length);
+            out.write(this.randomState);
+            ChromosomeWriter.writeBinary(this.generation, out);
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads a checkpoint from the given file. The <code>Generation</code>
+     * is decoded lazily by <code>restoreGeneration</code>.
+     *
+     * @param path the checkpoint file
+     * @return the checkpoint read
+     * @throws IOException if the file cannot be read or is not a checkpoint
+     */
+    public static Checkpoint read(Path path) throws IOException {
+        ByteBuffer in = ChromosomeReader.map(path);
+        if (in.getInt() != MAGIC) {
+            throw new IOException(path + " is not a checkpoint");
+        }
+        int version = in.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported checkpoint version " + version);
+        }
+
+        int generationNumber = in.getInt();
+        int lastImprovement = in.getInt();
+        int targetFitness = in.getInt();
+        byte[] acids = new byte[in.getInt()];
+        in.get(acids);
+        byte[] randomState = new byte[in.getInt()];
+        in.get(randomState);
+        return new Checkpoint(new String(acids, StandardCharsets.US_ASCII),
+                targetFitness, generationNumber, lastImprovement, randomState,
+                in.slice());
+    }
+
+    /**
+     * Serializes the state of a random generator.
+     *
+     * @param random the random generator to capture
+     * @return the serialized state
+     */
+    private static byte[] serialize(Random random) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(random);
+        } catch (IOException e) {
+            // Writing to memory cannot fail.
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+}
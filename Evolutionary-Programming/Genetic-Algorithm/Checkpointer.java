@@ -0,0 +1,115 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes the <code>Checkpoints</code> of a search to disk on a background
+ * thread at a fixed interval. The search thread only captures the
+ * checkpoint, which retains the current <code>Generation</code> by
+ * reference; encoding and writing happen off the search thread. If a write
+ * is still in progress when the next checkpoint is due, only the newest
+ * pending checkpoint is written.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class Checkpointer implements AutoCloseable {
+
+    /**
+     * The file checkpoints are written to.
+     */
+    private final Path path;
+
+    /**
+     * The minimum time between checkpoints in nanoseconds.
+     */
+    private final long interval;
+
+    /**
+     * When the last checkpoint was submitted.
+     */
+    private long lastSubmitted;
+
+    /**
+     * The newest checkpoint not yet written, or <code>null</code>.
+     */
+    private final AtomicReference<Checkpoint> pending;
+
+    /**
+     * The thread that writes checkpoints.
+     */
+    private final ExecutorService writer;
+
+    /**
+     * Builds a new <code>Checkpointer</code> writing to the given file.
+     *
+     * @param path the file to write checkpoints to
+     * @param intervalMillis the minimum time between checkpoints in milliseconds
+     */
+    public Checkpointer(Path path, long intervalMillis) {
+        this.path = path;
+        this.interval = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.lastSubmitted = System.nanoTime();
+        this.pending = new AtomicReference<>();
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns whether the interval since the last checkpoint has elapsed.
+     *
+     * @return whether a checkpoint should be submitted
+     */
+    public boolean isDue() {
+        return System.nanoTime() - this.lastSubmitted >= this.interval;
+    }
+
+    /**
+     * Hands a checkpoint to the writer thread. Never blocks.
+     *
+     * @param checkpoint the checkpoint to write
+     */
+    public void submit(Checkpoint checkpoint) {
+        this.lastSubmitted = System.nanoTime();
+        if (this.pending.getAndSet(checkpoint) == null) {
+            this.writer.execute(this::writePending);
+        }
+    }
+
+    /**
+     * Waits for any pending checkpoint to be written and stops the
+     * writer thread.
+     */
+    @Override
+    public void close() {
+        this.writer.shutdown();
+        try {
+            this.writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes the newest pending checkpoint, if any.
+     */
+    private void writePending() {
+        Checkpoint checkpoint = this.pending.getAndSet(null);
+        if (checkpoint == null) {
+            return;
+        }
+        try {
+            checkpoint.write(this.path);
+        } catch (IOException e) {
+            // A failed checkpoint must not stop the search; the next may succeed.
+            System.err.println("Could not write checkpoint to " + this.path + ": " + e);
+        }
+    }
+
+}
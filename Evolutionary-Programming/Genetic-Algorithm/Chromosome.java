@@ -14,8 +14,10 @@ import java.util.Random;
 public class Chromosome {
 
     /**
-     * A random generator used in building new <code>Chromosomes</code>
-     * and performing crossovers and mutations.
+     * The random generator used in building new <code>Chromosomes</code>
+     * and performing crossovers and mutations when the caller does not
+     * supply its own. Searches supply their own so that each can be
+     * seeded and checkpointed independently.
      */
     private static Random random = new Random();
 
@@ -26,6 +28,12 @@ public class Chromosome {
      */
     private static AvailablePositionsMap moveMap = new AvailablePositionsMap();
 
+    /**
+     * The direction a quarter turn to the left of each direction, indexed
+     * by direction as in <code>Location.createNextLocation</code>.
+     */
+    private static final byte[] LEFT_OF = {0, 3, 4, 2, 1};
+
     /**
      * The coordinates of each of the amino acids in this instance of
      * the protein.
@@ -45,6 +53,19 @@ public class Chromosome {
      */
     private int fitness;
 
+    /**
+     * The moves of this structure, less one, packed two bits each, 32 to
+     * a <code>long</code>; built on first use.
+     */
+    private volatile long[] packedMoves;
+
+    /**
+     * A hash of the shape of this structure that is the same for every
+     * rotation and reflection of it. Valid once <code>packedMoves</code>
+     * has been built.
+     */
+    private long canonicalHash;
+
     /**
      * Randomly generates a new, valid instance from the provided
      * <code>String<code> of amino acids, specified as 'h', 'H', 'p', or 'P'.
@@ -53,21 +74,31 @@ public class Chromosome {
      * @return a valid <code>Chromosome</code>
      */
     public Chromosome(String acidString) {
+        this(acidString, Chromosome.random, null);
+    }
+
+
+    /**
+     * Randomly generates a new, valid instance from the provided
+     * <code>String<code> of amino acids, recording the number of random
+     * walks discarded for not being self-avoiding in the statistics of the
+     * search the instance is built for.
+     *
+     * @param acidString the sequence of amino acids to configure
+     * @param random the random generator used to build the structure
+     * @param metrics the statistics to update, or <code>null</code>
+     * @return a valid <code>Chromosome</code>
+     */
+    public Chromosome(String acidString, Random random, SearchMetrics metrics) {
         // Size for all the arrays.
         int proteinLength = acidString.length();
 
         // Generate the acids array from the String.
-        this.acids = new boolean[proteinLength];
-        for (int i = 0; i < proteinLength; i++) {
-            if ('h' == acidString.charAt(i) || 'H' == acidString.charAt(i)) {
-                this.acids[i] = true;
-            } else {
-                this.acids[i] = false;
-            }
-        }
+        this.acids = Chromosome.parseAcids(acidString);
 
         // Randomly generate a valid structure for the chromosome.
-        this.locations = Chromosome.generateRandomLocations(proteinLength);
+        this.locations = Chromosome.generateRandomLocations(proteinLength,
+                random, metrics);
 
         // Given the acids and locations, calculate the fitness.
         this.fitness = Chromosome.computeFitness(this.acids, this.locations);
@@ -141,6 +172,23 @@ public class Chromosome {
     }
 
 
+    /**
+     * Returns the direction of each covalent bond in this protein, in
+     * order. Directions are coded as in <code>Location.createNextLocation</code>.
+     * Together with the position of the first acid, which is always the
+     * origin, the moves fully determine the structure.
+     *
+     * @return the <code>length - 1</code> bond directions of the structure
+     */
+    public byte[] getMoves() {
+        byte[] moves = new byte[this.locations.length - 1];
+        for (int i = 1; i < this.locations.length; i++) {
+            moves[i - 1] = (byte) Chromosome.findPreviousDirection(this, i);
+        }
+        return moves;
+    }
+
+
     /**
      * Returns a <code>String</code> representation of the
      * <code>Chromosome</code> instance.
@@ -148,18 +196,96 @@ public class Chromosome {
      */
     @Override
     public String toString() {
-        String chromosomeString = "[";
+        StringBuilder chromosomeString = new StringBuilder(
+                this.locations.length * 10 + 8);
+        this.appendTo(chromosomeString);
+        return chromosomeString.toString();
+    }
+
+
+    /**
+     * Appends the <code>String</code> representation of this instance
+     * to the given <code>StringBuilder</code>.
+     *
+     * @param builder the <code>StringBuilder</code> to append to
+     */
+    public void appendTo(StringBuilder builder) {
+        builder.append('[');
 
         // Add each location to the String.
         for (int i = 0; i < this.locations.length; i++) {
-            chromosomeString += this.locations[i];
-            chromosomeString += (i == this.locations.length - 1) ? "] " : ", ";
+            builder.append('(').append(this.locations[i].getX()).append(", ")
+                    .append(this.locations[i].getY()).append(')');
+            builder.append((i == this.locations.length - 1) ? "] " : ", ");
         }
 
         // Add the fitness to the String.
-        chromosomeString += this.fitness;
+        builder.append(this.fitness);
+    }
+
+
+    /**
+     * Converts a <code>String</code> of amino acids, specified as 'h', 'H',
+     * 'p', or 'P', to the boolean coding used by <code>Chromosome</code>.
+     *
+     * @param acidString the sequence of amino acids
+     * @return the sequence with hydrophobic acids coded <code>true</code>
+     */
+    public static boolean[] parseAcids(String acidString) {
+        boolean[] acids = new boolean[acidString.length()];
+        for (int i = 0; i < acids.length; i++) {
+            char acid = acidString.charAt(i);
+            acids[i] = ('h' == acid || 'H' == acid);
+        }
+        return acids;
+    }
 
-        return chromosomeString;
+
+    /**
+     * Rebuilds a <code>Chromosome</code> from the directions of its bonds,
+     * starting from the origin. The fitness is trusted rather than
+     * recomputed, so this must only be used with moves and fitness taken
+     * from a valid instance.
+     *
+     * @param acids the sequence of constituent amino acids
+     * @param moves the direction of each bond, as returned by <code>getMoves</code>
+     * @param fitness the fitness of the structure
+     * @return the <code>Chromosome</code> with the given structure
+     */
+    public static Chromosome fromMoves(boolean[] acids, byte[] moves, int fitness) {
+        Location[] locations = new Location[moves.length + 1];
+        locations[0] = new Location(0, 0);
+        for (int i = 0; i < moves.length; i++) {
+            locations[i + 1] = Location.createNextLocation(locations[i], moves[i]);
+        }
+        return new Chromosome(acids, locations, fitness);
+    }
+
+
+    /**
+     * Builds a <code>Chromosome</code> from the directions of its bonds,
+     * as above, but computes its fitness, so that moves taken from a fold
+     * of another sequence can be tried on this one.
+     *
+     * @param acids the sequence of constituent amino acids
+     * @param moves the direction of each bond, one fewer than the acids
+     * @return the <code>Chromosome</code> with the given structure, or
+     *         <code>null</code> if the moves are not a self-avoiding walk
+     */
+    public static Chromosome fromMoves(boolean[] acids, byte[] moves) {
+        if (moves.length != acids.length - 1) {
+            throw new IllegalArgumentException("A protein of " + acids.length
+                    + " acids has " + (acids.length - 1) + " bonds, not " + moves.length);
+        }
+        Location[] locations = new Location[moves.length + 1];
+        locations[0] = new Location(0, 0);
+        for (int i = 0; i < moves.length; i++) {
+            locations[i + 1] = Location.createNextLocation(locations[i], moves[i]);
+        }
+        if (!Chromosome.validate(locations)) {
+            return null;
+        }
+        return new Chromosome(acids, locations, Chromosome.computeFitness(acids, locations));
     }
 
 
@@ -246,6 +372,24 @@ public class Chromosome {
     public static Chromosome crossover(Chromosome left,
                                        Chromosome right,
                                        int pivot) {
+        return Chromosome.crossover(left, right, pivot, Chromosome.random);
+    }
+
+
+    /**
+     * Performs a crossover operation at the given pivot, choosing the
+     * direction of the new bond with the provided random generator.
+     *
+     * @param left one <code>Chromosome</code> for crossing over
+     * @param right the other <code>Chromosome</code> for crossing
+     * @param pivot the spot at which to perform the crossover
+     * @param random the random generator used to choose the new bond
+     * @return a new <code>Chromosome</code> or <code>null</code>
+     */
+    public static Chromosome crossover(Chromosome left,
+                                       Chromosome right,
+                                       int pivot,
+                                       Random random) {
         // Get the subsection to work with.
         Location[] bottom = Arrays.copyOfRange(right.locations, pivot + 1,
                 right.locations.length);
@@ -256,7 +400,7 @@ public class Chromosome {
         boolean[] wasTried = {false, false, false};
         int numberAttempted = 0;
         while (numberAttempted < 3) {
-            int directionIndex = Chromosome.random.nextInt(3);
+            int directionIndex = random.nextInt(3);
             int direction = availableDirections[directionIndex];
 
             // Ensure direction wasn't previously tried. If so, try again.
@@ -304,6 +448,23 @@ public class Chromosome {
      * @return a new, mutated <code>Chromosome</code> or <code>null</code>
      */
     public static Chromosome mutate(Chromosome chromosome, int pivot) {
+        return Chromosome.mutate(chromosome, pivot, Chromosome.random);
+    }
+
+
+    /**
+     * Mutates a <code>Chromosome</code> by rotation at the given pivot,
+     * choosing the direction of the new bond with the provided random
+     * generator.
+     *
+     * @param chromosome the <code>Chromosome</code> to mutate
+     * @param pivot the spot at which to bend the structure
+     * @param random the random generator used to choose the new bond
+     * @return a new, mutated <code>Chromosome</code> or <code>null</code>
+     */
+    public static Chromosome mutate(Chromosome chromosome,
+                                    int pivot,
+                                    Random random) {
         // Get the subsection to work with.
         Location[] bottom = Arrays.copyOfRange(chromosome.locations, pivot + 1,
                 chromosome.locations.length);
@@ -316,7 +477,7 @@ public class Chromosome {
 
         // Keep trying the mutation while there are still untried directions.
         while (numberAttempted < 3) {
-            int direction = Chromosome.random.nextInt(3);
+            int direction = random.nextInt(3);
 
             // Ensure direction wasn't previously tried. If so, try again.
             if (wasTried[direction]) { continue; }
@@ -353,6 +514,97 @@ public class Chromosome {
     }
 
 
+    /**
+     * Returns the moves of this structure, as returned by
+     * <code>getMoves</code> less one, packed two bits each. The array is
+     * shared and must not be modified.
+     *
+     * @return the packed moves, 32 to a <code>long</code>
+     */
+    public long[] getPackedMoves() {
+        long[] packed = this.packedMoves;
+        if (packed == null) {
+            packed = this.encodeShape();
+        }
+        return packed;
+    }
+
+
+    /**
+     * Returns a hash of the shape of this structure that is the same for
+     * every rotation and reflection of it, so that structures of the same
+     * fold family hash alike.
+     *
+     * @return the canonical hash of the structure
+     */
+    public long getCanonicalHash() {
+        if (this.packedMoves == null) {
+            this.encodeShape();
+        }
+        return this.canonicalHash;
+    }
+
+
+    /**
+     * Returns the number of moves at which two structures of the same
+     * protein differ, by comparing their packed moves a word at a time.
+     *
+     * @param left one structure
+     * @param right the other structure
+     * @return the Hamming distance between their moves
+     */
+    public static int moveDistance(Chromosome left, Chromosome right) {
+        long[] a = left.getPackedMoves();
+        long[] b = right.getPackedMoves();
+        int distance = 0;
+        for (int i = 0; i < a.length; i++) {
+            long difference = a[i] ^ b[i];
+            // A move differs if either of its two bits does.
+            distance += Long.bitCount((difference | (difference >>> 1))
+                    & 0x5555555555555555L);
+        }
+        return distance;
+    }
+
+
+    /**
+     * Packs the moves of this structure and hashes its shape. The shape is
+     * spelled as the turn at each acid, straight, left or right, which does
+     * not change under rotation, with left and right swapped if need be so
+     * that the first turn is to the left. Safe to race: every thread
+     * computes the same values.
+     *
+     * @return the packed moves
+     */
+    private long[] encodeShape() {
+        byte[] moves = this.getMoves();
+        long[] packed = new long[(moves.length + 31) / 32];
+        for (int i = 0; i < moves.length; i++) {
+            packed[i >> 5] |= (long) (moves[i] - 1) << ((i & 31) * 2);
+        }
+
+        // FNV-1a over the turns.
+        long hash = 0xcbf29ce484222325L;
+        int mirror = 0;
+        for (int i = 1; i < moves.length; i++) {
+            int turn = 0;
+            if (moves[i] != moves[i - 1]) {
+                turn = (moves[i] == LEFT_OF[moves[i - 1]]) ? 1 : 2;
+                if (mirror == 0) {
+                    mirror = turn;
+                }
+                if (mirror == 2) {
+                    turn = 3 - turn;
+                }
+            }
+            hash = (hash ^ turn) * 0x100000001b3L;
+        }
+        this.canonicalHash = hash;
+        this.packedMoves = packed;
+        return packed;
+    }
+
+
     /**
      * Given a <code>Chromosome</code> and a point in the structure,
      * determines what the last direction of amino acid addition was in the
@@ -556,11 +808,16 @@ public class Chromosome {
      * of the method. The returned configuration is a self-avoiding-walk.
      *
      * @param size the length of the amino acid sequence being built
+     * @param random the random generator used to choose each bond
+     * @param metrics the statistics to record rejected walks in, or <code>null</code>
      * @return a possible configuration of the amino acids.
      */
-    private static Location[] generateRandomLocations(int size) {
+    private static Location[] generateRandomLocations(int size,
+                                                      Random random,
+                                                      SearchMetrics metrics) {
         Location[] structure = null;
         boolean isValid = false;
+        int rejected = -1; 	// The final, valid walk is not a rejection.
 
         while (!isValid) {
             structure = new Location[size];
@@ -578,8 +835,12 @@ public class Chromosome {
             }
 
             isValid = Chromosome.validate(structure);
+            rejected++;
         }
 
+        if (metrics != null) {
+            metrics.recordRandomWalkRejections(rejected);
+        }
         return structure;
     }
 
@@ -0,0 +1,256 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Reads back <code>Chromosomes</code> and <code>Generations</code> written
+ * by <code>ChromosomeWriter</code>. Binary input is decoded in place from a
+ * <code>ByteBuffer</code>, which may be a memory-mapped file, so nothing is
+ * copied beyond the structures being rebuilt. Text input is tokenized a
+ * character at a time straight from a <code>Reader</code>, without
+ * splitting lines into <code>Strings</code>. The fitness written with each
+ * structure is trusted rather than recomputed.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class ChromosomeReader {
+
+    /**
+     * Maps a file into memory for reading with the binary readers.
+     *
+     * @param path the file to map
+     * @return a read-only buffer over the whole file
+     * @throws IOException if the file cannot be mapped
+     */
+    public static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Reads a single <code>Chromosome</code> in the binary form, advancing
+     * the buffer past it.
+     *
+     * @param in the buffer positioned at the start of the <code>Chromosome</code>
+     * @return the <code>Chromosome</code> read
+     */
+    public static Chromosome readBinary(ByteBuffer in) {
+        int length = in.getInt();
+        boolean[] acids = ChromosomeReader.unpackAcids(in, length);
+        return ChromosomeReader.unpackRecord(in, acids);
+    }
+
+    /**
+     * Reads a whole <code>Generation</code> in the binary form, advancing
+     * the buffer past it.
+     *
+     * @param in the buffer positioned at the start of the <code>Generation</code>
+     * @param random the random generator of the search the population will belong to
+     * @param metrics the statistics of the search the population will belong to
+     * @return the <code>Generation</code> read
+     * @throws IOException if the buffer does not hold a <code>Generation</code>
+     */
+    public static Generation readGenerationBinary(ByteBuffer in,
+                                                  Random random,
+                                                  SearchMetrics metrics)
+            throws IOException {
+        if (in.getInt() != ChromosomeWriter.MAGIC) {
+            throw new IOException("Not a binary generation");
+        }
+        int version = in.getInt();
+        if (version != ChromosomeWriter.VERSION) {
+            throw new IOException("Unsupported generation version " + version);
+        }
+
+        int length = in.getInt();
+        boolean[] acids = ChromosomeReader.unpackAcids(in, length);
+        Chromosome[] chromosomes = new Chromosome[in.getInt()];
+        for (int i = 0; i < chromosomes.length; i++) {
+            chromosomes[i] = ChromosomeReader.unpackRecord(in, acids);
+        }
+        return Generation.fromChromosomes(ChromosomeReader.toAcidString(acids),
+                chromosomes, random, metrics);
+    }
+
+    /**
+     * Reads a single <code>Chromosome</code> in the text form.
+     *
+     * @param in the source positioned at the start of a line
+     * @return the <code>Chromosome</code> read
+     * @throws IOException if reading fails or the input is malformed
+     */
+    public static Chromosome readText(Reader in) throws IOException {
+        String acidString = ChromosomeReader.readToken(in);
+        return ChromosomeReader.readTextRecord(in,
+                Chromosome.parseAcids(acidString));
+    }
+
+    /**
+     * Reads a whole <code>Generation</code> in the text form.
+     *
+     * @param in the source positioned at the header line
+     * @param random the random generator of the search the population will belong to
+     * @param metrics the statistics of the search the population will belong to
+     * @return the <code>Generation</code> read
+     * @throws IOException if reading fails or the input is malformed
+     */
+    public static Generation readGenerationText(Reader in,
+                                                Random random,
+                                                SearchMetrics metrics)
+            throws IOException {
+        if (!"HPGA".equals(ChromosomeReader.readToken(in))) {
+            throw new IOException("Not a text generation");
+        }
+        String acidString = ChromosomeReader.readToken(in);
+        boolean[] acids = Chromosome.parseAcids(acidString);
+        Chromosome[] chromosomes = new Chromosome[ChromosomeReader.readInt(in)];
+        for (int i = 0; i < chromosomes.length; i++) {
+            chromosomes[i] = ChromosomeReader.readTextRecord(in, acids);
+        }
+        return Generation.fromChromosomes(acidString, chromosomes, random, metrics);
+    }
+
+    /**
+     * Reads the fitness and moves of an individual in the text form.
+     *
+     * @param in the source
+     * @param acids the acids of the protein, shared by every individual read
+     * @return the individual read
+     * @throws IOException if reading fails or the input is malformed
+     */
+    private static Chromosome readTextRecord(Reader in, boolean[] acids)
+            throws IOException {
+        int fitness = ChromosomeReader.readInt(in);
+        byte[] moves = new byte[acids.length - 1];
+        int c = ChromosomeReader.skipWhitespace(in);
+        for (int i = 0; i < moves.length; i++) {
+            switch (c) {
+                case 'R': moves[i] = 1; break;
+                case 'L': moves[i] = 2; break;
+                case 'U': moves[i] = 3; break;
+                case 'D': moves[i] = 4; break;
+                default: throw new IOException("Bad move '" + (char) c + "'");
+            }
+            c = in.read();
+        }
+        return Chromosome.fromMoves(acids, moves, fitness);
+    }
+
+    /**
+     * Decodes the fitness and packed moves of an individual.
+     *
+     * @param in the buffer positioned at the individual
+     * @param acids the acids of the protein, shared by every individual read
+     * @return the individual read
+     */
+    private static Chromosome unpackRecord(ByteBuffer in, boolean[] acids) {
+        int fitness = in.getInt();
+        byte[] moves = new byte[acids.length - 1];
+        int start = in.position();
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = (byte) (((in.get(start + (i >> 2)) >> ((i & 3) * 2)) & 3) + 1);
+        }
+        in.position(start + ChromosomeWriter.packedMovesLength(acids.length));
+        return Chromosome.fromMoves(acids, moves, fitness);
+    }
+
+    /**
+     * Decodes acids packed one bit each.
+     *
+     * @param in the buffer positioned at the packed acids
+     * @param length the number of acids
+     * @return the acids, hydrophobic coded <code>true</code>
+     */
+    private static boolean[] unpackAcids(ByteBuffer in, int length) {
+        boolean[] acids = new boolean[length];
+        int start = in.position();
+        for (int i = 0; i < length; i++) {
+            acids[i] = ((in.get(start + (i >> 3)) >> (i & 7)) & 1) == 1;
+        }
+        in.position(start + ChromosomeWriter.packedAcidsLength(length));
+        return acids;
+    }
+
+    /**
+     * Spells out acids as a <code>String</code> of 'h's and 'p's.
+     *
+     * @param acids the acids, hydrophobic coded <code>true</code>
+     * @return the amino acid sequence
+     */
+    private static String toAcidString(boolean[] acids) {
+        char[] letters = new char[acids.length];
+        for (int i = 0; i < acids.length; i++) {
+            letters[i] = acids[i] ? 'h' : 'p';
+        }
+        return new String(letters);
+    }
+
+    /**
+     * Reads a whitespace-delimited token.
+     *
+     * @param in the source
+     * @return the token
+     * @throws IOException if reading fails or the input has ended
+     */
+    private static String readToken(Reader in) throws IOException {
+        StringBuilder token = new StringBuilder();
+        int c = ChromosomeReader.skipWhitespace(in);
+        while (c != -1 && !Character.isWhitespace(c)) {
+            token.append((char) c);
+            c = in.read();
+        }
+        return token.toString();
+    }
+
+    /**
+     * Reads a whitespace-delimited, possibly negative, decimal
+     * <code>int</code> without building a <code>String</code>.
+     *
+     * @param in the source
+     * @return the value read
+     * @throws IOException if reading fails or the input is not a number
+     */
+    private static int readInt(Reader in) throws IOException {
+        int c = ChromosomeReader.skipWhitespace(in);
+        boolean negative = (c == '-');
+        if (negative) {
+            c = in.read();
+        }
+        if (c < '0' || c > '9') {
+            throw new IOException("Expected a number");
+        }
+
+        int value = 0;
+        while (c >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            c = in.read();
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Skips whitespace, returning the first other character.
+     *
+     * @param in the source
+     * @return the first character that is not whitespace
+     * @throws IOException if reading fails or the input has ended
+     */
+    private static int skipWhitespace(Reader in) throws IOException {
+        int c = in.read();
+        while (c != -1 && Character.isWhitespace(c)) {
+            c = in.read();
+        }
+        if (c == -1) {
+            throw new IOException("Unexpected end of input");
+        }
+        return c;
+    }
+
+}
@@ -0,0 +1,233 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * Streams <code>Chromosomes</code> and whole <code>Generations</code> to a
+ * <code>Writer</code> or <code>OutputStream</code>, without building an
+ * intermediate <code>String</code>. Structures are written as the direction
+ * of each bond (see <code>Chromosome.getMoves</code>) plus the fitness, in
+ * one of two forms, both read back by <code>ChromosomeReader</code>:
+ *
+ * <p>The text form is line oriented. A single <code>Chromosome</code> is
+ * written as <code>acids fitness moves</code>; a <code>Generation</code> as
+ * a header line <code>HPGA acids count</code> followed by one line of
+ * <code>fitness moves</code> per individual. Moves are spelled with the
+ * letters <code>R</code>, <code>L</code>, <code>U</code> and <code>D</code>.
+ *
+ * <p>The binary form is big-endian. A <code>Generation</code> starts with
+ * the magic number <code>HPGA</code>, a format version, the protein length,
+ * the acids packed one bit each, and the number of individuals; each
+ * individual is its fitness followed by its moves packed two bits each.
+ * A single <code>Chromosome</code> is written as the protein length, packed
+ * acids and the individual.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class ChromosomeWriter {
+
+    /**
+     * Marks the start of a <code>Generation</code> in either form.
+     */
+    public static final int MAGIC = 0x48504741; 	// "HPGA"
+
+    /**
+     * The version of the binary form written.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The letter used for each move in the text form, indexed by direction.
+     */
+    static final char[] MOVE_LETTERS = {'?', 'R', 'L', 'U', 'D'};
+
+    /**
+     * Returns the number of bytes holding the packed moves of a protein
+     * of the given length.
+     *
+     * @param length the number of acids in the protein
+     * @return the number of bytes of packed moves
+     */
+    public static int packedMovesLength(int length) {
+        return (length - 1 + 3) / 4;
+    }
+
+    /**
+     * Returns the number of bytes holding the packed acids of a protein
+     * of the given length.
+     *
+     * @param length the number of acids in the protein
+     * @return the number of bytes of packed acids
+     */
+    public static int packedAcidsLength(int length) {
+        return (length + 7) / 8;
+    }
+
+    /**
+     * Writes a single <code>Chromosome</code> in the text form, followed
+     * by a newline.
+     *
+     * @param chromosome the <code>Chromosome</code> to write
+     * @param out the destination
+     * @throws IOException if writing fails
+     */
+    public static void writeText(Chromosome chromosome, Writer out)
+            throws IOException {
+        boolean[] acids = chromosome.getAcids();
+        char[] buffer = new char[Math.max(acids.length, 16)];
+        for (int i = 0; i < acids.length; i++) {
+            buffer[i] = acids[i] ? 'h' : 'p';
+        }
+        out.write(buffer, 0, acids.length);
+        out.write(' ');
+        ChromosomeWriter.writeTextRecord(chromosome, buffer, out);
+    }
+
+    /**
+     * Writes a whole <code>Generation</code> in the text form.
+     *
+     * @param generation the <code>Generation</code> to write
+     * @param out the destination
+     * @throws IOException if writing fails
+     */
+    public static void writeText(Generation generation, Writer out)
+            throws IOException {
+        out.write("HPGA ");
+        out.write(generation.getAcidString());
+        out.write(' ');
+        out.write(Integer.toString(generation.size()));
+        out.write('\n');
+
+        // One buffer serves every individual.
+        char[] buffer = new char[Math.max(generation.getAcidString().length(), 16)];
+        for (int i = 0; i < generation.size(); i++) {
+            ChromosomeWriter.writeTextRecord(generation.get(i), buffer, out);
+        }
+    }
+
+    /**
+     * Writes a single <code>Chromosome</code> in the binary form.
+     *
+     * @param chromosome the <code>Chromosome</code> to write
+     * @param out the destination
+     * @throws IOException if writing fails
+     */
+    public static void writeBinary(Chromosome chromosome, OutputStream out)
+            throws IOException {
+        boolean[] acids = chromosome.getAcids();
+        byte[] buffer = new byte[4 + packedAcidsLength(acids.length)
+                + 4 + packedMovesLength(acids.length)];
+        int offset = ChromosomeWriter.putInt(buffer, 0, acids.length);
+        offset = ChromosomeWriter.packAcids(acids, buffer, offset);
+        ChromosomeWriter.packRecord(chromosome, buffer, offset);
+        out.write(buffer);
+    }
+
+    /**
+     * Writes a whole <code>Generation</code> in the binary form.
+     *
+     * @param generation the <code>Generation</code> to write
+     * @param out the destination
+     * @throws IOException if writing fails
+     */
+    public static void writeBinary(Generation generation, OutputStream out)
+            throws IOException {
+        boolean[] acids = generation.get(0).getAcids();
+        byte[] header = new byte[4 + 4 + 4 + packedAcidsLength(acids.length) + 4];
+        int offset = ChromosomeWriter.putInt(header, 0, MAGIC);
+        offset = ChromosomeWriter.putInt(header, offset, VERSION);
+        offset = ChromosomeWriter.putInt(header, offset, acids.length);
+        offset = ChromosomeWriter.packAcids(acids, header, offset);
+        ChromosomeWriter.putInt(header, offset, generation.size());
+        out.write(header);
+
+        // One buffer serves every individual.
+        byte[] record = new byte[4 + packedMovesLength(acids.length)];
+        for (int i = 0; i < generation.size(); i++) {
+            ChromosomeWriter.packRecord(generation.get(i), record, 0);
+            out.write(record);
+        }
+    }
+
+    /**
+     * Writes the fitness and moves of an individual in the text form,
+     * followed by a newline.
+     *
+     * @param chromosome the individual to write
+     * @param buffer scratch space at least as long as the protein
+     * @param out the destination
+     * @throws IOException if writing fails
+     */
+    private static void writeTextRecord(Chromosome chromosome,
+                                        char[] buffer,
+                                        Writer out) throws IOException {
+        out.write(Integer.toString(chromosome.getFitness()));
+        out.write(' ');
+        byte[] moves = chromosome.getMoves();
+        for (int i = 0; i < moves.length; i++) {
+            buffer[i] = MOVE_LETTERS[moves[i]];
+        }
+        buffer[moves.length] = '\n';
+        out.write(buffer, 0, moves.length + 1);
+    }
+
+    /**
+     * Packs the fitness and moves of an individual into a buffer.
+     *
+     * @param chromosome the individual to pack
+     * @param buffer the destination
+     * @param offset where in <code>buffer</code> to start
+     * @return the offset following the packed individual
+     */
+    private static int packRecord(Chromosome chromosome, byte[] buffer, int offset) {
+        offset = ChromosomeWriter.putInt(buffer, offset, chromosome.getFitness());
+        byte[] moves = chromosome.getMoves();
+        int length = packedMovesLength(moves.length + 1);
+        for (int i = 0; i < length; i++) {
+            buffer[offset + i] = 0;
+        }
+        for (int i = 0; i < moves.length; i++) {
+            buffer[offset + (i >> 2)] |= (moves[i] - 1) << ((i & 3) * 2);
+        }
+        return offset + length;
+    }
+
+    /**
+     * Packs the acids of a protein one bit each into a buffer.
+     *
+     * @param acids the acids to pack
+     * @param buffer the destination
+     * @param offset where in <code>buffer</code> to start
+     * @return the offset following the packed acids
+     */
+    private static int packAcids(boolean[] acids, byte[] buffer, int offset) {
+        int length = packedAcidsLength(acids.length);
+        for (int i = 0; i < length; i++) {
+            buffer[offset + i] = 0;
+        }
+        for (int i = 0; i < acids.length; i++) {
+            if (acids[i]) {
+                buffer[offset + (i >> 3)] |= 1 << (i & 7);
+            }
+        }
+        return offset + length;
+    }
+
+    /**
+     * Writes a big-endian <code>int</code> into a buffer.
+     *
+     * @param buffer the destination
+     * @param offset where in <code>buffer</code> to write
+     * @param value the value to write
+     * @return the offset following the value
+     */
+    private static int putInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+        return offset + 4;
+    }
+
+}
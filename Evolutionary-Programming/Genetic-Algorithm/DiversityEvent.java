@@ -0,0 +1,40 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event reporting how diverse one
+ * <code>Generation</code> is, and whether the population was partially
+ * restarted because of it. Committed once per <code>Generation</code>,
+ * spanning the measurement and any restart.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+@Name("GeneticAlgorithm.Diversity")
+@Label("Diversity")
+@Category("Genetic Algorithm")
+@Description("Diversity of one generation and any restart it triggered")
+@StackTrace(false)
+public class DiversityEvent extends jdk.jfr.Event {
+
+    @Label("Generation")
+    public int generation;
+
+    @Label("Move Diversity")
+    @Description("Mean fraction of moves at which sampled pairs of individuals differ")
+    public double moveDiversity;
+
+    @Label("Distinct Folds")
+    @Description("Individuals distinct up to rotation and reflection")
+    public int distinctFolds;
+
+    @Label("Population Size")
+    public int populationSize;
+
+    @Label("Restarted")
+    public boolean restarted;
+
+}
@@ -0,0 +1,98 @@
+/**
+ * The methods a <code>Search</code> can use to look for a fold. Each
+ * builds the <code>FoldingEngine</code> that implements it.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public enum EngineType {
+
+    GENETIC_ALGORITHM("Genetic algorithm") {
+        @Override
+        public FoldingEngine create(String acidString, int targetFitness) {
+            Population population = new Population(acidString, targetFitness);
+            population.setLocalSearch(new LocalSearch());
+            return population;
+        }
+    },
+
+    ADAPTIVE_GENETIC_ALGORITHM("Genetic algorithm, adaptive operators") {
+        @Override
+        public FoldingEngine create(String acidString, int targetFitness) {
+            Population population = new Population(acidString, targetFitness);
+            population.setLocalSearch(new LocalSearch());
+            population.setAdaptiveOperators(true);
+            return population;
+        }
+    },
+
+    STEADY_STATE("Steady-state genetic algorithm") {
+        @Override
+        public FoldingEngine create(String acidString, int targetFitness) {
+            SteadyState steadyState = new SteadyState(acidString, targetFitness);
+            steadyState.setLocalSearch(new LocalSearch());
+            return steadyState;
+        }
+    },
+
+    ASYNCHRONOUS("Asynchronous genetic algorithm") {
+        @Override
+        public FoldingEngine create(String acidString, int targetFitness) {
+            AsyncPopulation population = new AsyncPopulation(acidString, targetFitness);
+            population.setLocalSearch(new LocalSearch());
+            return population;
+        }
+    },
+
+    PARALLEL_TEMPERING("Parallel tempering") {
+        @Override
+        public FoldingEngine create(String acidString, int targetFitness) {
+            return new ParallelTempering(acidString, targetFitness);
+        }
+    },
+
+    CHAIN_GROWTH("Chain growth (PERM)") {
+        @Override
+        public FoldingEngine create(String acidString, int targetFitness) {
+            return new ChainGrowth(acidString, targetFitness);
+        }
+    },
+
+    EXACT("Exact (short sequences)") {
+        @Override
+        public FoldingEngine create(String acidString, int targetFitness) {
+            return new ExactSolver(acidString, targetFitness);
+        }
+    },
+
+    PORTFOLIO("Portfolio (race all)") {
+        @Override
+        public FoldingEngine create(String acidString, int targetFitness) {
+            return Portfolio.standard(acidString, targetFitness);
+        }
+    };
+
+    /**
+     * The name of the method as shown to the user.
+     */
+    private final String label;
+
+    EngineType(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Builds an engine of this type for a search.
+     *
+     * @param acidString the amino acid sequence whose fold is sought
+     * @param targetFitness the target fitness of the fold to find
+     * @return a new engine, ready to be run by a <code>Search</code>
+     */
+    public abstract FoldingEngine create(String acidString, int targetFitness);
+
+    @Override
+    public String toString() {
+        return this.label;
+    }
+
+}
@@ -0,0 +1,392 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds a provably optimal fold of a short protein by branch and bound.
+ * Every self-avoiding fold is enumerated depth first, acid by acid, except
+ * those that can be pruned because they cannot beat the best fold found so
+ * far. Rotations are broken by fixing the first bond to point right, as
+ * <code>Chromosome.generateRandomLocations</code> does, and reflections by
+ * requiring the first turn to be upward, so each fold is visited once
+ * rather than eight times.
+ *
+ * <p>A partial fold is pruned when its contacts plus an upper bound on the
+ * contacts still to come cannot improve on the best. Two bounds are kept,
+ * and the smaller used. Each acid yet to be placed can touch at most two
+ * earlier acids, or three if it is the last. And, since on the square
+ * lattice contacts only join acids of opposite parity, each new contact
+ * uses up a free slot of an even hydrophobic acid and one of an odd one, so
+ * neither parity can take part in more contacts than it has free slots:
+ * the empty cells beside the hydrophobic acids already placed, plus two per
+ * hydrophobic acid still to come, three at an end.
+ *
+ * <p>The top of the search tree is split into fork/join tasks, so subtrees
+ * are searched on every core, sharing only the best fitness found.
+ *
+ * <p>As a <code>FoldingEngine</code>, the solver stops as soon as it finds
+ * a fold reaching the target, or once it has proven that none exists. It
+ * is practical for sequences of up to about thirty to forty acids.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class ExactSolver implements FoldingEngine {
+
+    /**
+     * How many acids are placed by splitting into fork/join tasks before
+     * each task searches its subtree alone.
+     */
+    private static final int SPLIT_DEPTH = 10;
+
+    private final String acidString;
+    private final boolean[] acids;
+    private final int targetFitness;
+    private final int stopFitness;
+    private final SearchMetrics metrics;
+    private final ProgressPublisher publisher;
+    private final ProgressLog log;
+
+    /**
+     * The most contacts each acid can make with earlier acids, summed from
+     * each index to the end of the chain, for hydrophobic acids only.
+     */
+    private final int[] suffixCapacity;
+
+    /**
+     * The free slots for contacts of the hydrophobic acids of each parity,
+     * two per acid or three at an end, summed from each index to the end
+     * of the chain.
+     */
+    private final int[] suffixEvenSlots;
+    private final int[] suffixOddSlots;
+
+    /**
+     * The fewest contacts a fold must have to be worth finding: one more
+     * than the best found so far, and no fewer than the target needs, so
+     * a search for a target never explores folds that cannot reach it.
+     */
+    private final AtomicInteger threshold;
+
+    /**
+     * The fittest fold found so far. Guarded by <code>this</code>.
+     */
+    private Chromosome best;
+
+    /**
+     * Whether a fold reaching the target has been found.
+     */
+    private volatile boolean finished;
+
+    /**
+     * Whether the search has been asked to stop early.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Where each new best fold is offered, or <code>null</code> if the
+     * fittest are not kept.
+     */
+    private HallOfFame hallOfFame;
+
+    private final AtomicInteger subtrees = new AtomicInteger();
+    private final AtomicLong lastLogged = new AtomicLong();
+
+    /**
+     * Builds a solver that stops once it finds a fold of the target fitness.
+     *
+     * @param acidString the sequence of amino acids compromising the protein
+     * @param targetFitness the goal fitness for the search being performed
+     */
+    public ExactSolver(String acidString, int targetFitness) {
+        if (acidString.length() < 3) {
+            throw new IllegalArgumentException("The exact solver needs at least three acids");
+        }
+        this.acidString = acidString;
+        this.acids = Chromosome.parseAcids(acidString);
+        this.targetFitness = targetFitness;
+        this.stopFitness = Math.max(targetFitness,
+                FitnessBound.bestPossibleFitness(this.acids));
+        this.metrics = new SearchMetrics(acidString, targetFitness);
+        this.publisher = new ProgressPublisher();
+        this.log = ProgressLog.getInstance();
+
+        int length = this.acids.length;
+        this.suffixCapacity = new int[length + 1];
+        this.suffixEvenSlots = new int[length + 1];
+        this.suffixOddSlots = new int[length + 1];
+        for (int i = length - 1; i >= 0; i--) {
+            int capacity = (i == length - 1) ? 3 : 2;
+            int slots = (i == 0 || i == length - 1) ? 3 : 2;
+            boolean hydrophobic = this.acids[i];
+            this.suffixCapacity[i] = this.suffixCapacity[i + 1] + (hydrophobic ? capacity : 0);
+            this.suffixEvenSlots[i] = this.suffixEvenSlots[i + 1]
+                    + ((hydrophobic && (i & 1) == 0) ? slots : 0);
+            this.suffixOddSlots[i] = this.suffixOddSlots[i + 1]
+                    + ((hydrophobic && (i & 1) == 1) ? slots : 0);
+        }
+        this.threshold = new AtomicInteger(this.neededContacts(0));
+    }
+
+    /**
+     * Returns a fold of the given sequence with the best possible fitness.
+     *
+     * @param acidString the sequence of amino acids
+     * @return a provably optimal fold
+     */
+    public static Chromosome findOptimum(String acidString) {
+        ExactSolver solver = new ExactSolver(acidString, Integer.MIN_VALUE);
+        solver.evolve();
+        return solver.getBest();
+    }
+
+    @Override
+    public String getAcidString() {
+        return this.acidString;
+    }
+
+    @Override
+    public int getTargetFitness() {
+        return this.targetFitness;
+    }
+
+    @Override
+    public SearchMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Message> subscriber) {
+        this.publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Offers each new best fold to a hall of fame. Folds no better than
+     * the best are pruned rather than completed, so only improvements are
+     * offered.
+     *
+     * @param hallOfFame the hall of fame, or <code>null</code> for none
+     */
+    @Override
+    public void setHallOfFame(HallOfFame hallOfFame) {
+        this.hallOfFame = hallOfFame;
+    }
+
+    /**
+     * Returns the fittest fold found. Only folds reaching the target are
+     * sought, so if the target was not reached this is the straight chain;
+     * when the optimum is sought, as by <code>findOptimum</code>, it is
+     * optimal once <code>evolve</code> returns.
+     *
+     * @return the fittest fold found
+     */
+    public synchronized Chromosome getBest() {
+        return this.best;
+    }
+
+    /**
+     * Searches every core's share of the tree until a fold reaching the
+     * target is found, none is proven to exist, or the search is
+     * cancelled. The statistics of the search are registered over JMX for
+     * the duration.
+     */
+    @Override
+    public void evolve() {
+        this.metrics.register();
+        this.lastLogged.set(System.nanoTime());
+        // The straight chain is always valid, so there is always a best.
+        byte[] straight = new byte[this.acids.length - 1];
+        Arrays.fill(straight, (byte) 1);
+        this.offer(Chromosome.fromMoves(this.acids, straight, 0));
+
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            if (!this.isStopped()) {
+                pool.invoke(new Subtree(this, new byte[] {1}));
+            }
+        } finally {
+            pool.shutdownNow();
+            this.metrics.unregister();
+            this.publisher.close();
+        }
+    }
+
+    /**
+     * Returns the fewest contacts a fold must have to be worth finding.
+     *
+     * @return the pruning threshold in contacts
+     */
+    int getThreshold() {
+        return this.threshold.get();
+    }
+
+    /**
+     * Asks the search to stop; subtrees being searched are abandoned.
+     */
+    @Override
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * Returns whether a fold reaching the target has been found. If
+     * <code>evolve</code> returns without one, and the search was not
+     * cancelled, none exists.
+     *
+     * @return whether the target has been reached
+     */
+    public boolean isFinished() {
+        return this.finished;
+    }
+
+    /**
+     * Returns whether the search should stop, because the target has been
+     * reached or the search cancelled.
+     *
+     * @return whether to stop searching
+     */
+    boolean isStopped() {
+        return this.finished || this.cancelled;
+    }
+
+    /**
+     * Returns the upper bound on contacts made by acids placed from the
+     * given index on with acids before them.
+     *
+     * @param from the index of the next acid to place
+     * @return the bound in contacts
+     */
+    int getSuffixCapacity(int from) {
+        return this.suffixCapacity[from];
+    }
+
+    /**
+     * Returns the free slots for contacts of the hydrophobic acids of one
+     * parity from the given index on.
+     *
+     * @param from the index of the next acid to place
+     * @param odd whether to count odd acids rather than even ones
+     * @return the number of slots
+     */
+    int getSuffixSlots(int from, boolean odd) {
+        return odd ? this.suffixOddSlots[from] : this.suffixEvenSlots[from];
+    }
+
+    /**
+     * Returns the sequence of acids.
+     *
+     * @return the acids, hydrophobic coded <code>true</code>
+     */
+    boolean[] getAcids() {
+        return this.acids;
+    }
+
+    /**
+     * Offers a complete fold as the new best.
+     *
+     * @param fold the fold found
+     */
+    synchronized void offer(Chromosome fold) {
+        if (this.best != null && fold.getFitness() >= this.best.getFitness()) {
+            return;
+        }
+        this.best = fold;
+        if (this.hallOfFame != null) {
+            this.hallOfFame.offer(fold);
+        }
+        this.threshold.set(this.neededContacts(fold.getFitness()));
+        this.publisher.publish(new Message(fold, this.subtrees.get()));
+        if (fold.getFitness() <= this.stopFitness) {
+            this.finished = true;
+        }
+    }
+
+    /**
+     * Returns the fewest contacts a fold must have to be worth finding.
+     *
+     * @param bestFitness the fitness of the best fold found so far
+     * @return the pruning threshold in contacts
+     */
+    private int neededContacts(int bestFitness) {
+        int needed = -bestFitness + 1;
+        if (this.targetFitness != Integer.MIN_VALUE) {
+            needed = Math.max(needed, -this.targetFitness);
+        }
+        return needed;
+    }
+
+    /**
+     * Records a subtree searched to completion.
+     *
+     * @param nodes the number of partial folds visited in it
+     */
+    void endSubtree(long nodes) {
+        int count = this.subtrees.incrementAndGet();
+        int bestFitness = this.getBest().getFitness();
+        this.metrics.recordEvaluations((int) Math.min(nodes, Integer.MAX_VALUE));
+        // Branch and bound keeps no population, so there is no volume to count.
+        this.metrics.recordGeneration(bestFitness, 1, 0);
+
+        long now = System.nanoTime();
+        long last = this.lastLogged.get();
+        if (now - last >= ProgressLog.SAMPLE_INTERVAL
+                && this.lastLogged.compareAndSet(last, now)) {
+            this.log.record(this.metrics.getId(), count, bestFitness, 1, 1);
+        }
+    }
+
+
+    /**
+     * The subtree of folds beginning with a given sequence of bond
+     * directions. Near the root, forks a task for each way of extending
+     * the prefix; deeper, searches the whole subtree sequentially.
+     */
+    private static class Subtree extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ExactSolver solver;
+        private final byte[] prefix;
+
+        Subtree(ExactSolver solver, byte[] prefix) {
+            this.solver = solver;
+            this.prefix = prefix;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.solver.isStopped()) {
+                return;
+            }
+            BoundedWalk walk = new BoundedWalk(this.solver);
+            for (byte direction : this.prefix) {
+                walk.extend(direction);
+            }
+            if (walk.isPruned()) {
+                return;
+            }
+
+            if (this.prefix.length >= SPLIT_DEPTH || walk.isComplete()) {
+                walk.search();
+                this.solver.endSubtree(walk.getNodes());
+                return;
+            }
+            List<Subtree> children = new ArrayList<>(3);
+            for (int direction = 1; direction <= 4; direction++) {
+                if (walk.canExtend(direction)) {
+                    byte[] child = Arrays.copyOf(this.prefix, this.prefix.length + 1);
+                    child[this.prefix.length] = (byte) direction;
+                    children.add(new Subtree(this.solver, child));
+                }
+            }
+            invokeAll(children);
+        }
+
+    }
+
+}
@@ -0,0 +1,70 @@
+/**
+ * Computes a lower bound on the fitness any fold of a sequence can reach,
+ * from the sequence alone and in linear time, so that a search for an
+ * impossible target can be refused before it starts, and a search that
+ * reaches the bound can stop, since nothing fitter exists.
+ *
+ * <p>On the square lattice, an acid's neighbors all have the opposite
+ * parity of <code>x + y</code>, and so of position in the chain; a contact
+ * therefore always joins an even hydrophobic acid to an odd one, at least
+ * three places apart. An interior acid has two free sides once bonded to
+ * its neighbors in the chain, and an end acid three, so each hydrophobic
+ * acid can make at most that many contacts, and no more than there are
+ * hydrophobic acids of the other parity far enough along the chain. Every
+ * contact uses up one of the capacity of each parity, so the fitness can
+ * be no lower than minus the smaller of the two total capacities.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class FitnessBound {
+
+    /**
+     * Returns a lower bound on the fitness of any fold of the sequence.
+     *
+     * @param acidString the sequence of amino acids
+     * @return the lowest fitness any fold could possibly reach
+     */
+    public static int bestPossibleFitness(String acidString) {
+        return FitnessBound.bestPossibleFitness(Chromosome.parseAcids(acidString));
+    }
+
+    /**
+     * Returns a lower bound on the fitness of any fold of the sequence.
+     *
+     * @param acids the sequence of acids, hydrophobic coded <code>true</code>
+     * @return the lowest fitness any fold could possibly reach
+     */
+    public static int bestPossibleFitness(boolean[] acids) {
+        int length = acids.length;
+        // The hydrophobic acids of each parity before each index.
+        int[] evenBefore = new int[length + 1];
+        int[] oddBefore = new int[length + 1];
+        for (int i = 0; i < length; i++) {
+            boolean hydrophobic = acids[i];
+            evenBefore[i + 1] = evenBefore[i] + ((hydrophobic && (i & 1) == 0) ? 1 : 0);
+            oddBefore[i + 1] = oddBefore[i] + ((hydrophobic && (i & 1) == 1) ? 1 : 0);
+        }
+
+        int evenCapacity = 0;
+        int oddCapacity = 0;
+        for (int i = 0; i < length; i++) {
+            if (!acids[i]) {
+                continue;
+            }
+            int[] partners = ((i & 1) == 0) ? oddBefore : evenBefore;
+            // Partners at least three places away on either side.
+            int reachable = partners[Math.max(i - 2, 0)]
+                    + (partners[length] - partners[Math.min(i + 3, length)]);
+            int sides = (i == 0 || i == length - 1) ? 3 : 2;
+            int capacity = Math.min(sides, reachable);
+            if ((i & 1) == 0) {
+                evenCapacity += capacity;
+            } else {
+                oddCapacity += capacity;
+            }
+        }
+        return -Math.min(evenCapacity, oddCapacity);
+    }
+
+}
@@ -0,0 +1,231 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A population of <code>Chromosomes</code> indexed by fitness, for a
+ * steady-state search that breeds and replaces individuals one at a time
+ * rather than a whole <code>Generation</code> at once. Individuals are
+ * kept in one bucket per fitness, and two Fenwick trees over the buckets
+ * count the individuals and sum their selection weights, so inserting,
+ * removing the worst and selecting by roulette wheel each take time
+ * logarithmic in the number of possible fitnesses, however large the
+ * population.
+ *
+ * <p>An individual's chance of selection is proportional to one more than
+ * the number of contacts it makes, so that every individual, even one
+ * with no contacts, can be chosen.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class FitnessIndex {
+
+    /**
+     * The individuals making each number of contacts, and how many of
+     * each bucket are in use.
+     */
+    private final Chromosome[][] buckets;
+    private final int[] bucketSizes;
+
+    /**
+     * Fenwick trees over the buckets, indexed from one: the number of
+     * individuals, and the sum of their selection weights.
+     */
+    private final int[] counts;
+    private final long[] weights;
+
+    /**
+     * The largest power of two no greater than the number of buckets,
+     * where searches of the trees begin.
+     */
+    private final int topBit;
+
+    private int size;
+
+    /**
+     * Builds an empty index.
+     *
+     * @param maxContacts the most contacts any individual can make, as
+     *                    bounded by <code>FitnessBound</code>
+     */
+    public FitnessIndex(int maxContacts) {
+        int levels = maxContacts + 1;
+        this.buckets = new Chromosome[levels][];
+        this.bucketSizes = new int[levels];
+        for (int i = 0; i < levels; i++) {
+            this.buckets[i] = new Chromosome[4];
+        }
+        this.counts = new int[levels + 1];
+        this.weights = new long[levels + 1];
+        this.topBit = Integer.highestOneBit(levels);
+    }
+
+    /**
+     * Returns the number of individuals in the index.
+     *
+     * @return the population size
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds an individual.
+     *
+     * @param chromosome the individual to add
+     */
+    public void insert(Chromosome chromosome) {
+        int level = -chromosome.getFitness();
+        Chromosome[] bucket = this.buckets[level];
+        if (this.bucketSizes[level] == bucket.length) {
+            bucket = Arrays.copyOf(bucket, bucket.length * 2);
+            this.buckets[level] = bucket;
+        }
+        bucket[this.bucketSizes[level]++] = chromosome;
+        this.update(level, 1);
+        this.size++;
+    }
+
+    /**
+     * Removes an individual of the worst fitness, chosen at random among
+     * them.
+     *
+     * @param random the random generator choosing among equally bad individuals
+     * @return the individual removed
+     */
+    public Chromosome removeWorst(Random random) {
+        int level = this.findLevel(1);
+        Chromosome[] bucket = this.buckets[level];
+        int last = --this.bucketSizes[level];
+        int chosen = random.nextInt(last + 1);
+        Chromosome removed = bucket[chosen];
+        bucket[chosen] = bucket[last];
+        bucket[last] = null;
+        this.update(level, -1);
+        this.size--;
+        return removed;
+    }
+
+    /**
+     * Returns an individual chosen by roulette wheel, with probability
+     * proportional to one more than its number of contacts.
+     *
+     * @param random the random generator spinning the wheel
+     * @return the selected individual
+     */
+    public Chromosome select(Random random) {
+        long spin = (long) (random.nextDouble() * this.prefixWeight(this.buckets.length));
+        // Descend the tree to the first bucket whose prefix weight exceeds the spin.
+        int index = 0;
+        for (int step = this.topBit; step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= this.buckets.length && this.weights[next] <= spin) {
+                index = next;
+                spin -= this.weights[next];
+            }
+        }
+        int level = index;
+        return this.buckets[level][random.nextInt(this.bucketSizes[level])];
+    }
+
+    /**
+     * Returns one of the fittest individuals.
+     *
+     * @return an individual of the best fitness
+     */
+    public Chromosome getBest() {
+        return this.buckets[this.findLevel(this.size)][0];
+    }
+
+    /**
+     * Returns the fitness of the worst individuals.
+     *
+     * @return the worst fitness
+     */
+    public int getWorstFitness() {
+        return -this.findLevel(1);
+    }
+
+    /**
+     * Returns the fitness of the best individuals.
+     *
+     * @return the best fitness
+     */
+    public int getBestFitness() {
+        return -this.findLevel(this.size);
+    }
+
+    /**
+     * Returns the number of individuals with the given fitness.
+     *
+     * @param fitness the fitness
+     * @return the number of individuals with it
+     */
+    public int countAt(int fitness) {
+        return this.bucketSizes[-fitness];
+    }
+
+    /**
+     * Returns the number of distinct fitnesses in the population. Takes
+     * time linear in the number of possible fitnesses.
+     *
+     * @return the number of distinct fitnesses
+     */
+    public int countDistinctFitnesses() {
+        int distinct = 0;
+        for (int bucketSize : this.bucketSizes) {
+            if (bucketSize > 0) {
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Adds one individual to, or removes one from, the trees at a bucket.
+     *
+     * @param level the bucket, by number of contacts
+     * @param delta one to add, minus one to remove
+     */
+    private void update(int level, int delta) {
+        long weight = (long) delta * (level + 1);
+        for (int i = level + 1; i < this.counts.length; i += i & -i) {
+            this.counts[i] += delta;
+            this.weights[i] += weight;
+        }
+    }
+
+    /**
+     * Returns the total selection weight of the first buckets.
+     *
+     * @param levels the number of buckets to sum
+     * @return their total weight
+     */
+    private long prefixWeight(int levels) {
+        long sum = 0;
+        for (int i = levels; i > 0; i -= i & -i) {
+            sum += this.weights[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the fewest contacts such that at least the given number of
+     * individuals make no more.
+     *
+     * @param rank how many individuals, counting from the worst
+     * @return the bucket of the individual of that rank
+     */
+    private int findLevel(int rank) {
+        int index = 0;
+        for (int step = this.topBit; step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= this.buckets.length && this.counts[next] < rank) {
+                index = next;
+                rank -= this.counts[next];
+            }
+        }
+        return index;
+    }
+
+}
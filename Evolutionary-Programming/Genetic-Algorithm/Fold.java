@@ -0,0 +1,421 @@
+import java.util.Random;
+
+/**
+ * A mutable lattice conformation of a protein, used by the local search
+ * to try many small moves cheaply. Unlike <code>Chromosome</code>, which is
+ * rebuilt and fully re-scored by every operator, a <code>Fold</code> is
+ * changed in place: each move relocates a few acids and updates the fitness
+ * by recounting only the contacts of the acids moved.
+ *
+ * <p>Occupancy is kept in a square grid indexed modulo its width. The
+ * width is a power of two greater than the length of the protein plus the
+ * reach of a move, so two acids of the chain can never alias the same cell,
+ * however far the chain drifts as it is pulled around.
+ *
+ * <p>Every move is journaled, so a move that turns out to be worse can be
+ * undone with <code>rollback</code>; <code>commit</code> keeps it. Each
+ * move must be committed or rolled back before the next is made.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class Fold {
+
+    /**
+     * The lattice directions, right, left, up and down, as used by
+     * <code>Location.createNextLocation</code>.
+     */
+    private static final int[] DX = {1, -1, 0, 0};
+    private static final int[] DY = {0, 0, 1, -1};
+
+    private final boolean[] acids;
+    private final int[] xs;
+    private final int[] ys;
+
+    /**
+     * One more than the index of the acid in each cell, or zero if the
+     * cell is empty.
+     */
+    private final int[] grid;
+    private final int mask;
+    private final int shift;
+
+    /**
+     * The fitness of the current conformation.
+     */
+    private int fitness;
+
+    /**
+     * The acids moved since the last commit, with their previous
+     * coordinates, in the order they were moved.
+     */
+    private final int[] journalAcids;
+    private final int[] journalXs;
+    private final int[] journalYs;
+    private int journalSize;
+    private int fitnessAtCommit;
+
+    /**
+     * Builds a mutable copy of the structure of a <code>Chromosome</code>.
+     *
+     * @param chromosome the structure to copy
+     */
+    public Fold(Chromosome chromosome) {
+        Location[] locations = chromosome.getLocations();
+        int length = locations.length;
+        this.acids = chromosome.getAcids();
+        this.xs = new int[length];
+        this.ys = new int[length];
+
+        int width = Integer.highestOneBit(length + 4) << 1;
+        this.mask = width - 1;
+        this.shift = Integer.numberOfTrailingZeros(width);
+        this.grid = new int[width * width];
+        for (int i = 0; i < length; i++) {
+            this.xs[i] = locations[i].getX();
+            this.ys[i] = locations[i].getY();
+            this.grid[this.cell(this.xs[i], this.ys[i])] = i + 1;
+        }
+        this.fitness = chromosome.getFitness();
+
+        this.journalAcids = new int[length];
+        this.journalXs = new int[length];
+        this.journalYs = new int[length];
+        this.journalSize = 0;
+        this.fitnessAtCommit = this.fitness;
+    }
+
+    /**
+     * Returns the fitness of the current conformation.
+     *
+     * @return the fitness
+     */
+    public int getFitness() {
+        return this.fitness;
+    }
+
+    /**
+     * Returns the number of acids in the protein.
+     *
+     * @return the length of the protein
+     */
+    public int length() {
+        return this.xs.length;
+    }
+
+    /**
+     * Copies the coordinates of the current conformation.
+     *
+     * @param toXs the array to copy the x-coordinates into
+     * @param toYs the array to copy the y-coordinates into
+     */
+    public void copyCoordinates(int[] toXs, int[] toYs) {
+        System.arraycopy(this.xs, 0, toXs, 0, this.xs.length);
+        System.arraycopy(this.ys, 0, toYs, 0, this.ys.length);
+    }
+
+    /**
+     * Keeps every move made since the last commit.
+     */
+    public void commit() {
+        this.journalSize = 0;
+        this.fitnessAtCommit = this.fitness;
+    }
+
+    /**
+     * Undoes every move made since the last commit, in reverse order.
+     */
+    public void rollback() {
+        while (this.journalSize > 0) {
+            this.journalSize--;
+            int acid = this.journalAcids[this.journalSize];
+            this.grid[this.cell(this.xs[acid], this.ys[acid])] = 0;
+            this.xs[acid] = this.journalXs[this.journalSize];
+            this.ys[acid] = this.journalYs[this.journalSize];
+            this.grid[this.cell(this.xs[acid], this.ys[acid])] = acid + 1;
+        }
+        this.fitness = this.fitnessAtCommit;
+    }
+
+    /**
+     * Makes one randomly chosen end, corner, crankshaft or pull move. Moves
+     * that are not possible from the current conformation change nothing.
+     *
+     * @param random the random generator used to choose the move
+     * @return whether a move was made
+     */
+    public boolean randomMove(Random random) {
+        int length = this.xs.length;
+        int acid = random.nextInt(length);
+        if (acid == 0 || acid == length - 1) {
+            int step = (acid == 0) ? 1 : -1;
+            return random.nextBoolean()
+                    ? this.endMove(acid, step, random)
+                    : this.endPullMove(acid, step, random);
+        }
+        switch (random.nextInt(4)) {
+            case 0:
+                return this.cornerMove(acid);
+            case 1:
+                return this.crankshaftMove(acid);
+            default:
+                return this.pullMove(acid, random.nextBoolean() ? 1 : -1,
+                        random.nextBoolean());
+        }
+    }
+
+    /**
+     * Builds a <code>Chromosome</code> from coordinates, translated and
+     * rotated so that, like every other structure, it starts at the
+     * origin with its first bond pointing right.
+     *
+     * @param acids the sequence of constituent amino acids
+     * @param xs the x-coordinate of each acid
+     * @param ys the y-coordinate of each acid
+     * @param fitness the fitness of the structure
+     * @return the structure in the usual orientation
+     */
+    public static Chromosome toChromosome(boolean[] acids, int[] xs, int[] ys, int fitness) {
+        int dx = xs[1] - xs[0];
+        int dy = ys[1] - ys[0];
+        Location[] locations = new Location[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            int x = xs[i] - xs[0];
+            int y = ys[i] - ys[0];
+            // Rotate the first bond, (dx, dy), onto (1, 0).
+            locations[i] = new Location(x * dx + y * dy, y * dx - x * dy);
+        }
+        return new Chromosome(acids, locations, fitness);
+    }
+
+    /**
+     * Moves an end acid to a free cell beside its only neighbor in the chain.
+     *
+     * @param end the index of the end acid
+     * @param step the direction from the end into the chain
+     * @param random the random generator used to choose the cell
+     * @return whether the move was made
+     */
+    private boolean endMove(int end, int step, Random random) {
+        int anchor = end + step;
+        int first = random.nextInt(4);
+        for (int k = 0; k < 4; k++) {
+            int d = (first + k) & 3;
+            int x = this.xs[anchor] + DX[d];
+            int y = this.ys[anchor] + DY[d];
+            if (this.isFree(x, y)) {
+                this.relocate(end, x, y);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves an acid whose two neighbors in the chain form a right angle
+     * with it to the opposite corner of their square.
+     *
+     * @param acid the index of the corner acid
+     * @return whether the move was made
+     */
+    private boolean cornerMove(int acid) {
+        int x = this.xs[acid - 1] + this.xs[acid + 1] - this.xs[acid];
+        int y = this.ys[acid - 1] + this.ys[acid + 1] - this.ys[acid];
+        if (this.xs[acid - 1] == this.xs[acid + 1]
+                || this.ys[acid - 1] == this.ys[acid + 1]
+                || !this.isFree(x, y)) {
+            return false;
+        }
+        this.relocate(acid, x, y);
+        return true;
+    }
+
+    /**
+     * Flips a U-shaped pair of acids, whose outer neighbors in the chain
+     * are adjacent, to the other side of those neighbors.
+     *
+     * @param acid the index of the first acid of the pair
+     * @return whether the move was made
+     */
+    private boolean crankshaftMove(int acid) {
+        if (acid + 2 >= this.xs.length
+                || !this.adjacent(this.xs[acid - 1], this.ys[acid - 1],
+                        this.xs[acid + 2], this.ys[acid + 2])) {
+            return false;
+        }
+        int x1 = 2 * this.xs[acid - 1] - this.xs[acid];
+        int y1 = 2 * this.ys[acid - 1] - this.ys[acid];
+        int x2 = 2 * this.xs[acid + 2] - this.xs[acid + 1];
+        int y2 = 2 * this.ys[acid + 2] - this.ys[acid + 1];
+        if (!this.isFree(x1, y1) || !this.isFree(x2, y2)) {
+            return false;
+        }
+        this.relocate(acid, x1, y1);
+        this.relocate(acid + 1, x2, y2);
+        return true;
+    }
+
+    /**
+     * Makes a pull move: the acid moves to a free cell beside its anchor
+     * neighbor and diagonal to where it was, and the chain beyond it
+     * follows, each acid taking the cell vacated two places ahead of it,
+     * until the chain is connected again.
+     *
+     * @param acid the index of the acid to pull
+     * @param step the direction from the acid away from its anchor
+     * @param otherSide which of the two possible cells to pull into
+     * @return whether the move was made
+     */
+    private boolean pullMove(int acid, int step, boolean otherSide) {
+        int anchor = acid - step;
+        // A unit vector perpendicular to the bond from the anchor.
+        int px = this.ys[acid] - this.ys[anchor];
+        int py = this.xs[anchor] - this.xs[acid];
+        if (otherSide) {
+            px = -px;
+            py = -py;
+        }
+        int lx = this.xs[anchor] + px;
+        int ly = this.ys[anchor] + py;
+        int cx = this.xs[acid] + px;
+        int cy = this.ys[acid] + py;
+        int next = acid + step;
+        if (!this.isFree(lx, ly)) {
+            return false;
+        }
+        boolean closes = next < 0 || next >= this.xs.length
+                || (this.xs[next] == cx && this.ys[next] == cy);
+        if (!closes && !this.isFree(cx, cy)) {
+            return false;
+        }
+
+        int vacatedX = this.xs[acid];
+        int vacatedY = this.ys[acid];
+        this.relocate(acid, lx, ly);
+        if (closes) {
+            return true;
+        }
+        this.follow(next, step, cx, cy, vacatedX, vacatedY);
+        return true;
+    }
+
+    /**
+     * Makes a pull move from an end of the chain: the end acid and its
+     * neighbor move to two adjacent free cells beside the end, and the
+     * rest of the chain follows until it is connected again.
+     *
+     * @param end the index of the end acid
+     * @param step the direction from the end into the chain
+     * @param random the random generator used to choose the cells
+     * @return whether the move was made
+     */
+    private boolean endPullMove(int end, int step, Random random) {
+        int d1 = random.nextInt(4);
+        int lx = this.xs[end] + DX[d1];
+        int ly = this.ys[end] + DY[d1];
+        int d2 = random.nextInt(4);
+        int cx = lx + DX[d2];
+        int cy = ly + DY[d2];
+        if (!this.isFree(lx, ly) || !this.isFree(cx, cy)
+                || (cx == this.xs[end] && cy == this.ys[end])) {
+            return false;
+        }
+
+        int vacatedX = this.xs[end];
+        int vacatedY = this.ys[end];
+        this.relocate(end, cx, cy);
+        this.follow(end + step, step, lx, ly, vacatedX, vacatedY);
+        return true;
+    }
+
+    /**
+     * Moves an acid to a free cell, then drags each following acid into
+     * the cell vacated two places ahead of it until one is already beside
+     * its predecessor.
+     *
+     * @param acid the index of the first acid to drag
+     * @param step the direction along the chain to drag in
+     * @param x the free cell to move the first acid to
+     * @param y the free cell to move the first acid to
+     * @param vacatedX the cell vacated by the acid before it
+     * @param vacatedY the cell vacated by the acid before it
+     */
+    private void follow(int acid, int step, int x, int y, int vacatedX, int vacatedY) {
+        int aheadX = vacatedX;
+        int aheadY = vacatedY;
+        while (true) {
+            int oldX = this.xs[acid];
+            int oldY = this.ys[acid];
+            this.relocate(acid, x, y);
+            int next = acid + step;
+            if (next < 0 || next >= this.xs.length
+                    || this.adjacent(this.xs[next], this.ys[next], x, y)) {
+                return;
+            }
+            x = aheadX;
+            y = aheadY;
+            aheadX = oldX;
+            aheadY = oldY;
+            acid = next;
+        }
+    }
+
+    /**
+     * Moves an acid to a free cell, journaling its old cell and updating
+     * the fitness by the contacts it loses and gains.
+     *
+     * @param acid the index of the acid to move
+     * @param x the x-coordinate of the free cell
+     * @param y the y-coordinate of the free cell
+     */
+    private void relocate(int acid, int x, int y) {
+        this.journalAcids[this.journalSize] = acid;
+        this.journalXs[this.journalSize] = this.xs[acid];
+        this.journalYs[this.journalSize] = this.ys[acid];
+        this.journalSize++;
+
+        this.grid[this.cell(this.xs[acid], this.ys[acid])] = 0;
+        this.fitness += this.contactsAt(acid, this.xs[acid], this.ys[acid]);
+        this.xs[acid] = x;
+        this.ys[acid] = y;
+        this.grid[this.cell(x, y)] = acid + 1;
+        this.fitness -= this.contactsAt(acid, x, y);
+    }
+
+    /**
+     * Counts the non-covalent hydrophobic contacts an acid would have in
+     * the given cell.
+     *
+     * @param acid the index of the acid
+     * @param x the x-coordinate of the cell
+     * @param y the y-coordinate of the cell
+     * @return the number of contacts
+     */
+    private int contactsAt(int acid, int x, int y) {
+        if (!this.acids[acid]) {
+            return 0;
+        }
+        int contacts = 0;
+        for (int d = 0; d < 4; d++) {
+            int other = this.grid[this.cell(x + DX[d], y + DY[d])] - 1;
+            if (other >= 0 && this.acids[other]
+                    && (other > acid + 1 || other < acid - 1)) {
+                contacts++;
+            }
+        }
+        return contacts;
+    }
+
+    private boolean isFree(int x, int y) {
+        return this.grid[this.cell(x, y)] == 0;
+    }
+
+    private boolean adjacent(int x1, int y1, int x2, int y2) {
+        return Math.abs(x1 - x2) + Math.abs(y1 - y2) == 1;
+    }
+
+    private int cell(int x, int y) {
+        return ((x & this.mask) << this.shift) | (y & this.mask);
+    }
+
+}
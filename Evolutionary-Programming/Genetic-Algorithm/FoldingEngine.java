@@ -0,0 +1,71 @@
+import java.util.concurrent.Flow;
+
+/**
+ * A method of searching for a structure of a protein that reaches a target
+ * fitness. Every engine reports progress the same way, as a
+ * <code>Message</code> for each improvement, and exposes the same live
+ * statistics, so a <code>Search</code> can run whichever engine suits the
+ * sequence best.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public interface FoldingEngine {
+
+    /**
+     * Returns the amino acid sequence being searched.
+     *
+     * @return the amino acid sequence
+     */
+    String getAcidString();
+
+    /**
+     * Returns the fitness the search is trying to reach.
+     *
+     * @return the target fitness
+     */
+    int getTargetFitness();
+
+    /**
+     * Returns the live statistics of the search.
+     *
+     * @return the statistics of the search
+     */
+    SearchMetrics getMetrics();
+
+    /**
+     * Registers a subscriber to be sent a <code>Message</code> whenever
+     * the search finds a fitter structure. Subscribers are completed when
+     * the search ends.
+     *
+     * @param subscriber the subscriber interested in search progress
+     */
+    void subscribe(Flow.Subscriber<? super Message> subscriber);
+
+    /**
+     * Offers the folds the search finds to a hall of fame, which may be
+     * shared with other searches. Which folds are offered depends on the
+     * engine: at least every improvement, and as many of the others as
+     * can be offered cheaply.
+     *
+     * @param hallOfFame the hall of fame, or <code>null</code> for none
+     */
+    void setHallOfFame(HallOfFame hallOfFame);
+
+    /**
+     * Runs the search on the calling thread until the target fitness is
+     * reached, or the best fitness the sequence can possibly reach, as
+     * bounded by <code>FitnessBound</code>, if that comes first, or until
+     * the search is cancelled.
+     */
+    void evolve();
+
+    /**
+     * Asks a running search to stop early. <code>evolve</code> returns
+     * soon after, with whatever best structure it has found; calling this
+     * before <code>evolve</code> makes it return at once. May be called
+     * from any thread.
+     */
+    void cancel();
+
+}
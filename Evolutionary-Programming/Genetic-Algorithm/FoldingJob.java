@@ -0,0 +1,383 @@
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+
+/**
+ * A request to fold a sequence, queued by a <code>JobServer</code> until a
+ * worker is free and then run as a <code>Search</code> with the engine
+ * asked for. A job may be given a time budget, after which its engine is
+ * cancelled and the best fold found so far is its result, and may be
+ * cancelled at any point, whether still queued or running. An engine
+ * cannot be stopped while it is being built, so a job stopped then, such
+ * as one building a large population of a long sequence, ends once its
+ * engine is ready.
+ *
+ * <p>Jobs are ordered for the queue by priority, highest first, and among
+ * equal priorities by when they were submitted. Each job subscribes to its
+ * own search and keeps the latest improvement, which any number of
+ * threads can wait for with <code>awaitChange</code>.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class FoldingJob implements Runnable, Comparable<FoldingJob>,
+        Flow.Subscriber<Message> {
+
+    /**
+     * Where a job is in its life.
+     */
+    public enum State {
+        /** Waiting for a worker. */
+        QUEUED,
+        /** Being searched. */
+        RUNNING,
+        /** Reached its target fitness. */
+        SUCCEEDED,
+        /** Ran out of time before reaching its target. */
+        EXPIRED,
+        /** Cancelled before it reached its target. */
+        CANCELLED,
+        /** Could not be searched. */
+        FAILED;
+
+        /**
+         * Returns whether a job in this state is finished.
+         *
+         * @return whether the state is final
+         */
+        public boolean isFinished() {
+            return this != QUEUED && this != RUNNING;
+        }
+    }
+
+    private final long id;
+    private final String acidString;
+    private final int targetFitness;
+    private final EngineType engineType;
+    private final int priority;
+
+    /**
+     * The longest the search may run, in milliseconds, or zero for no limit.
+     */
+    private final long budgetMillis;
+
+    /**
+     * When the job was submitted, started and finished, by
+     * <code>System.nanoTime</code>. Guarded by <code>this</code>.
+     */
+    private final long submitted;
+    private long started;
+    private long finished;
+
+    /**
+     * Released once the search has completed its subscribers.
+     */
+    private final CountDownLatch completed;
+
+    /**
+     * Guarded by <code>this</code>.
+     */
+    private State state;
+    private FoldingEngine engine;
+    private boolean cancelRequested;
+    private boolean expired;
+    private String failure;
+
+    /**
+     * The latest improvement, and how many changes of the job have been
+     * made, so that waiting threads can tell what they have missed.
+     * Guarded by <code>this</code>.
+     */
+    private Message latest;
+    private long version;
+
+    /**
+     * Builds a queued job.
+     *
+     * @param id the number of the job, which breaks ties in priority
+     * @param acidString the amino acid sequence whose fold is sought
+     * @param targetFitness the target fitness of the fold to find
+     * @param engineType the method to search with
+     * @param priority how urgent the job is; higher runs first
+     * @param budgetMillis the longest the search may run, or zero for no limit
+     */
+    public FoldingJob(long id, String acidString, int targetFitness,
+                      EngineType engineType, int priority, long budgetMillis) {
+        this.id = id;
+        this.acidString = acidString;
+        this.targetFitness = targetFitness;
+        this.engineType = engineType;
+        this.priority = priority;
+        this.budgetMillis = budgetMillis;
+        this.submitted = System.nanoTime();
+        this.completed = new CountDownLatch(1);
+        this.state = State.QUEUED;
+    }
+
+    /**
+     * Returns the number of the job.
+     *
+     * @return the job number
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Returns the amino acid sequence whose fold is sought.
+     *
+     * @return the amino acid sequence
+     */
+    public String getAcidString() {
+        return this.acidString;
+    }
+
+    /**
+     * Returns the target fitness of the fold to find.
+     *
+     * @return the target fitness
+     */
+    public int getTargetFitness() {
+        return this.targetFitness;
+    }
+
+    /**
+     * Returns how urgent the job is; higher runs first.
+     *
+     * @return the priority
+     */
+    public int getPriority() {
+        return this.priority;
+    }
+
+    /**
+     * Returns the longest the search may run, in milliseconds.
+     *
+     * @return the time budget, or zero for no limit
+     */
+    public long getBudgetMillis() {
+        return this.budgetMillis;
+    }
+
+    /**
+     * Returns where the job is in its life.
+     *
+     * @return the state of the job
+     */
+    public synchronized State getState() {
+        return this.state;
+    }
+
+    /**
+     * Returns the latest improvement found.
+     *
+     * @return the latest improvement, or <code>null</code> if none yet
+     */
+    public synchronized Message getLatest() {
+        return this.latest;
+    }
+
+    /**
+     * Returns why the job failed.
+     *
+     * @return the reason, or <code>null</code> if it has not failed
+     */
+    public synchronized String getFailure() {
+        return this.failure;
+    }
+
+    /**
+     * Returns whether a worker has started the search.
+     *
+     * @return whether the job has run
+     */
+    public synchronized boolean hasStarted() {
+        return this.started != 0;
+    }
+
+    /**
+     * Returns how long the job waited for a worker, in nanoseconds, so far
+     * if it is still waiting.
+     *
+     * @return the time spent queued
+     */
+    public synchronized long getQueueNanos() {
+        if (this.state == State.QUEUED) {
+            return System.nanoTime() - this.submitted;
+        }
+        return ((this.started != 0) ? this.started : this.finished) - this.submitted;
+    }
+
+    /**
+     * Returns how long the job has been searched, in nanoseconds.
+     *
+     * @return the time spent running, or zero if it never ran
+     */
+    public synchronized long getRunNanos() {
+        if (this.started == 0) {
+            return 0;
+        }
+        return ((this.finished != 0) ? this.finished : System.nanoTime()) - this.started;
+    }
+
+    /**
+     * Waits until the job changes from the given version: until a fitter
+     * fold is found or the job finishes.
+     *
+     * @param seen the version last seen, or zero for none
+     * @param timeoutMillis the longest to wait
+     * @return the current version, the same as the one seen if the wait timed out
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized long awaitChange(long seen, long timeoutMillis)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remaining = timeoutMillis;
+        while (this.version == seen && remaining > 0) {
+            this.wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+        return this.version;
+    }
+
+    /**
+     * Stops the job: a queued job will not be run, and a running one has
+     * its engine cancelled and ends with the best fold found so far.
+     *
+     * @return whether the job was still unfinished
+     */
+    public boolean cancel() {
+        return this.stop(false);
+    }
+
+    /**
+     * Stops the job because its time budget has run out.
+     */
+    void expire() {
+        this.stop(true);
+    }
+
+    /**
+     * Runs the search on the calling thread and waits for it to end.
+     */
+    @Override
+    public void run() {
+        FoldingEngine created;
+        synchronized (this) {
+            if (this.state != State.QUEUED) {
+                return;
+            }
+            this.state = State.RUNNING;
+            this.started = System.nanoTime();
+            this.changed();
+        }
+        try {
+            created = this.engineType.create(this.acidString, this.targetFitness);
+            synchronized (this) {
+                this.engine = created;
+                if (this.cancelRequested) {
+                    created.cancel();
+                }
+            }
+            new Search(created, this);
+            this.completed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.fail("Interrupted");
+            return;
+        } catch (RuntimeException e) {
+            this.fail(e.toString());
+            return;
+        }
+        synchronized (this) {
+            Message best = this.latest;
+            if (best != null && best.getFitness() <= this.targetFitness) {
+                this.state = State.SUCCEEDED;
+            } else if (this.expired) {
+                this.state = State.EXPIRED;
+            } else if (this.cancelRequested) {
+                this.state = State.CANCELLED;
+            } else {
+                this.state = State.FAILED;
+                this.failure = "Search ended without reaching the target";
+            }
+            this.finished = System.nanoTime();
+            this.changed();
+        }
+    }
+
+    /**
+     * Orders jobs highest priority first, then first submitted first.
+     */
+    @Override
+    public int compareTo(FoldingJob other) {
+        int byPriority = Integer.compare(other.priority, this.priority);
+        return (byPriority != 0) ? byPriority : Long.compare(this.id, other.id);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public synchronized void onNext(Message message) {
+        this.latest = message;
+        this.changed();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        this.completed.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        this.completed.countDown();
+    }
+
+    /**
+     * Stops the job, queued or running.
+     *
+     * @param budgetExhausted whether the stop is for running out of time
+     * @return whether the job was still unfinished
+     */
+    private synchronized boolean stop(boolean budgetExhausted) {
+        if (this.state == State.QUEUED) {
+            this.state = budgetExhausted ? State.EXPIRED : State.CANCELLED;
+            this.finished = System.nanoTime();
+            this.changed();
+            return true;
+        }
+        if (this.state != State.RUNNING) {
+            return false;
+        }
+        this.cancelRequested = true;
+        this.expired |= budgetExhausted;
+        if (this.engine != null) {
+            this.engine.cancel();
+        }
+        return true;
+    }
+
+    /**
+     * Marks the job as failed.
+     *
+     * @param reason why it failed
+     */
+    private synchronized void fail(String reason) {
+        this.state = State.FAILED;
+        this.failure = reason;
+        this.finished = System.nanoTime();
+        this.changed();
+    }
+
+    /**
+     * Wakes every thread waiting for the job to change. Must be called
+     * holding the lock on the job.
+     */
+    private void changed() {
+        this.version++;
+        this.notifyAll();
+    }
+
+}
@@ -4,6 +4,7 @@ import java.util.Comparator;
 import java.util.Random;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.stream.IntStream;
 
 /**
  * A single generation of the <code>Population</code>.
@@ -14,10 +15,16 @@ import java.util.TreeMap;
 public class Generation {
 
     /**
-     * A random generator used in producing mutations and
-     * selecting breeding pairs.
+     * The number of pairs of individuals compared in estimating how
+     * diverse the moves of a <code>Generation</code> are.
      */
-    private static Random random = new Random();
+    public static final int DIVERSITY_SAMPLE = 64;
+
+    /**
+     * The random generator of the search, used in producing mutations
+     * and selecting breeding pairs.
+     */
+    private Random random;
 
     /**
      * The individuals comprising this <code>Generation</code> of
@@ -46,18 +53,43 @@ public class Generation {
      */
     private int sumOfFitnesses;
 
+    /**
+     * The live statistics of the search this <code>Generation</code>
+     * belongs to, updated as individuals are bred.
+     */
+    private SearchMetrics metrics;
+
 
     /**
      * Given a <code>String</code> of amino acids, builds a new, empty
      * <code>Population</code> instance.
      *
      * @param acidString the sequence of amino acids compromising the protein
+     * @param random the random generator of the search
+     * @param metrics the statistics of the search to update while breeding
      */
-    public Generation(String acidString) {
-        this.chromosomes = new Chromosome[Population.POP_SIZE];
+    public Generation(String acidString, Random random, SearchMetrics metrics) {
+        this(acidString, Population.POP_SIZE, random, metrics);
+    }
+
+
+    /**
+     * Given a <code>String</code> of amino acids, builds a new, empty
+     * <code>Generation</code> of the given size.
+     *
+     * @param acidString the sequence of amino acids compromising the protein
+     * @param size the number of individuals in the generation
+     * @param random the random generator of the search
+     * @param metrics the statistics of the search to update while breeding
+     */
+    public Generation(String acidString, int size, Random random,
+                      SearchMetrics metrics) {
+        this.chromosomes = new Chromosome[size];
         this.acidString = acidString;
+        this.random = random;
         this.fitnessMap = new TreeMap<>();
         this.sumOfFitnesses = 0;
+        this.metrics = metrics;
     }
 
 
@@ -91,12 +123,103 @@ public class Generation {
      * @return a <code>String</code> reporting the highest fitness and the number with it
      */
     public String reportFittestAndVolume() {
-        String report = "";
-        int bestFitness = this.getBest().getFitness();
-        int[] indicesOfBest = this.fitnessMap.get(bestFitness);
-        int volumeAtBest = indicesOfBest[1] - indicesOfBest[0] + 1;
-        report += bestFitness + ": " + volumeAtBest + " / " + this.chromosomes.length;
-        return report;
+        StringBuilder report = new StringBuilder();
+        report.append(this.getBest().getFitness()).append(": ")
+                .append(this.getVolumeAtBest()).append(" / ")
+                .append(this.chromosomes.length);
+        return report.toString();
+    }
+
+
+    /**
+     * Returns the number of <code>Chromosomes</code> in this
+     * <code>Generation</code> that share the best fitness.
+     *
+     * @return the number of individuals with the best fitness
+     */
+    public int getVolumeAtBest() {
+        int[] indicesOfBest = this.fitnessMap.get(this.getBest().getFitness());
+        return indicesOfBest[1] - indicesOfBest[0] + 1;
+    }
+
+
+    /**
+     * Estimates how diverse the fittest individuals of this
+     * <code>Generation</code> are as the mean fraction of moves at which
+     * two of them differ, over a fixed sample of pairs spread across them.
+     * The sample is chosen without the random generator, so that
+     * measuring does not change the course of a seeded search. The
+     * <code>Generation</code> <b>must be sorted</b>.
+     *
+     * @param span how many of the fittest individuals to consider
+     * @return the mean pairwise move distance, from 0 when every
+     *         individual is alike up to 1
+     */
+    public double measureMoveDiversity(int span) {
+        int moves = this.acidString.length() - 1;
+        int size = Math.min(span, this.chromosomes.length);
+        if (moves == 0 || size < 2) {
+            return 0;
+        }
+        long distance = 0;
+        for (int pair = 0; pair < DIVERSITY_SAMPLE; pair++) {
+            int left = (int) ((long) pair * size / DIVERSITY_SAMPLE);
+            // Pick the partner from the other individuals, never the same one.
+            int right = (left + 1 + (size / 2 + pair) % (size - 1)) % size;
+            distance += Chromosome.moveDistance(this.chromosomes[left],
+                    this.chromosomes[right]);
+        }
+        return (double) distance / ((long) DIVERSITY_SAMPLE * moves);
+    }
+
+
+    /**
+     * Counts the fold families among the fittest individuals of this
+     * <code>Generation</code>: the individuals that differ other than by
+     * rotation or reflection, as told apart by their canonical hashes.
+     * The <code>Generation</code> <b>must be sorted</b>.
+     *
+     * @param span how many of the fittest individuals to consider
+     * @return the number of distinct canonical hashes
+     */
+    public int countDistinctFolds(int span) {
+        long[] hashes = new long[Math.min(span, this.chromosomes.length)];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = this.chromosomes[i].getCanonicalHash();
+        }
+        Arrays.sort(hashes);
+        int distinct = 1;
+        for (int i = 1; i < hashes.length; i++) {
+            if (hashes[i] != hashes[i - 1]) {
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+
+
+    /**
+     * Returns a partially restarted copy of this <code>Generation</code>:
+     * the given number of its fittest individuals survive, and every other
+     * place is filled with a new random individual.
+     *
+     * @param survivors how many of the fittest individuals to keep
+     * @return the restarted <code>Generation</code>, sorted
+     */
+    public Generation reseed(int survivors) {
+        Generation reseeded = new Generation(this.acidString,
+                this.chromosomes.length, this.random, this.metrics);
+        for (int i = 0; i < survivors; i++) {
+            reseeded.set(i, this.get(i));
+        }
+        for (int i = survivors; i < this.chromosomes.length; i++) {
+            reseeded.set(i, new Chromosome(this.acidString, this.random,
+                    this.metrics));
+        }
+        this.metrics.recordEvaluations(this.chromosomes.length - survivors);
+        reseeded.sort();
+        reseeded.setFitnessMapAndSumOfFitnesses();
+        return reseeded;
     }
 
 
@@ -178,6 +301,17 @@ public class Generation {
     }
 
 
+    /**
+     * Returns the number of <code>Chromosomes</code> in this
+     * <code>Generation</code>.
+     *
+     * @return the size of the <code>Generation</code>
+     */
+    public int size() {
+        return this.chromosomes.length;
+    }
+
+
     /**
      * Returns the fittest Chromosome in this <code>Population</code>
      * instance.
@@ -208,13 +342,14 @@ public class Generation {
      */
     @Override
     public String toString() {
-        String generationString = "";
+        StringBuilder generationString = new StringBuilder();
 
         for (int i = 0; i < this.chromosomes.length; i++ ) {
-            generationString += this.chromosomes[i].toString() + '\n';
+            this.chromosomes[i].appendTo(generationString);
+            generationString.append('\n');
         }
 
-        return generationString;
+        return generationString.toString();
     }
 
 
@@ -223,19 +358,75 @@ public class Generation {
      * of which has a randomly generated structure.
      *
      * @param acidString the amino acid sequence for the proteins
+     * @param random the random generator of the search
+     * @param metrics the statistics of the search the population belongs to
      * @return a full protein population with randomly generated structures
      */
-    public static Generation getRandomGeneration(String acidString) {
-        Generation generation = new Generation(acidString);
+    public static Generation getRandomGeneration(String acidString,
+                                                 Random random,
+                                                 SearchMetrics metrics) {
+        return Generation.getRandomGeneration(acidString, Population.POP_SIZE,
+                random, metrics);
+    }
+
+
+    /**
+     * Creates a population of the given size, as above.
+     *
+     * @param acidString the amino acid sequence for the proteins
+     * @param size the number of individuals in the population
+     * @param random the random generator of the search
+     * @param metrics the statistics of the search the population belongs to
+     * @return a full protein population with randomly generated structures
+     */
+    public static Generation getRandomGeneration(String acidString,
+                                                 int size,
+                                                 Random random,
+                                                 SearchMetrics metrics) {
+        Generation generation = new Generation(acidString, size, random, metrics);
 
         // Populate the first generation with entirely random instances.
-        for (int i = 0; i < Population.POP_SIZE; i++) {
-            generation.set(i, new Chromosome(acidString));
+        for (int i = 0; i < size; i++) {
+            generation.set(i, new Chromosome(acidString, random, metrics));
         }
+        metrics.recordEvaluations(size);
 
         // Calculate the needed population statistics.
         generation.sort();
         generation.setFitnessMapAndSumOfFitnesses();
+        generation.recordStatistics();
+        return generation;
+    }
+
+
+    /**
+     * Builds a <code>Generation</code> from previously bred
+     * <code>Chromosomes</code>, for instance ones read back from a file.
+     * The <code>Chromosomes</code> are sorted and the population
+     * statistics computed as for a freshly bred <code>Generation</code>.
+     *
+     * @param acidString the amino acid sequence for the proteins
+     * @param chromosomes at least <code>Population.MIN_POP_SIZE</code> individuals
+     * @param random the random generator of the search
+     * @param metrics the statistics of the search the population belongs to
+     * @return a <code>Generation</code> consisting of the given individuals
+     */
+    public static Generation fromChromosomes(String acidString,
+                                             Chromosome[] chromosomes,
+                                             Random random,
+                                             SearchMetrics metrics) {
+        if (chromosomes.length < Population.MIN_POP_SIZE) {
+            throw new IllegalArgumentException("A generation holds at least "
+                    + Population.MIN_POP_SIZE + " individuals, not " + chromosomes.length);
+        }
+
+        Generation generation = new Generation(acidString, chromosomes.length,
+                random, metrics);
+        for (int i = 0; i < chromosomes.length; i++) {
+            generation.set(i, chromosomes[i]);
+        }
+        generation.sort();
+        generation.setFitnessMapAndSumOfFitnesses();
         return generation;
     }
 
@@ -245,35 +436,226 @@ public class Generation {
      * elite percentage, crossing over a set percentage, and randomly
      * generating the remainder.
      *
+     * The time spent in each phase is recorded in a
+     * <code>GenerationEvent</code> while Flight Recorder is running.
+     *
      * @param applyDoublePointMutation whether or not to perform multi-point mutations
      */
     public Generation produceNextGeneration(boolean applyDoublePointMutation) {
-        Generation nextGeneration = new Generation(this.acidString);
+        return this.produceNextGeneration(applyDoublePointMutation, null);
+    }
+
+
+    /**
+     * Generates the next generation as above and then refines its elites
+     * with the given local search before sorting it.
+     *
+     * @param applyDoublePointMutation whether or not to perform multi-point mutations
+     * @param localSearch the local search refining elites, or <code>null</code> for none
+     */
+    public Generation produceNextGeneration(boolean applyDoublePointMutation,
+                                            LocalSearch localSearch) {
+        GenerationEvent timings = new GenerationEvent();
+        OperatorFailuresEvent failures = new OperatorFailuresEvent();
+        boolean timed = timings.isEnabled();
+        timings.begin();
+        failures.begin();
+        int size = this.chromosomes.length;
+        Generation nextGeneration = new Generation(this.acidString, size,
+                this.random, this.metrics);
 
         // Number of Chromosomes generated so for for the next generation.
         int individualsBred = 0;
 
         // Transfer elites and crossover pool to next generation.
-        while (individualsBred < Population.ELITE_SIZE) {
+        while (individualsBred < Population.eliteSize(size)) {
             nextGeneration.set(individualsBred, this.get(individualsBred));
             individualsBred++;
         }
 
-        nextGeneration.performAllCrossovers(this);
-        individualsBred += Population.CROSSOVER_SIZE;
+        long mark = timed ? System.nanoTime() : 0;
+        nextGeneration.performAllCrossovers(this, timings, failures);
+        individualsBred += Population.crossoverSize(size);
+        if (timed) {
+            // Selection time was accumulated separately during crossover.
+            long now = System.nanoTime();
+            timings.crossover = now - mark - timings.selection;
+            mark = now;
+        }
 
         // Generate random remaining.
-        while (individualsBred < Population.POP_SIZE) {
-            nextGeneration.set(individualsBred, new Chromosome(this.getAcidString()));
+        long rejectionsBefore = this.metrics.getRandomWalkRejections();
+        while (individualsBred < size) {
+            nextGeneration.set(individualsBred,
+                    new Chromosome(this.getAcidString(), this.random, this.metrics));
             individualsBred++;
         }
+        this.metrics.recordEvaluations(size
+                - Population.eliteSize(size) - Population.crossoverSize(size));
+        failures.randomWalkRejections =
+                this.metrics.getRandomWalkRejections() - rejectionsBefore;
+        if (timed) {
+            long now = System.nanoTime();
+            timings.randomFill = now - mark;
+            mark = now;
+        }
 
-        nextGeneration.performAllMutations(applyDoublePointMutation);
+        nextGeneration.performAllMutations(applyDoublePointMutation, failures);
+        if (timed) {
+            long now = System.nanoTime();
+            timings.mutation = now - mark;
+            mark = now;
+        }
 
+        if (localSearch != null) {
+            localSearch.refineElites(nextGeneration, this.random, this.metrics);
+            if (timed) {
+                long now = System.nanoTime();
+                timings.localSearch = now - mark;
+                mark = now;
+            }
+        }
+
+        return nextGeneration.finishBreeding(timings, failures, mark);
+    }
+
+
+    /**
+     * Generates the next generation by retaining an elite percentage and
+     * filling the remaining places with the breeding operators, sharing
+     * the places among them as the given controller decides. The
+     * controller is rewarded for each individual produced, and the new
+     * generation sorted.
+     *
+     * @param controller shares the places among the operators
+     * @param localSearch the local search applied by its operator, or
+     *                    <code>null</code> if the controller does not use it
+     * @return the next generation
+     */
+    public Generation produceNextGeneration(OperatorController controller,
+                                            LocalSearch localSearch) {
+        GenerationEvent timings = new GenerationEvent();
+        OperatorFailuresEvent failures = new OperatorFailuresEvent();
+        boolean timed = timings.isEnabled();
+        timings.begin();
+        failures.begin();
+        int size = this.chromosomes.length;
+        Generation nextGeneration = new Generation(this.acidString, size,
+                this.random, this.metrics);
+
+        // Transfer elites, then share out the remaining places.
+        int individualsBred = Population.eliteSize(size);
+        for (int i = 0; i < individualsBred; i++) {
+            nextGeneration.set(i, this.get(i));
+        }
+        int[] places = controller.allocate(size - individualsBred);
+
+        long mark = timed ? System.nanoTime() : 0;
+        int count = places[BreedingOperator.CROSSOVER.ordinal()];
+        nextGeneration.breedCrossovers(this, individualsBred, count, controller,
+                timings, failures);
+        individualsBred += count;
+        if (timed) {
+            // Selection time was accumulated separately during crossover.
+            long now = System.nanoTime();
+            timings.crossover = now - mark - timings.selection;
+            mark = now;
+        }
+
+        for (BreedingOperator operator : new BreedingOperator[] {
+                BreedingOperator.MUTATION, BreedingOperator.DOUBLE_MUTATION}) {
+            count = places[operator.ordinal()];
+            nextGeneration.breedMutations(this, individualsBred, count, operator,
+                    controller, failures);
+            individualsBred += count;
+        }
+        if (timed) {
+            long now = System.nanoTime();
+            timings.mutation = now - mark;
+            mark = now;
+        }
+
+        // Random immigrants are measured against the median of the last generation.
+        count = places[BreedingOperator.IMMIGRANT.ordinal()];
+        int median = this.get(size / 2).getFitness();
+        long rejectionsBefore = this.metrics.getRandomWalkRejections();
+        for (int i = 0; i < count; i++) {
+            Chromosome immigrant = new Chromosome(this.acidString, this.random,
+                    this.metrics);
+            nextGeneration.set(individualsBred + i, immigrant);
+            controller.reward(BreedingOperator.IMMIGRANT,
+                    median - immigrant.getFitness(), 1);
+        }
+        this.metrics.recordEvaluations(count);
+        failures.randomWalkRejections =
+                this.metrics.getRandomWalkRejections() - rejectionsBefore;
+        individualsBred += count;
+        if (timed) {
+            long now = System.nanoTime();
+            timings.randomFill = now - mark;
+            mark = now;
+        }
+
+        count = places[BreedingOperator.LOCAL_SEARCH.ordinal()];
+        if (count > 0) {
+            nextGeneration.breedLocalSearches(this, individualsBred, count,
+                    localSearch, controller);
+            if (timed) {
+                long now = System.nanoTime();
+                timings.localSearch = now - mark;
+                mark = now;
+            }
+        }
+
+        controller.endGeneration();
+        return nextGeneration.finishBreeding(timings, failures, mark);
+    }
+
+
+    /**
+     * Sorts a newly bred <code>Generation</code>, computes its statistics
+     * and commits the events describing how it was bred.
+     *
+     * @param timings the event timing the phases of breeding
+     * @param failures the event tallying failed operators
+     * @param mark when the last timed phase ended
+     * @return this <code>Generation</code>
+     */
+    private Generation finishBreeding(GenerationEvent timings,
+                                      OperatorFailuresEvent failures,
+                                      long mark) {
+        boolean timed = timings.isEnabled();
         // Update the population and sort the new generation for processing.
-        nextGeneration.sort();
-        nextGeneration.setFitnessMapAndSumOfFitnesses();
-        return nextGeneration;
+        this.sort();
+        if (timed) {
+            long now = System.nanoTime();
+            timings.sort = now - mark;
+            mark = now;
+        }
+        this.setFitnessMapAndSumOfFitnesses();
+        this.recordStatistics();
+
+        if (timed) {
+            timings.statistics = System.nanoTime() - mark;
+            timings.proteinLength = this.acidString.length();
+            timings.bestFitness = this.getBest().getFitness();
+            timings.commit();
+        }
+        if (failures.hasFailures() && failures.shouldCommit()) {
+            failures.commit();
+        }
+        return this;
+    }
+
+
+    /**
+     * Reports the statistics of this <code>Generation</code> to the live
+     * statistics of the search. The <code>Generation</code> <b>must be
+     * sorted</b> and its fitness map built.
+     */
+    private void recordStatistics() {
+        this.metrics.recordGeneration(this.getBest().getFitness(),
+                this.getVolumeAtBest(), this.fitnessMap.size());
     }
 
 
@@ -319,6 +701,171 @@ public class Generation {
     }
 
 
+    /**
+     * Returns a <code>Chromosome</code> of this <code>Generation</code>
+     * chosen by a single spin of the roulette wheel, as in
+     * <code>spinRouletteWheel</code>.
+     *
+     * @return the selected individual
+     */
+    private Chromosome selectByRoulette() {
+        if (this.sumOfFitnesses == 0) {
+            // No contacts anywhere, so every individual is equally fit.
+            return this.chromosomes[this.random.nextInt(this.chromosomes.length)];
+        }
+        int spin = this.random.nextInt(Math.abs(this.sumOfFitnesses)) + 1;
+        for (Integer fitness : this.fitnessMap.keySet()) {
+            spin += fitness; 	// Fitnesses are stored as negative integers.
+            if (spin <= 0) {
+                return this.getChromosomeWithFitness(fitness);
+            }
+        }
+        return this.getBest();
+    }
+
+
+    /**
+     * Fills places of this <code>Generation</code> with pairs of children
+     * bred from the previous one, rewarding the controller with what each
+     * child gains over its fitter parent.
+     *
+     * @param previousGeneration the <code>Generation</code> breeding pairs are selected from
+     * @param start the first place to fill
+     * @param count the number of places to fill
+     * @param controller the controller to reward
+     * @param timings the event to accumulate time spent in selection into
+     * @param failures the event to tally failed crossovers in
+     */
+    private void breedCrossovers(Generation previousGeneration,
+                                 int start,
+                                 int count,
+                                 OperatorController controller,
+                                 GenerationEvent timings,
+                                 OperatorFailuresEvent failures) {
+        boolean timed = timings.isEnabled();
+        int crossed = 0;
+        while (crossed < count) {
+            long selectionStart = timed ? System.nanoTime() : 0;
+            MatingPair toMate = previousGeneration.spinRouletteWheel();
+            if (timed) {
+                timings.selection += System.nanoTime() - selectionStart;
+            }
+            int pivot = this.random.nextInt(this.acidString.length() - 2) + 1;
+            Chromosome left = toMate.getLeft();
+            Chromosome right = toMate.getRight();
+            Chromosome newLeft = Chromosome.crossover(left, right, pivot, this.random);
+            Chromosome newRight = Chromosome.crossover(right, left, pivot, this.random);
+            this.metrics.recordCrossover(newLeft != null);
+            this.metrics.recordCrossover(newRight != null);
+            if (newLeft == null) { failures.crossoverFailures++; }
+            if (newRight == null) { failures.crossoverFailures++; }
+
+            int reference = Math.min(left.getFitness(), right.getFitness());
+            if (newLeft != null && newRight != null) {
+                this.set(start + crossed, newLeft);
+                controller.reward(BreedingOperator.CROSSOVER,
+                        reference - newLeft.getFitness(), 2);
+                crossed++;
+                // An odd number of places leaves no room for the last child.
+                if (crossed < count) {
+                    this.set(start + crossed, newRight);
+                    controller.reward(BreedingOperator.CROSSOVER,
+                            reference - newRight.getFitness(), 0);
+                    crossed++;
+                }
+            } else {
+                controller.reward(BreedingOperator.CROSSOVER, 0, 2);
+            }
+        }
+    }
+
+
+    /**
+     * Fills places of this <code>Generation</code> with mutants of
+     * individuals of the previous one, rewarding the controller with what
+     * each mutant gains over its parent.
+     *
+     * @param previousGeneration the <code>Generation</code> parents are selected from
+     * @param start the first place to fill
+     * @param count the number of places to fill
+     * @param operator single or double-point mutation
+     * @param controller the controller to reward
+     * @param failures the event to tally failed mutations in
+     */
+    private void breedMutations(Generation previousGeneration,
+                                int start,
+                                int count,
+                                BreedingOperator operator,
+                                OperatorController controller,
+                                OperatorFailuresEvent failures) {
+        boolean doublePoint = (operator == BreedingOperator.DOUBLE_MUTATION);
+        int mutated = 0;
+        while (mutated < count) {
+            Chromosome parent = previousGeneration.selectByRoulette();
+            int pivot = this.random.nextInt(this.acidString.length() - 2) + 1;
+            Chromosome afterMutation = Chromosome.mutate(parent, pivot, this.random);
+            this.metrics.recordMutation(afterMutation != null);
+            int attempts = 1;
+
+            // Apply mutation at a second point in the Chromosome if specified.
+            if (afterMutation != null && doublePoint) {
+                int secondPivot = this.random.nextInt(this.acidString.length() - 2) + 1;
+                afterMutation = Chromosome.mutate(afterMutation, secondPivot,
+                        this.random);
+                this.metrics.recordMutation(afterMutation != null);
+                attempts++;
+            }
+
+            if (afterMutation != null) {
+                this.set(start + mutated, afterMutation);
+                controller.reward(operator,
+                        parent.getFitness() - afterMutation.getFitness(), attempts);
+                mutated++;
+            } else {
+                controller.reward(operator, 0, attempts);
+                failures.mutationFailures++;
+            }
+        }
+    }
+
+
+    /**
+     * Fills places of this <code>Generation</code> with individuals of the
+     * previous one refined by local search, in parallel, rewarding the
+     * controller with what each gains. A local search move is charged as
+     * a fraction of an evaluation, since it rescores only the acids it
+     * moves rather than the whole chain.
+     *
+     * @param previousGeneration the <code>Generation</code> individuals are selected from
+     * @param start the first place to fill
+     * @param count the number of places to fill
+     * @param localSearch the local search to apply
+     * @param controller the controller to reward
+     */
+    private void breedLocalSearches(Generation previousGeneration,
+                                    int start,
+                                    int count,
+                                    LocalSearch localSearch,
+                                    OperatorController controller) {
+        // Select and seed on this thread so results do not depend on scheduling.
+        Chromosome[] parents = new Chromosome[count];
+        long[] seeds = new long[count];
+        for (int i = 0; i < count; i++) {
+            parents[i] = previousGeneration.selectByRoulette();
+            seeds[i] = this.random.nextLong();
+        }
+        IntStream.range(0, count).parallel().forEach(i ->
+                this.set(start + i, localSearch.refine(parents[i], new Random(seeds[i]))));
+
+        double cost = (double) localSearch.getMoves() / this.acidString.length();
+        for (int i = 0; i < count; i++) {
+            int gain = parents[i].getFitness() - this.get(start + i).getFitness();
+            this.metrics.recordLocalSearch(localSearch.getMoves(), gain > 0);
+            controller.reward(BreedingOperator.LOCAL_SEARCH, gain, cost);
+        }
+    }
+
+
     /**
      * Produces two new individuals in a <code>Generation</code>
      * that are the results of "breeding" two individuals from the
@@ -327,21 +874,36 @@ public class Generation {
      * the next <code>Generation</code>.
      *
      * @param previousGeneration the <code>Generation</code> breeding pairs are selected from
+     * @param timings the event to accumulate time spent in selection into
+     * @param failures the event to tally failed crossovers in
      */
-    private void performAllCrossovers(Generation previousGeneration) {
+    private void performAllCrossovers(Generation previousGeneration,
+                                      GenerationEvent timings,
+                                      OperatorFailuresEvent failures) {
+        boolean timed = timings.isEnabled();
+        int elites = Population.eliteSize(this.chromosomes.length);
+        int crossovers = Population.crossoverSize(this.chromosomes.length);
         int crossed = 0;
-        while (crossed < Population.CROSSOVER_SIZE) {
+        while (crossed < crossovers) {
+            long selectionStart = timed ? System.nanoTime() : 0;
             MatingPair toMate = previousGeneration.spinRouletteWheel();
-            int pivot = random.nextInt(this.acidString.length() - 2) + 1;
+            if (timed) {
+                timings.selection += System.nanoTime() - selectionStart;
+            }
+            int pivot = this.random.nextInt(this.acidString.length() - 2) + 1;
             Chromosome left = toMate.getLeft();
             Chromosome right = toMate.getRight();
-            Chromosome newLeft = Chromosome.crossover(left, right, pivot);
-            Chromosome newRight = Chromosome.crossover(right, left, pivot);
+            Chromosome newLeft = Chromosome.crossover(left, right, pivot, this.random);
+            Chromosome newRight = Chromosome.crossover(right, left, pivot, this.random);
+            this.metrics.recordCrossover(newLeft != null);
+            this.metrics.recordCrossover(newRight != null);
+            if (newLeft == null) { failures.crossoverFailures++; }
+            if (newRight == null) { failures.crossoverFailures++; }
 
             // If crossover created valid proteins, update the new generation.
             if (newLeft != null && newRight != null) {
-                this.set(Population.ELITE_SIZE + crossed, newLeft);
-                this.set(Population.ELITE_SIZE + crossed + 1, newRight);
+                this.set(elites + crossed, newLeft);
+                this.set(elites + crossed + 1, newRight);
                 crossed +=2;
             }
         }
@@ -356,25 +918,36 @@ public class Generation {
      * points.
      *
      * @param applyDoublePointMutation whether or not to apply double-point mutation
+     * @param failures the event to tally failed mutations in
      */
-    private void performAllMutations(boolean applyDoublePointMutation) {
+    private void performAllMutations(boolean applyDoublePointMutation,
+                                     OperatorFailuresEvent failures) {
+        int elites = Population.eliteSize(this.chromosomes.length);
+        int crossovers = Population.crossoverSize(this.chromosomes.length);
+        int mutations = Population.mutationNumber(this.chromosomes.length);
         int mutated = 0;
-        while (mutated < Population.MUTATION_NUMBER) {
+        while (mutated < mutations) {
             // Do not mutate elite or new randomly generated Chromosomes.
-            int toMutate = random.nextInt(Population.CROSSOVER_SIZE) + Population.ELITE_SIZE;
-            int pivot = random.nextInt(this.acidString.length() - 2) + 1;
-            Chromosome afterMutation = Chromosome.mutate(this.get(toMutate), pivot);
+            int toMutate = this.random.nextInt(crossovers) + elites;
+            int pivot = this.random.nextInt(this.acidString.length() - 2) + 1;
+            Chromosome afterMutation = Chromosome.mutate(this.get(toMutate), pivot,
+                    this.random);
+            this.metrics.recordMutation(afterMutation != null);
 
             // Apply mutation at a second point in the Chromosome if specified.
             if (afterMutation != null && applyDoublePointMutation) {
-                int secondPivot = random.nextInt(this.acidString.length() - 2) + 1;
-                afterMutation = Chromosome.mutate(afterMutation, secondPivot);
+                int secondPivot = this.random.nextInt(this.acidString.length() - 2) + 1;
+                afterMutation = Chromosome.mutate(afterMutation, secondPivot,
+                        this.random);
+                this.metrics.recordMutation(afterMutation != null);
             }
 
             // Make sure the mutation(s) produced a valid result and add.
             if (afterMutation != null) {
                 this.set(toMutate, afterMutation);
                 mutated++;
+            } else {
+                failures.mutationFailures++;
             }
         }
     }
@@ -0,0 +1,64 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A JDK Flight Recorder event spanning the breeding of one
+ * <code>Generation</code>, broken down by phase. A single event is committed
+ * per <code>Generation</code>, with the time spent in each phase accumulated
+ * into its fields, so the recording overhead stays constant however many
+ * individuals are bred. Timings are only taken while the event is enabled.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+@Name("GeneticAlgorithm.Generation")
+@Label("Generation")
+@Category("Genetic Algorithm")
+@Description("Breeding of one generation, broken down by phase")
+@StackTrace(false)
+public class GenerationEvent extends jdk.jfr.Event {
+
+    @Label("Protein Length")
+    public int proteinLength;
+
+    @Label("Best Fitness")
+    public int bestFitness;
+
+    @Label("Selection")
+    @Description("Roulette-wheel selection of mating pairs")
+    @Timespan(Timespan.NANOSECONDS)
+    public long selection;
+
+    @Label("Crossover")
+    @Description("Crossover of selected pairs, excluding selection")
+    @Timespan(Timespan.NANOSECONDS)
+    public long crossover;
+
+    @Label("Random Fill")
+    @Description("Building randomly generated individuals")
+    @Timespan(Timespan.NANOSECONDS)
+    public long randomFill;
+
+    @Label("Mutation")
+    @Timespan(Timespan.NANOSECONDS)
+    public long mutation;
+
+    @Label("Local Search")
+    @Description("Refining elites with local moves")
+    @Timespan(Timespan.NANOSECONDS)
+    public long localSearch;
+
+    @Label("Sort")
+    @Timespan(Timespan.NANOSECONDS)
+    public long sort;
+
+    @Label("Statistics")
+    @Description("Building the fitness map and recording statistics")
+    @Timespan(Timespan.NANOSECONDS)
+    public long statistics;
+
+}
@@ -0,0 +1,265 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * One worker of a <code>ChainGrowth</code> search. Runs tours of the
+ * pruned-enriched Rosenbluth method one after another: each tour grows
+ * chains acid by acid from the fixed first bond, choosing each next
+ * direction with probability weighted by the contacts it makes, and
+ * recursing depth first. Chains whose Rosenbluth weight runs well above the
+ * running estimate for their length are cloned; chains whose weight runs
+ * well below it are pruned half of the time.
+ *
+ * <p>Weights are kept as logarithms, since they grow exponentially with
+ * the length of the chain. Estimates are per worker, so workers share
+ * nothing but the best structure found.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class GrowthTour {
+
+    /**
+     * The steps of directions 1 to 4 as in <code>Location.createNextLocation</code>.
+     */
+    private static final int[] DX = {0, 1, -1, 0, 0};
+    private static final int[] DY = {0, 0, 0, 1, -1};
+
+    /**
+     * How far above and below the estimated weight of its length a chain
+     * must be to be cloned or pruned, as natural logarithms.
+     */
+    private static final double LOG_ENRICH = Math.log(3);
+    private static final double LOG_PRUNE = -Math.log(3);
+
+    private final ChainGrowth search;
+    private final boolean[] acids;
+    private final double beta;
+    private final Random random;
+
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] grid;
+    private final int mask;
+    private final int shift;
+
+    /**
+     * The logarithm of the sum of the weights of every chain grown to
+     * each length, over all tours so far.
+     */
+    private final double[] logWeightSums;
+    private long tours;
+
+    /**
+     * The fitness of the chain currently being grown.
+     */
+    private int fitness;
+
+    /**
+     * Statistics of the chains completed in the current tour.
+     */
+    private int tourBest;
+    private int tourVolume;
+    private long placed;
+
+    /**
+     * Scratch space for the weight of each direction at each length.
+     */
+    private final double[] choices = new double[5];
+
+    /**
+     * Builds a worker for the given search.
+     *
+     * @param search the search the worker reports to
+     * @param acids the sequence of acids, hydrophobic coded <code>true</code>
+     * @param temperature the temperature weighting the choice of directions
+     * @param random the random generator of the worker
+     */
+    public GrowthTour(ChainGrowth search, boolean[] acids, double temperature, Random random) {
+        this.search = search;
+        this.acids = acids;
+        this.beta = 1 / temperature;
+        this.random = random;
+        this.xs = new int[acids.length];
+        this.ys = new int[acids.length];
+        int width = Integer.highestOneBit(acids.length + 4) << 1;
+        this.mask = width - 1;
+        this.shift = Integer.numberOfTrailingZeros(width);
+        this.grid = new int[width * width];
+        this.logWeightSums = new double[acids.length + 1];
+        Arrays.fill(this.logWeightSums, Double.NEGATIVE_INFINITY);
+        this.tours = 0;
+    }
+
+    /**
+     * Runs tours until the search is finished.
+     */
+    public void run() {
+        while (!this.search.isFinished()) {
+            this.tour();
+        }
+    }
+
+    /**
+     * Runs a single tour: grows every chain descended from the fixed first
+     * bond, then reports the tour to the search.
+     */
+    private void tour() {
+        this.tours++;
+        this.tourBest = 0;
+        this.tourVolume = 0;
+        this.placed = 0;
+        this.fitness = 0;
+        this.place(0, 0, 0);
+        this.place(1, 1, 0);
+        this.grow(2, 0);
+        this.remove(1);
+        this.remove(0);
+        this.search.endTour(this.tourBest, this.tourVolume, this.placed);
+    }
+
+    /**
+     * Grows the chain from the given length, cloning or pruning it against
+     * the running estimate of the weight of chains of that length.
+     *
+     * @param length the number of acids placed
+     * @param logWeight the logarithm of the Rosenbluth weight of the chain
+     */
+    private void grow(int length, double logWeight) {
+        if (this.search.isFinished()) {
+            return;
+        }
+        this.logWeightSums[length] = GrowthTour.logAdd(this.logWeightSums[length],
+                logWeight);
+        if (length == this.acids.length) {
+            this.complete();
+            return;
+        }
+
+        // Compare the weight with the mean weight of this length so far.
+        double logMean = this.logWeightSums[length] - Math.log(this.tours);
+        int copies = 1;
+        if (logWeight - logMean > LOG_ENRICH) {
+            copies = 2;
+            logWeight -= Math.log(2);
+        } else if (logWeight - logMean < LOG_PRUNE) {
+            if (this.random.nextBoolean()) {
+                return;
+            }
+            logWeight += Math.log(2);
+        }
+
+        int endX = this.xs[length - 1];
+        int endY = this.ys[length - 1];
+        for (int copy = 0; copy < copies; copy++) {
+            // Weight each free direction by the contacts it would make.
+            double sum = 0;
+            for (int d = 1; d <= 4; d++) {
+                int x = endX + DX[d];
+                int y = endY + DY[d];
+                this.choices[d] = this.isFree(x, y)
+                        ? Math.exp(this.beta * this.contactsAt(length, x, y)) : 0;
+                sum += this.choices[d];
+            }
+            if (sum == 0) {
+                return;		// Trapped: this chain cannot be grown further.
+            }
+
+            double pick = this.random.nextDouble() * sum;
+            int direction = 4;
+            for (int d = 1; d < 4; d++) {
+                pick -= this.choices[d];
+                if (pick < 0 && this.choices[d] > 0) {
+                    direction = d;
+                    break;
+                }
+            }
+            if (this.choices[direction] == 0) {
+                // Rounding left the pick past the last free direction.
+                direction = 1;
+                while (this.choices[direction] == 0) {
+                    direction++;
+                }
+            }
+
+            int contacts = this.contactsAt(length, endX + DX[direction], endY + DY[direction]);
+            this.place(length, endX + DX[direction], endY + DY[direction]);
+            this.fitness -= contacts;
+            this.grow(length + 1, logWeight + Math.log(sum));
+            this.fitness += contacts;
+            this.remove(length);
+        }
+    }
+
+    /**
+     * Reports a fully grown chain.
+     */
+    private void complete() {
+        if (this.fitness < this.tourBest) {
+            this.tourBest = this.fitness;
+            this.tourVolume = 0;
+        }
+        if (this.fitness == this.tourBest) {
+            this.tourVolume++;
+        }
+        this.search.offer(this.xs, this.ys, this.fitness);
+    }
+
+    /**
+     * Counts the non-covalent hydrophobic contacts the acid at the given
+     * index would make in the given cell, given the acids before it.
+     *
+     * @param acid the index of the acid about to be placed
+     * @param x the x-coordinate of the cell
+     * @param y the y-coordinate of the cell
+     * @return the number of contacts
+     */
+    private int contactsAt(int acid, int x, int y) {
+        if (!this.acids[acid]) {
+            return 0;
+        }
+        int contacts = 0;
+        for (int d = 1; d <= 4; d++) {
+            int other = this.grid[this.cell(x + DX[d], y + DY[d])] - 1;
+            if (other >= 0 && other < acid - 1 && this.acids[other]) {
+                contacts++;
+            }
+        }
+        return contacts;
+    }
+
+    private void place(int acid, int x, int y) {
+        this.xs[acid] = x;
+        this.ys[acid] = y;
+        this.grid[this.cell(x, y)] = acid + 1;
+        this.placed++;
+    }
+
+    private void remove(int acid) {
+        this.grid[this.cell(this.xs[acid], this.ys[acid])] = 0;
+    }
+
+    private boolean isFree(int x, int y) {
+        return this.grid[this.cell(x, y)] == 0;
+    }
+
+    private int cell(int x, int y) {
+        return ((x & this.mask) << this.shift) | (y & this.mask);
+    }
+
+    /**
+     * Returns the logarithm of the sum of two numbers given as logarithms.
+     *
+     * @param a the logarithm of one number
+     * @param b the logarithm of the other
+     * @return the logarithm of their sum
+     */
+    private static double logAdd(double a, double b) {
+        double max = Math.max(a, b);
+        if (max == Double.NEGATIVE_INFINITY) {
+            return max;
+        }
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+}
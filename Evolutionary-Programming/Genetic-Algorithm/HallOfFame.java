@@ -0,0 +1,199 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Keeps the fittest distinct folds seen over a whole search, rather than
+ * just the single best, for analysis that wants several near-optimal
+ * structures. Folds are told apart by their canonical hash, so rotations,
+ * reflections and copies of a fold already kept are turned away. At most
+ * a fixed number of folds are kept; among equally fit folds, those found
+ * first are kept.
+ *
+ * <p>Folds may be offered from any number of threads. Offers are kept in
+ * a sorted set and indexed by hash under a lock, so each takes time
+ * logarithmic in the capacity, but once the hall is full, a fold that is
+ * no fitter than the least fit kept is turned away by a single volatile
+ * read, without locking and without hashing the fold. Breeders can
+ * therefore offer every individual they produce.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class HallOfFame {
+
+    /**
+     * How many folds a search keeps unless given another capacity.
+     */
+    public static final int DEFAULT_CAPACITY = 10;
+
+    private final int capacity;
+
+    /**
+     * The folds kept, fittest first and, among equals, earliest first.
+     * Guarded by <code>this</code>.
+     */
+    private final TreeSet<Entry> entries;
+
+    /**
+     * The folds kept, by canonical hash. Guarded by <code>this</code>.
+     */
+    private final Map<Long, Entry> byHash;
+
+    /**
+     * The number of folds admitted so far, which orders equally fit
+     * folds. Guarded by <code>this</code>.
+     */
+    private long admitted;
+
+    /**
+     * The least fit a fold can be and still be admitted.
+     */
+    private volatile int admissionFitness;
+
+    /**
+     * Builds an empty hall of fame.
+     *
+     * @param capacity the most folds to keep
+     */
+    public HallOfFame(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("A hall of fame keeps at least one fold");
+        }
+        this.capacity = capacity;
+        this.entries = new TreeSet<>();
+        this.byHash = new HashMap<>();
+        this.admissionFitness = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Builds an empty hall of fame of the default capacity.
+     */
+    public HallOfFame() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the most folds kept.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Returns whether a fold of the given fitness could be admitted. Never
+     * locks, so callers can skip building folds that would be turned away.
+     *
+     * @param fitness the fitness of the fold
+     * @return whether the fold is fit enough to be admitted
+     */
+    public boolean admits(int fitness) {
+        return fitness <= this.admissionFitness;
+    }
+
+    /**
+     * Offers a fold for the hall of fame. It is kept if it is fit enough
+     * and not the same as a fold already kept, displacing the least fit
+     * fold if the hall is full.
+     *
+     * @param fold the fold to offer
+     * @return whether the fold was admitted
+     */
+    public boolean offer(Chromosome fold) {
+        if (!this.admits(fold.getFitness())) {
+            return false;
+        }
+        long hash = fold.getCanonicalHash();
+        synchronized (this) {
+            if (!this.admits(fold.getFitness()) || this.byHash.containsKey(hash)) {
+                return false;
+            }
+            Entry entry = new Entry(fold, hash, this.admitted++);
+            this.entries.add(entry);
+            this.byHash.put(hash, entry);
+            if (this.entries.size() > this.capacity) {
+                Entry displaced = this.entries.pollLast();
+                this.byHash.remove(displaced.hash);
+            }
+            if (this.entries.size() == this.capacity) {
+                // Ties with the least fit are found later, so they would lose.
+                this.admissionFitness = this.entries.last().fold.getFitness() - 1;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns the folds kept, fittest first.
+     *
+     * @return a snapshot of the hall of fame
+     */
+    public synchronized List<Chromosome> getFolds() {
+        List<Chromosome> folds = new ArrayList<>(this.entries.size());
+        for (Entry entry : this.entries) {
+            folds.add(entry.fold);
+        }
+        return folds;
+    }
+
+    /**
+     * Returns the number of folds kept.
+     *
+     * @return the number of folds
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Returns the folds kept, one to a line, fittest first, each as its
+     * rank, fitness and bond directions, written <code>R</code>,
+     * <code>L</code>, <code>U</code> and <code>D</code> from the first
+     * acid at the origin.
+     *
+     * @return the hall of fame as text
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        int rank = 1;
+        for (Chromosome fold : this.getFolds()) {
+            builder.append(rank++).append('\t').append(fold.getFitness()).append('\t');
+            for (byte move : fold.getMoves()) {
+                builder.append("?RLUD".charAt(move));
+            }
+            builder.append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+
+    /**
+     * A fold kept, ordered fittest first and, among equals, earliest
+     * admitted first.
+     */
+    private static class Entry implements Comparable<Entry> {
+
+        private final Chromosome fold;
+        private final long hash;
+        private final long order;
+
+        Entry(Chromosome fold, long hash, long order) {
+            this.fold = fold;
+            this.hash = hash;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byFitness = Integer.compare(this.fold.getFitness(), other.fold.getFitness());
+            return (byFitness != 0) ? byFitness : Long.compare(this.order, other.order);
+        }
+
+    }
+
+}
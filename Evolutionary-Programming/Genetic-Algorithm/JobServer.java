@@ -0,0 +1,644 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves folding jobs over HTTP on the loopback interface, so that other
+ * programs on the same machine can fold sequences without embedding the
+ * search. Jobs wait in a priority queue of bounded length for one of a
+ * fixed number of workers, each of which runs one <code>Search</code> at
+ * a time, and may be given a time budget. Progress is streamed as
+ * server-sent events, and any job can be cancelled. Run it with
+ * <code>java JobServer [port] [workers] [queue length]</code>.
+ *
+ * <p>The server answers:
+ * <ul>
+ * <li><code>POST /jobs</code> with the form fields <code>sequence</code>,
+ * <code>target</code> and, optionally, <code>budget</code> in seconds,
+ * <code>priority</code> (higher runs first) and <code>engine</code>, a name
+ * of <code>EngineType</code>: queues a job and returns it, or answers
+ * <code>503</code> if the queue is full;</li>
+ * <li><code>GET /jobs</code>: every job kept;</li>
+ * <li><code>GET /jobs/</code><i>id</i>: one job;</li>
+ * <li><code>GET /jobs/</code><i>id</i><code>/events</code>: a stream of
+ * <code>status</code> events when the job changes state,
+ * <code>progress</code> events for each fitter fold, and a last
+ * <code>done</code> event;</li>
+ * <li><code>DELETE /jobs/</code><i>id</i>: cancels a job;</li>
+ * <li><code>GET /stats</code>: the length of the queue, the number of jobs
+ * running and finished, throughput, and the time recent jobs waited for a
+ * worker.</li>
+ * </ul>
+ * Every response but the event stream is a JSON object or array.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class JobServer {
+
+    /**
+     * The port the server listens on unless given another.
+     */
+    public static final int DEFAULT_PORT = 8080;
+
+    /**
+     * How many jobs may wait for a worker unless told otherwise.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 100;
+
+    /**
+     * How many jobs are kept for their results; the oldest finished jobs
+     * are forgotten beyond this.
+     */
+    private static final int MAX_RETAINED_JOBS = 1000;
+
+    /**
+     * How many of the most recent queue waits the statistics are taken over.
+     */
+    private static final int LATENCY_SAMPLES = 1000;
+
+    /**
+     * How long an event stream may be silent before a comment is sent to
+     * keep the connection open.
+     */
+    private static final long KEEP_ALIVE_MILLIS = 15_000;
+
+    private final HttpServer server;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService handlers;
+    private final int queueCapacity;
+
+    /**
+     * The jobs kept, by number, and their numbers in order of submission.
+     */
+    private final Map<Long, FoldingJob> jobs;
+    private final ConcurrentLinkedQueue<Long> submissionOrder;
+    private final AtomicLong nextId;
+
+    /**
+     * The budgets of running jobs, which are cancelled when a job ends
+     * before its budget runs out.
+     */
+    private final Map<Long, ScheduledFuture<?>> budgets;
+
+    /**
+     * How many jobs have finished in each state.
+     */
+    private final Map<FoldingJob.State, LongAdder> finished;
+
+    /**
+     * The most recent queue waits in nanoseconds, as a ring, and how many
+     * have been recorded. Guarded by <code>this</code>.
+     */
+    private final long[] queueWaits;
+    private long queueWaitCount;
+
+    /**
+     * When the server started, by <code>System.nanoTime</code>.
+     */
+    private final long startTime;
+
+    /**
+     * Builds a server listening on the loopback interface. It does not
+     * accept requests until started.
+     *
+     * @param port the port to listen on, or zero for any free port
+     * @param workerCount the number of jobs run at once
+     * @param queueCapacity the most jobs that may wait for a worker
+     * @throws IOException if the port cannot be bound
+     */
+    public JobServer(int port, int workerCount, int queueCapacity) throws IOException {
+        if (workerCount < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("A job server needs at least one worker "
+                    + "and room to queue one job");
+        }
+        this.queueCapacity = queueCapacity;
+        this.jobs = new ConcurrentHashMap<>();
+        this.submissionOrder = new ConcurrentLinkedQueue<>();
+        this.nextId = new AtomicLong(1);
+        this.budgets = new ConcurrentHashMap<>();
+        this.finished = new EnumMap<>(FoldingJob.State.class);
+        for (FoldingJob.State state : FoldingJob.State.values()) {
+            this.finished.put(state, new LongAdder());
+        }
+        this.queueWaits = new long[LATENCY_SAMPLES];
+        this.startTime = System.nanoTime();
+
+        this.timer = Executors.newSingleThreadScheduledExecutor();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>()) {
+            @Override
+            protected void beforeExecute(Thread thread, Runnable task) {
+                JobServer.this.startBudget((FoldingJob) task);
+            }
+
+            @Override
+            protected void afterExecute(Runnable task, Throwable thrown) {
+                JobServer.this.jobEnded((FoldingJob) task);
+            }
+        };
+        this.workers.prestartAllCoreThreads();
+
+        this.handlers = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.setExecutor(this.handlers);
+        this.server.createContext("/jobs", this::handleJobs);
+        this.server.createContext("/stats", this::handleStats);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        this.server.start();
+    }
+
+    /**
+     * Stops accepting requests, cancels every job and stops the workers.
+     */
+    public void stop() {
+        this.server.stop(0);
+        for (FoldingJob job : this.jobs.values()) {
+            job.cancel();
+        }
+        this.workers.shutdown();
+        this.timer.shutdownNow();
+        this.handlers.shutdownNow();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Queues a job, unless the queue is full.
+     *
+     * @param acidString the amino acid sequence whose fold is sought
+     * @param targetFitness the target fitness of the fold to find
+     * @param engineType the method to search with
+     * @param priority how urgent the job is; higher runs first
+     * @param budgetMillis the longest the search may run, or zero for no limit
+     * @return the job, or <code>null</code> if the queue is full
+     * @throws IllegalArgumentException if no fold of the sequence can reach the target
+     */
+    public FoldingJob submit(String acidString, int targetFitness, EngineType engineType,
+                             int priority, long budgetMillis) {
+        int bound = FitnessBound.bestPossibleFitness(acidString);
+        if (targetFitness < bound) {
+            throw new IllegalArgumentException("Target fitness " + targetFitness
+                    + " is unreachable: no fold of this sequence is fitter than "
+                    + bound + ".");
+        }
+        synchronized (this.workers) {
+            if (this.workers.getQueue().size() >= this.queueCapacity) {
+                return null;
+            }
+            FoldingJob job = new FoldingJob(this.nextId.getAndIncrement(), acidString,
+                    targetFitness, engineType, priority, budgetMillis);
+            this.jobs.put(job.getId(), job);
+            this.submissionOrder.add(job.getId());
+            this.workers.execute(job);
+            this.forgetOldJobs();
+            return job;
+        }
+    }
+
+    /**
+     * Cancels a job, taking it off the queue if it has not yet started.
+     *
+     * @param job the job to cancel
+     * @return whether the job was still unfinished
+     */
+    public boolean cancel(FoldingJob job) {
+        if (!job.cancel()) {
+            return false;
+        }
+        // A job taken off the queue never reaches a worker to be counted.
+        if (this.workers.remove(job)) {
+            this.finished.get(job.getState()).increment();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the statistics of the server as a JSON object.
+     *
+     * @return the statistics
+     */
+    public String getStats() {
+        long[] waits;
+        synchronized (this) {
+            int samples = (int) Math.min(this.queueWaitCount, LATENCY_SAMPLES);
+            waits = Arrays.copyOf(this.queueWaits, samples);
+        }
+        double[] waitMillis = Arrays.stream(waits).mapToDouble(wait -> wait / 1e6)
+                .sorted().toArray();
+        double meanWait = Arrays.stream(waitMillis).average().orElse(0);
+        long ran = 0;
+        StringBuilder states = new StringBuilder();
+        for (Map.Entry<FoldingJob.State, LongAdder> entry : this.finished.entrySet()) {
+            if (!entry.getKey().isFinished()) {
+                continue;
+            }
+            long count = entry.getValue().sum();
+            ran += count;
+            states.append((states.length() == 0) ? "" : ",").append('"')
+                    .append(entry.getKey().name().toLowerCase()).append("\":").append(count);
+        }
+        double minutes = (System.nanoTime() - this.startTime) / 60e9;
+        return String.format(Locale.ROOT, "{\"queued\":%d,\"running\":%d,\"finished\":%d,%s,"
+                        + "\"jobsPerMinute\":%.3f,\"queueWaitMillis\":{\"samples\":%d,"
+                        + "\"mean\":%.3f,\"median\":%.3f,\"p95\":%.3f,\"max\":%.3f}}",
+                this.workers.getQueue().size(), this.workers.getActiveCount(), ran, states,
+                ran / minutes, waitMillis.length, meanWait, Percentiles.of(waitMillis, 0.5),
+                Percentiles.of(waitMillis, 0.95), Percentiles.of(waitMillis, 1));
+    }
+
+    /**
+     * Starts the clock on a job's budget as a worker takes it up.
+     *
+     * @param job the job about to run
+     */
+    private void startBudget(FoldingJob job) {
+        if (job.getBudgetMillis() > 0) {
+            this.budgets.put(job.getId(), this.timer.schedule(job::expire,
+                    job.getBudgetMillis(), TimeUnit.MILLISECONDS));
+        }
+    }
+
+    /**
+     * Counts a job a worker has finished with, and records how long it
+     * waited.
+     *
+     * @param job the job that ended
+     */
+    private void jobEnded(FoldingJob job) {
+        ScheduledFuture<?> budget = this.budgets.remove(job.getId());
+        if (budget != null) {
+            budget.cancel(false);
+        }
+        this.finished.get(job.getState()).increment();
+        if (job.hasStarted()) {
+            synchronized (this) {
+                this.queueWaits[(int) (this.queueWaitCount++ % LATENCY_SAMPLES)] =
+                        job.getQueueNanos();
+            }
+        }
+        this.forgetOldJobs();
+    }
+
+    /**
+     * Forgets the oldest finished jobs while more are kept than allowed.
+     */
+    private void forgetOldJobs() {
+        while (this.jobs.size() > MAX_RETAINED_JOBS) {
+            Long oldest = this.submissionOrder.peek();
+            FoldingJob job = (oldest == null) ? null : this.jobs.get(oldest);
+            if (job != null && !job.getState().isFinished()) {
+                return;
+            }
+            if (this.submissionOrder.remove(oldest)) {
+                this.jobs.remove(oldest);
+            }
+        }
+    }
+
+    /**
+     * Answers requests under <code>/jobs</code>.
+     *
+     * @param exchange the request and its response
+     * @throws IOException if the response cannot be sent
+     */
+    private void handleJobs(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            // The path splits into "", "jobs" and then the job and what of it.
+            if (path.length == 2) {
+                if ("POST".equals(method)) {
+                    this.handleSubmit(exchange);
+                } else if ("GET".equals(method)) {
+                    List<FoldingJob> kept = new ArrayList<>(this.jobs.values());
+                    kept.sort((left, right) -> Long.compare(left.getId(), right.getId()));
+                    StringBuilder body = new StringBuilder("[");
+                    for (FoldingJob job : kept) {
+                        body.append((body.length() == 1) ? "" : ",").append(JobServer.toJson(job));
+                    }
+                    JobServer.respond(exchange, 200, body.append(']').toString());
+                } else {
+                    JobServer.respondError(exchange, 405, "Use GET or POST");
+                }
+                return;
+            }
+
+            FoldingJob job = null;
+            try {
+                job = this.jobs.get(Long.parseLong(path[2]));
+            } catch (NumberFormatException e) {
+                // Not a job number, so no such job.
+            }
+            if (job == null || path.length > 4
+                    || (path.length == 4 && !"events".equals(path[3]))) {
+                JobServer.respondError(exchange, 404, "No such job");
+            } else if (path.length == 4 && "GET".equals(method)) {
+                JobServer.streamEvents(exchange, job);
+            } else if (path.length == 3 && "GET".equals(method)) {
+                JobServer.respond(exchange, 200, JobServer.toJson(job));
+            } else if (path.length == 3 && "DELETE".equals(method)) {
+                this.cancel(job);
+                JobServer.respond(exchange, 200, JobServer.toJson(job));
+            } else {
+                JobServer.respondError(exchange, 405, "Method not allowed");
+            }
+        }
+    }
+
+    /**
+     * Queues the job described by a request's form fields.
+     *
+     * @param exchange the request and its response
+     * @throws IOException if the request cannot be read or the response sent
+     */
+    private void handleSubmit(HttpExchange exchange) throws IOException {
+        Map<String, String> fields = JobServer.parseForm(exchange.getRequestURI().getRawQuery());
+        try (InputStream body = exchange.getRequestBody()) {
+            fields.putAll(JobServer.parseForm(
+                    new String(body.readAllBytes(), StandardCharsets.UTF_8)));
+        }
+
+        String sequence = fields.get("sequence");
+        if (sequence == null || !sequence.matches("[hHpP]{3,}")) {
+            JobServer.respondError(exchange, 400,
+                    "sequence must be at least three of h and p");
+            return;
+        }
+        FoldingJob job;
+        try {
+            if (!fields.containsKey("target")) {
+                throw new IllegalArgumentException("target is required");
+            }
+            int target = Integer.parseInt(fields.get("target"));
+            int priority = Integer.parseInt(fields.getOrDefault("priority", "0"));
+            double budget = Double.parseDouble(fields.getOrDefault("budget", "0"));
+            if (budget < 0) {
+                throw new IllegalArgumentException("budget must not be negative");
+            }
+            EngineType engine = EngineType.valueOf(
+                    fields.getOrDefault("engine", EngineType.GENETIC_ALGORITHM.name())
+                            .toUpperCase());
+            job = this.submit(sequence, target, engine, priority, Math.round(budget * 1000));
+        } catch (IllegalArgumentException e) {
+            JobServer.respondError(exchange, 400, e.getMessage());
+            return;
+        }
+        if (job == null) {
+            JobServer.respondError(exchange, 503, "The queue is full");
+            return;
+        }
+        exchange.getResponseHeaders().set("Location", "/jobs/" + job.getId());
+        JobServer.respond(exchange, 202, JobServer.toJson(job));
+    }
+
+    /**
+     * Answers <code>/stats</code>.
+     *
+     * @param exchange the request and its response
+     * @throws IOException if the response cannot be sent
+     */
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if ("GET".equals(exchange.getRequestMethod())) {
+                JobServer.respond(exchange, 200, this.getStats());
+            } else {
+                JobServer.respondError(exchange, 405, "Use GET");
+            }
+        }
+    }
+
+    /**
+     * Streams the progress of a job as server-sent events until it
+     * finishes or the client goes away.
+     *
+     * @param exchange the request and its response
+     * @param job the job to follow
+     * @throws IOException if the stream cannot be started
+     */
+    private static void streamEvents(HttpExchange exchange, FoldingJob job) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        try {
+            FoldingJob.State reported = job.getState();
+            JobServer.sendEvent(out, "status", JobServer.toJson(job));
+            if (reported.isFinished()) {
+                // Finished before the client subscribed; end the stream as promised.
+                JobServer.sendEvent(out, "done", JobServer.toJson(job));
+            }
+            Message sent = null;
+            long seen = 0;
+            while (!reported.isFinished()) {
+                long version = job.awaitChange(seen, KEEP_ALIVE_MILLIS);
+                if (version == seen) {
+                    out.write(": keep-alive\n\n".getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    continue;
+                }
+                seen = version;
+                Message latest = job.getLatest();
+                if (latest != null && latest != sent) {
+                    sent = latest;
+                    JobServer.sendEvent(out, "progress", JobServer.toJson(latest));
+                }
+                FoldingJob.State state = job.getState();
+                if (state.isFinished()) {
+                    JobServer.sendEvent(out, "done", JobServer.toJson(job));
+                } else if (state != reported) {
+                    JobServer.sendEvent(out, "status", JobServer.toJson(job));
+                }
+                reported = state;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // The client stopped listening; the job carries on.
+        }
+    }
+
+    /**
+     * Writes one server-sent event.
+     *
+     * @param out the event stream
+     * @param event the name of the event
+     * @param data the data of the event, on one line
+     * @throws IOException if the client has gone away
+     */
+    private static void sendEvent(OutputStream out, String event, String data)
+            throws IOException {
+        out.write(("event: " + event + "\ndata: " + data + "\n\n")
+                .getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * Sends a complete JSON response.
+     *
+     * @param exchange the request and its response
+     * @param status the HTTP status
+     * @param json the body
+     * @throws IOException if the response cannot be sent
+     */
+    private static void respond(HttpExchange exchange, int status, String json)
+            throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Sends an error as a JSON object with an <code>error</code> field.
+     *
+     * @param exchange the request and its response
+     * @param status the HTTP status
+     * @param message what went wrong
+     * @throws IOException if the response cannot be sent
+     */
+    private static void respondError(HttpExchange exchange, int status, String message)
+            throws IOException {
+        JobServer.respond(exchange, status, "{\"error\":" + JobServer.quote(message) + "}");
+    }
+
+    /**
+     * Describes a job as a JSON object.
+     *
+     * @param job the job
+     * @return the job's parameters, state, timings, best fold so far and,
+     *         for a portfolio whose race was won, the winning configuration
+     */
+    private static String toJson(FoldingJob job) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"id\":").append(job.getId())
+                .append(",\"state\":\"").append(job.getState()).append('"')
+                .append(",\"sequence\":").append(JobServer.quote(job.getAcidString()))
+                .append(",\"target\":").append(job.getTargetFitness())
+                .append(",\"priority\":").append(job.getPriority())
+                .append(",\"budgetMillis\":").append(job.getBudgetMillis())
+                .append(String.format(Locale.ROOT, ",\"queueMillis\":%.3f,\"runMillis\":%.3f",
+                        job.getQueueNanos() / 1e6, job.getRunNanos() / 1e6));
+        Message latest = job.getLatest();
+        if (latest != null) {
+            json.append(",\"best\":").append(JobServer.toJson(latest));
+            if (latest.getWinner() != null) {
+                json.append(",\"winner\":").append(JobServer.quote(latest.getWinner()));
+            }
+        }
+        String failure = job.getFailure();
+        if (failure != null) {
+            json.append(",\"failure\":").append(JobServer.quote(failure));
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * Describes an improvement as a JSON object of its fitness, generation
+     * and bond directions, written as in a <code>HallOfFame</code>.
+     *
+     * @param message the improvement
+     * @return the improvement as JSON
+     */
+    private static String toJson(Message message) {
+        StringBuilder moves = new StringBuilder();
+        for (byte move : message.getChromosome().getMoves()) {
+            moves.append("?RLUD".charAt(move));
+        }
+        return "{\"fitness\":" + message.getFitness() + ",\"generation\":"
+                + message.getGeneration() + ",\"moves\":\"" + moves + "\"}";
+    }
+
+    /**
+     * Writes a string as a JSON string literal.
+     *
+     * @param text the string
+     * @return the string quoted and escaped
+     */
+    private static String quote(String text) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : text.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < ' ') {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Reads URL-encoded form fields.
+     *
+     * @param form the fields, or <code>null</code> for none
+     * @return the value of each field, the last given if repeated
+     */
+    private static Map<String, String> parseForm(String form) {
+        Map<String, String> fields = new HashMap<>();
+        if (form == null || form.isEmpty()) {
+            return fields;
+        }
+        for (String pair : form.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = (equals < 0) ? pair : pair.substring(0, equals);
+            String value = (equals < 0) ? "" : pair.substring(equals + 1);
+            fields.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8).trim());
+        }
+        return fields;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int workerCount = (args.length > 1) ? Integer.parseInt(args[1]) : 1;
+        int queueCapacity = (args.length > 2) ? Integer.parseInt(args[2])
+                : DEFAULT_QUEUE_CAPACITY;
+        JobServer server = new JobServer(port, workerCount, queueCapacity);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.start();
+        System.out.println("Serving folding jobs on http://localhost:" + server.getPort() + "/jobs");
+    }
+
+}
@@ -0,0 +1,185 @@
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A <code>Flow.Subscription</code> that holds at most one undelivered
+ * <code>Message</code>. Offering a new <code>Message</code> replaces any
+ * pending one, so the producer never waits and the subscriber only ever
+ * receives the newest snapshot. Delivery is serialized through a
+ * work-in-progress counter, so no locks are taken on either side.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class LatestValueSubscription implements Flow.Subscription {
+
+    /**
+     * The subscriber being signalled.
+     */
+    private final Flow.Subscriber<? super Message> subscriber;
+
+    /**
+     * The <code>Executor</code> on which the subscriber is signalled.
+     */
+    private final Executor executor;
+
+    /**
+     * The newest <code>Message</code> not yet delivered, or
+     * <code>null</code> if there is none.
+     */
+    private final AtomicReference<Message> latest;
+
+    /**
+     * The number of <code>Messages</code> the subscriber has requested
+     * but not yet received.
+     */
+    private final AtomicLong demand;
+
+    /**
+     * The number of drain requests outstanding. Only the caller that moves
+     * this from zero schedules a drain, so at most one drain runs at once.
+     */
+    private final AtomicInteger workInProgress;
+
+    /**
+     * Whether the subscriber has cancelled or has been terminated.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Whether the publisher has finished producing <code>Messages</code>.
+     */
+    private volatile boolean completed;
+
+    /**
+     * Builds a new subscription for the given subscriber.
+     *
+     * @param subscriber the subscriber to signal
+     * @param executor the <code>Executor</code> used for signalling
+     */
+    public LatestValueSubscription(Flow.Subscriber<? super Message> subscriber,
+                                   Executor executor) {
+        this.subscriber = subscriber;
+        this.executor = executor;
+        this.latest = new AtomicReference<>();
+        this.demand = new AtomicLong();
+        this.workInProgress = new AtomicInteger();
+        this.cancelled = false;
+        this.completed = false;
+    }
+
+    /**
+     * Adds to the number of <code>Messages</code> the subscriber is
+     * prepared to receive. Non-positive requests terminate the
+     * subscription with an error, as <code>Flow</code> requires.
+     *
+     * @param n the number of additional <code>Messages</code> requested
+     */
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            this.cancelled = true;
+            this.executor.execute(() -> this.subscriber.onError(
+                    new IllegalArgumentException("Request must be positive: " + n)));
+            return;
+        }
+
+        // Add to the demand, saturating at Long.MAX_VALUE.
+        this.demand.getAndUpdate(current -> {
+            long sum = current + n;
+            return (sum < 0) ? Long.MAX_VALUE : sum;
+        });
+        this.scheduleDrain();
+    }
+
+    /**
+     * Stops delivery to the subscriber and discards any pending
+     * <code>Message</code>.
+     */
+    @Override
+    public void cancel() {
+        this.cancelled = true;
+        this.latest.set(null);
+    }
+
+    /**
+     * Returns whether this subscription has been cancelled or terminated.
+     *
+     * @return whether no further signals will be delivered
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * Replaces the pending <code>Message</code> with the one provided and
+     * arranges for it to be delivered. Never blocks.
+     *
+     * @param message the newest snapshot
+     */
+    public void offer(Message message) {
+        if (this.cancelled) {
+            return;
+        }
+        this.latest.set(message);
+        this.scheduleDrain();
+    }
+
+    /**
+     * Signals completion to the subscriber once the pending
+     * <code>Message</code>, if any, has been delivered.
+     */
+    public void complete() {
+        this.completed = true;
+        this.scheduleDrain();
+    }
+
+    /**
+     * Schedules a drain on the <code>Executor</code> unless one is
+     * already pending or running.
+     */
+    private void scheduleDrain() {
+        if (this.workInProgress.getAndIncrement() == 0) {
+            this.executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Delivers the pending <code>Message</code> while the subscriber has
+     * outstanding demand, then signals completion if the publisher is
+     * finished. Loops until every drain request made while it was running
+     * has been accounted for.
+     */
+    private void drain() {
+        int missed = 1;
+        do {
+            while (!this.cancelled && this.demand.get() > 0) {
+                Message next = this.latest.getAndSet(null);
+                if (next == null) {
+                    break;
+                }
+                if (this.demand.get() != Long.MAX_VALUE) {
+                    this.demand.decrementAndGet();
+                }
+                try {
+                    this.subscriber.onNext(next);
+                } catch (RuntimeException e) {
+                    // A misbehaving subscriber must not affect the others.
+                    this.cancel();
+                    this.subscriber.onError(e);
+                }
+            }
+
+            if (!this.cancelled && this.completed && this.latest.get() == null) {
+                this.cancelled = true;
+                this.subscriber.onComplete();
+            }
+
+            missed = this.workInProgress.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+}
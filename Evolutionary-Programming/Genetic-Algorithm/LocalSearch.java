@@ -0,0 +1,139 @@
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Refines individuals with small local moves, hybridizing the genetic
+ * algorithm into a memetic one. Whereas crossover and mutation re-pivot a
+ * whole suffix of the chain, which mostly unravels a compact fold near the
+ * optimum, the end, corner, crankshaft and pull moves of a
+ * <code>Fold</code> shift only a few acids, and are scored incrementally.
+ *
+ * <p>Each individual is walked through a fixed budget of random moves,
+ * keeping every move that does not lower fitness, so the walk can drift
+ * across plateaus, and the fittest conformation visited is returned. The
+ * elites of a <code>Generation</code> are refined in parallel, each with
+ * its own random generator seeded from the search's, so a seeded search
+ * stays reproducible.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class LocalSearch {
+
+    /**
+     * The number of moves tried on each elite per generation if not
+     * otherwise configured.
+     */
+    public static final int DEFAULT_MOVES = 2000;
+
+    /**
+     * How many of the elites carried into each generation are refined.
+     */
+    private final int elites;
+
+    /**
+     * The number of moves tried on each refined individual.
+     */
+    private final int moves;
+
+    /**
+     * Builds a local search that refines the given number of elites of
+     * each generation with the given budget of moves.
+     *
+     * @param elites how many elites to refine, capped at the number each generation carries over
+     * @param moves the number of moves tried on each elite
+     */
+    public LocalSearch(int elites, int moves) {
+        if (elites < 0 || moves < 0) {
+            throw new IllegalArgumentException("Negative local search budget");
+        }
+        this.elites = elites;
+        this.moves = moves;
+    }
+
+    /**
+     * Builds a local search that refines every elite with the default
+     * budget of moves.
+     */
+    public LocalSearch() {
+        this(Integer.MAX_VALUE, DEFAULT_MOVES);
+    }
+
+    /**
+     * Returns the number of moves tried on each refined individual.
+     *
+     * @return the budget of moves
+     */
+    public int getMoves() {
+        return this.moves;
+    }
+
+    /**
+     * Refines the elites at the head of a newly bred, not yet sorted,
+     * <code>Generation</code> in parallel, replacing each with the
+     * fittest conformation its walk visits.
+     *
+     * @param generation the generation whose elites are refined
+     * @param random the random generator of the search, used for seeding
+     * @param metrics the statistics of the search
+     */
+    public void refineElites(Generation generation, Random random, SearchMetrics metrics) {
+        // Seed every walk up front, on this thread, so results do not
+        // depend on how the walks are scheduled.
+        int count = Math.min(this.elites, Population.eliteSize(generation.size()));
+        long[] seeds = new long[count];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextLong();
+        }
+        IntStream.range(0, count).parallel().forEach(i -> {
+            Chromosome elite = generation.get(i);
+            Chromosome refined = this.refine(elite, new Random(seeds[i]));
+            metrics.recordLocalSearch(this.moves, refined.getFitness() < elite.getFitness());
+            generation.set(i, refined);
+        });
+    }
+
+    /**
+     * Walks an individual through the budget of random moves.
+     *
+     * @param chromosome the individual to refine
+     * @param random the random generator used to choose moves
+     * @return the fittest conformation visited, which may be the original
+     */
+    public Chromosome refine(Chromosome chromosome, Random random) {
+        if (chromosome.getLocations().length < 3) {
+            return chromosome;
+        }
+
+        Fold fold = new Fold(chromosome);
+        int[] bestXs = null;
+        int[] bestYs = null;
+        int bestFitness = fold.getFitness();
+        for (int i = 0; i < this.moves; i++) {
+            int before = fold.getFitness();
+            if (!fold.randomMove(random)) {
+                continue;
+            }
+            if (fold.getFitness() > before) {
+                fold.rollback();
+                continue;
+            }
+            fold.commit();
+            if (fold.getFitness() < bestFitness) {
+                bestFitness = fold.getFitness();
+                if (bestXs == null) {
+                    bestXs = new int[fold.length()];
+                    bestYs = new int[fold.length()];
+                }
+                fold.copyCoordinates(bestXs, bestYs);
+            }
+        }
+
+        if (bestXs == null) {
+            return chromosome;
+        }
+        return Fold.toChromosome(chromosome.getAcids(), bestXs, bestYs,
+                bestFitness);
+    }
+
+}
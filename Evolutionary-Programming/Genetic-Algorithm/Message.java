@@ -1,14 +1,34 @@
 /**
- * A message that the <code>Observable</code> can pass to the registered
- * <code>Observer</code> that contains a <code>Chromosome</code> and the
- * generation of that member of the <code>Population</code>.
+ * An immutable snapshot of the progress of a search that is published to
+ * every subscriber of a <code>ProgressPublisher</code>. Contains the fittest
+ * <code>Chromosome</code> found so far and the generation that produced it,
+ * and, on the last snapshot of a <code>Portfolio</code> whose race was won,
+ * the configuration that won it.
+ *
+ * A <code>Chromosome</code> is never modified once it has been built (the
+ * genetic operators always produce new instances), so a <code>Message</code>
+ * shares the instance rather than taking a deep copy of it. This keeps the
+ * cost of publishing an improvement constant regardless of protein length.
  *
  * @author Franklin D. Worrell
- * @version 27 May 2018
+ * @version 18 October 2026
  */
-public class Message {
-    private Chromosome chromosome;
-    private int generation;
+public final class Message {
+
+    /**
+     * The fittest <code>Chromosome</code> found as of this snapshot.
+     */
+    private final Chromosome chromosome;
+
+    /**
+     * The generation that produced <code>chromosome</code>.
+     */
+    private final int generation;
+
+    /**
+     * The configuration that won a portfolio's race, or <code>null</code>.
+     */
+    private final String winner;
 
     /**
      * Builds a new <code>Message</code> with the provided population member
@@ -18,14 +38,28 @@ public class Message {
      * @param generation the generation that produced the <code>Chromosome</code>
      */
     public Message(Chromosome chromosome, int generation) {
+        this(chromosome, generation, null);
+    }
+
+    /**
+     * Builds a new <code>Message</code> announcing the winner of a
+     * portfolio's race along with the fittest <code>Chromosome</code> found.
+     *
+     * @param chromosome the <code>Chromosome</code> to draw
+     * @param generation the generation that produced the <code>Chromosome</code>
+     * @param winner the configuration that won the race, or <code>null</code>
+     */
+    public Message(Chromosome chromosome, int generation, String winner) {
         this.chromosome = chromosome;
         this.generation = generation;
+        this.winner = winner;
     }
 
     /**
      * Returns the <code>Chromosome</code> packed in this <code>Message</code>.
+     * The returned instance must be treated as read-only.
      *
-     * @return the <code>Chromosome for transmission to the GUI
+     * @return the <code>Chromosome</code> for transmission to the GUI
      */
     public Chromosome getChromosome() {
         return this.chromosome;
@@ -41,4 +75,25 @@ public class Message {
         return this.generation;
     }
 
+    /**
+     * Returns the fitness of the <code>Chromosome</code> packed in this
+     * <code>Message</code>.
+     *
+     * @return the fitness of the associated <code>Chromosome</code>
+     */
+    public int getFitness() {
+        return this.chromosome.getFitness();
+    }
+
+    /**
+     * Returns the configuration that won the race of the
+     * <code>Portfolio</code> that published this <code>Message</code>.
+     *
+     * @return the winning configuration, or <code>null</code> if this is
+     *         not the last snapshot of a race that was won
+     */
+    public String getWinner() {
+        return this.winner;
+    }
+
 }
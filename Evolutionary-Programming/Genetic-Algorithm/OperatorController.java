@@ -0,0 +1,205 @@
+import java.util.Arrays;
+
+/**
+ * Decides how the places in each new <code>Generation</code> are shared
+ * among the <code>BreedingOperators</code>, by adaptive pursuit. Rather
+ * than fixed fractions of the population and a hard-coded switch to
+ * double-point mutation after a stretch without improvement, each
+ * operator's recent progress is measured and effort is moved towards the
+ * one making the most of it.
+ *
+ * <p>Every individual an operator produces is rewarded with the number of
+ * contacts it gains over its parent, its fitter parent for crossover, or
+ * the median of the previous generation for a random immigrant, and
+ * charged for the evaluations it took. After each generation, each
+ * operator's estimated quality moves towards the reward it earned per
+ * evaluation, and the probabilities are pursued: the best operator's
+ * probability moves towards a maximum and every other's towards a
+ * minimum, so that no operator is ever starved of the places that would
+ * show it has become useful again.
+ *
+ * <p>A controller is confined to the thread of the search it belongs to.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class OperatorController {
+
+    /**
+     * The smallest share of places any enabled operator is given.
+     */
+    public static final double MIN_PROBABILITY = 0.05;
+
+    /**
+     * How far each generation's reward moves an operator's estimated
+     * quality.
+     */
+    public static final double ADAPTATION_RATE = 0.3;
+
+    /**
+     * How far each generation moves the probabilities towards their
+     * pursued values.
+     */
+    public static final double LEARNING_RATE = 0.3;
+
+    private static final BreedingOperator[] OPERATORS = BreedingOperator.values();
+
+    /**
+     * Whether each operator may be used.
+     */
+    private final boolean[] enabled;
+
+    /**
+     * The largest share of places an operator is given, when every other
+     * enabled operator is at the minimum.
+     */
+    private final double maxProbability;
+
+    /**
+     * The estimated reward per evaluation of each operator.
+     */
+    private final double[] quality;
+
+    /**
+     * The share of places each operator is given.
+     */
+    private final double[] probability;
+
+    /**
+     * The reward earned and evaluations spent by each operator during the
+     * current generation.
+     */
+    private final double[] rewards;
+    private final double[] costs;
+
+    /**
+     * Builds a controller sharing places evenly among the operators at
+     * first.
+     *
+     * @param localSearch whether local search is among the operators
+     */
+    public OperatorController(boolean localSearch) {
+        this.enabled = new boolean[OPERATORS.length];
+        Arrays.fill(this.enabled, true);
+        this.enabled[BreedingOperator.LOCAL_SEARCH.ordinal()] = localSearch;
+        int count = localSearch ? OPERATORS.length : OPERATORS.length - 1;
+        this.maxProbability = 1 - (count - 1) * MIN_PROBABILITY;
+
+        this.quality = new double[OPERATORS.length];
+        this.probability = new double[OPERATORS.length];
+        for (int i = 0; i < OPERATORS.length; i++) {
+            this.probability[i] = this.enabled[i] ? 1.0 / count : 0;
+        }
+        this.rewards = new double[OPERATORS.length];
+        this.costs = new double[OPERATORS.length];
+    }
+
+    /**
+     * Returns whether an operator may be used.
+     *
+     * @param operator the operator
+     * @return whether it is enabled
+     */
+    public boolean isEnabled(BreedingOperator operator) {
+        return this.enabled[operator.ordinal()];
+    }
+
+    /**
+     * Returns the share of places currently given to an operator.
+     *
+     * @param operator the operator
+     * @return its probability
+     */
+    public double getProbability(BreedingOperator operator) {
+        return this.probability[operator.ordinal()];
+    }
+
+    /**
+     * Shares the places of a generation among the operators in proportion
+     * to their probabilities. Places left over by rounding go to the
+     * operators with the largest remainders, and every enabled operator
+     * gets at least one place if there are enough to go round.
+     *
+     * @param places the number of places to fill
+     * @return the number of places for each operator, indexed by ordinal
+     */
+    public int[] allocate(int places) {
+        int[] counts = new int[OPERATORS.length];
+        double[] remainders = new double[OPERATORS.length];
+        int allocated = 0;
+        for (int i = 0; i < OPERATORS.length; i++) {
+            double share = this.probability[i] * places;
+            counts[i] = (int) share;
+            remainders[i] = share - counts[i];
+            allocated += counts[i];
+        }
+        while (allocated < places) {
+            int largest = 0;
+            for (int i = 1; i < OPERATORS.length; i++) {
+                if (remainders[i] > remainders[largest]) {
+                    largest = i;
+                }
+            }
+            counts[largest]++;
+            remainders[largest] = -1;
+            allocated++;
+        }
+
+        // Take places from the most used operator for any left without.
+        for (int i = 0; i < OPERATORS.length; i++) {
+            if (this.enabled[i] && counts[i] == 0) {
+                int most = 0;
+                for (int j = 1; j < OPERATORS.length; j++) {
+                    if (counts[j] > counts[most]) {
+                        most = j;
+                    }
+                }
+                if (counts[most] > 1) {
+                    counts[most]--;
+                    counts[i]++;
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Records an individual produced by an operator.
+     *
+     * @param operator the operator that produced it
+     * @param gain the contacts it gained over its reference, zero if none
+     * @param evaluations the evaluations spent producing it
+     */
+    public void reward(BreedingOperator operator, int gain, double evaluations) {
+        this.rewards[operator.ordinal()] += Math.max(gain, 0);
+        this.costs[operator.ordinal()] += evaluations;
+    }
+
+    /**
+     * Updates the estimated quality of every operator used in the
+     * generation just produced, and pursues the best.
+     */
+    public void endGeneration() {
+        int best = -1;
+        for (int i = 0; i < OPERATORS.length; i++) {
+            if (this.costs[i] > 0) {
+                double earned = this.rewards[i] / this.costs[i];
+                this.quality[i] += ADAPTATION_RATE * (earned - this.quality[i]);
+            }
+            this.rewards[i] = 0;
+            this.costs[i] = 0;
+            if (this.enabled[i] && (best < 0 || this.quality[i] > this.quality[best])) {
+                best = i;
+            }
+        }
+
+        for (int i = 0; i < OPERATORS.length; i++) {
+            if (!this.enabled[i]) {
+                continue;
+            }
+            double pursued = (i == best) ? this.maxProbability : MIN_PROBABILITY;
+            this.probability[i] += LEARNING_RATE * (pursued - this.probability[i]);
+        }
+    }
+
+}
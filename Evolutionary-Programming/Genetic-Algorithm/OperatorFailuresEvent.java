@@ -0,0 +1,43 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event counting the attempts that failed to produce
+ * a valid structure while breeding one <code>Generation</code>. Failures are
+ * far too frequent to record individually, so they are tallied and committed
+ * once per <code>Generation</code>, and only when at least one occurred.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+@Name("GeneticAlgorithm.OperatorFailures")
+@Label("Operator Failures")
+@Category("Genetic Algorithm")
+@Description("Failed crossover, mutation and random-walk attempts in one generation")
+@StackTrace(false)
+public class OperatorFailuresEvent extends jdk.jfr.Event {
+
+    @Label("Crossover Failures")
+    public int crossoverFailures;
+
+    @Label("Mutation Failures")
+    public int mutationFailures;
+
+    @Label("Random Walk Rejections")
+    @Description("Random walks discarded for not being self-avoiding")
+    public long randomWalkRejections;
+
+    /**
+     * Returns whether any failure has been tallied.
+     *
+     * @return whether this event has anything to report
+     */
+    public boolean hasFailures() {
+        return this.crossoverFailures > 0 || this.mutationFailures > 0
+                || this.randomWalkRejections > 0;
+    }
+
+}
@@ -0,0 +1,354 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+
+/**
+ * Searches for a fold by replica-exchange Monte Carlo, or parallel
+ * tempering. One replica per core anneals its own <code>Fold</code> at a
+ * fixed temperature with the same local moves as <code>LocalSearch</code>,
+ * accepting worse moves with the Metropolis probability, so hot replicas
+ * roam freely while cold ones settle into compact folds. After every sweep
+ * of moves, neighboring temperatures offer to swap replicas, which lets
+ * good folds found hot be cooled and stuck cold folds be reheated.
+ *
+ * <p>Replicas run on their own threads and meet once per sweep at a
+ * <code>Phaser</code>. The last replica to arrive performs the swaps and
+ * reports progress while the others wait, so the swap bookkeeping needs no
+ * locks, and each replica reads its new temperature only after the phase
+ * advances. Swaps exchange temperatures rather than folds, so nothing but
+ * a few <code>ints</code> moves between threads.
+ *
+ * <p>Each sweep counts as a generation in the <code>Messages</code> sent
+ * to subscribers and in the progress log.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class ParallelTempering implements FoldingEngine {
+
+    /**
+     * The temperatures of the coldest and hottest replicas, in units of
+     * one hydrophobic contact. Intermediate temperatures are spaced
+     * geometrically between them.
+     */
+    public static final double MIN_TEMPERATURE = 0.25;
+    public static final double MAX_TEMPERATURE = 2.0;
+
+    /**
+     * The number of moves each replica tries per sweep, per acid.
+     */
+    public static final int MOVES_PER_ACID = 10;
+
+    private final String acidString;
+    private final boolean[] acids;
+    private final int targetFitness;
+    private final int stopFitness;
+    private final int replicaCount;
+    private final Random random;
+    private final SearchMetrics metrics;
+    private final ProgressPublisher publisher;
+    private final ProgressLog log;
+
+    /**
+     * The temperature of each slot, coldest first.
+     */
+    private final double[] temperatures;
+
+    /**
+     * The slot, and so the temperature, each replica currently runs at.
+     * Only changed between phases, by the last replica to arrive.
+     */
+    private final int[] slotOf;
+
+    /**
+     * The replica in each slot.
+     */
+    private final int[] replicaIn;
+
+    /**
+     * The current fitness and best fitness of the last sweep of each
+     * replica, written by the replica before it arrives at the phaser.
+     */
+    private final int[] currentFitness;
+    private final int[] sweepBest;
+
+    /**
+     * The coordinates of the best fold of the last sweep of each replica.
+     */
+    private final int[][] sweepBestXs;
+    private final int[][] sweepBestYs;
+
+    /**
+     * The fittest structure found so far, and the sweep it was found in.
+     */
+    private Chromosome best;
+    private int sweeps;
+    private long lastLogged;
+
+    /**
+     * Where the fittest fold of each replica's sweep is offered, or
+     * <code>null</code> if the fittest are not kept.
+     */
+    private HallOfFame hallOfFame;
+
+    /**
+     * Whether the search has been asked to stop early.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Builds a search running one replica per available processor.
+     *
+     * @param acidString the sequence of amino acids compromising the protein
+     * @param targetFitness the goal fitness for the search being performed
+     */
+    public ParallelTempering(String acidString, int targetFitness) {
+        this(acidString, targetFitness,
+                Math.max(2, Runtime.getRuntime().availableProcessors()), new Random());
+    }
+
+    /**
+     * Builds a search with the given number of replicas whose every random
+     * choice derives from the provided random generator.
+     *
+     * @param acidString the sequence of amino acids compromising the protein
+     * @param targetFitness the goal fitness for the search being performed
+     * @param replicaCount the number of replicas, at least two
+     * @param random the random generator for the search
+     */
+    public ParallelTempering(String acidString,
+                             int targetFitness,
+                             int replicaCount,
+                             Random random) {
+        if (replicaCount < 2) {
+            throw new IllegalArgumentException("Parallel tempering needs at least two replicas");
+        }
+        this.acidString = acidString;
+        this.acids = Chromosome.parseAcids(acidString);
+        this.targetFitness = targetFitness;
+        this.stopFitness = Math.max(targetFitness,
+                FitnessBound.bestPossibleFitness(this.acids));
+        this.replicaCount = replicaCount;
+        this.random = random;
+        this.metrics = new SearchMetrics(acidString, targetFitness);
+        this.publisher = new ProgressPublisher();
+        this.log = ProgressLog.getInstance();
+
+        this.temperatures = new double[replicaCount];
+        this.slotOf = new int[replicaCount];
+        this.replicaIn = new int[replicaCount];
+        double ratio = Math.pow(MAX_TEMPERATURE / MIN_TEMPERATURE,
+                1.0 / (replicaCount - 1));
+        for (int i = 0; i < replicaCount; i++) {
+            this.temperatures[i] = MIN_TEMPERATURE * Math.pow(ratio, i);
+            this.slotOf[i] = i;
+            this.replicaIn[i] = i;
+        }
+        this.currentFitness = new int[replicaCount];
+        this.sweepBest = new int[replicaCount];
+        this.sweepBestXs = new int[replicaCount][this.acids.length];
+        this.sweepBestYs = new int[replicaCount][this.acids.length];
+    }
+
+    @Override
+    public String getAcidString() {
+        return this.acidString;
+    }
+
+    @Override
+    public int getTargetFitness() {
+        return this.targetFitness;
+    }
+
+    @Override
+    public SearchMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Message> subscriber) {
+        this.publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Offers the fittest fold of every replica's sweep to a hall of fame.
+     *
+     * @param hallOfFame the hall of fame, or <code>null</code> for none
+     */
+    @Override
+    public void setHallOfFame(HallOfFame hallOfFame) {
+        this.hallOfFame = hallOfFame;
+    }
+
+    /**
+     * Runs every replica on its own thread until one reaches the target
+     * fitness or the search is cancelled. The statistics of the search
+     * are registered over JMX for the duration.
+     */
+    @Override
+    public void evolve() {
+        this.metrics.register();
+        // Every replica starts from the straight chain, which is always valid.
+        byte[] moves = new byte[this.acids.length - 1];
+        Arrays.fill(moves, (byte) 1);
+        this.best = Chromosome.fromMoves(this.acids, moves, 0);
+        this.sweeps = 0;
+        this.lastLogged = System.nanoTime();
+
+        Phaser phaser = new Phaser(this.replicaCount) {
+            @Override
+            protected boolean onAdvance(int phase, int registeredParties) {
+                return ParallelTempering.this.endSweep() || registeredParties == 0;
+            }
+        };
+        ExecutorService replicas = Executors.newFixedThreadPool(this.replicaCount,
+                runnable -> {
+                    Thread thread = new Thread(runnable, "tempering-replica");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            Future<?>[] running = new Future<?>[this.replicaCount];
+            for (int i = 0; i < this.replicaCount; i++) {
+                int replica = i;
+                long seed = this.random.nextLong();
+                running[i] = replicas.submit(() -> this.runReplica(replica,
+                        new Random(seed), phaser));
+            }
+            for (Future<?> replica : running) {
+                replica.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A replica failed", e.getCause());
+        } finally {
+            phaser.forceTermination();
+            replicas.shutdownNow();
+            this.metrics.unregister();
+            this.publisher.close();
+        }
+    }
+
+    /**
+     * Asks the replicas to stop after the sweep under way.
+     */
+    @Override
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * The body of a replica's thread: sweeps at its current temperature
+     * until the search ends.
+     *
+     * @param replica the index of the replica
+     * @param random the random generator of the replica
+     * @param phaser where the replicas meet after each sweep
+     */
+    private void runReplica(int replica, Random random, Phaser phaser) {
+        Fold fold = new Fold(this.best);
+        int movesPerSweep = MOVES_PER_ACID * this.acids.length;
+        try {
+            while (!phaser.isTerminated()) {
+                double temperature = this.temperatures[this.slotOf[replica]];
+                int sweepBest = fold.getFitness();
+                fold.copyCoordinates(this.sweepBestXs[replica], this.sweepBestYs[replica]);
+                for (int i = 0; i < movesPerSweep; i++) {
+                    int before = fold.getFitness();
+                    if (!fold.randomMove(random)) {
+                        continue;
+                    }
+                    int delta = fold.getFitness() - before;
+                    if (delta > 0 && random.nextDouble() >= Math.exp(-delta / temperature)) {
+                        fold.rollback();
+                        continue;
+                    }
+                    fold.commit();
+                    if (fold.getFitness() < sweepBest) {
+                        sweepBest = fold.getFitness();
+                        fold.copyCoordinates(this.sweepBestXs[replica],
+                                this.sweepBestYs[replica]);
+                    }
+                }
+                this.metrics.recordEvaluations(movesPerSweep);
+                this.sweepBest[replica] = sweepBest;
+                this.currentFitness[replica] = fold.getFitness();
+                phaser.arriveAndAwaitAdvance();
+            }
+        } finally {
+            // A failed replica must not leave the others waiting for it.
+            if (!phaser.isTerminated()) {
+                phaser.forceTermination();
+            }
+        }
+    }
+
+    /**
+     * Called by the last replica to finish a sweep, while the others wait:
+     * records the best fold of the sweep, then offers swaps between
+     * neighboring temperatures, alternating between even and odd pairs.
+     *
+     * @return whether the target fitness has been reached or the search
+     *         cancelled
+     */
+    private boolean endSweep() {
+        this.sweeps++;
+        int bestReplica = 0;
+        int volume = 0;
+        for (int r = 0; r < this.replicaCount; r++) {
+            if (this.sweepBest[r] < this.sweepBest[bestReplica]) {
+                bestReplica = r;
+            }
+        }
+        for (int r = 0; r < this.replicaCount; r++) {
+            if (this.sweepBest[r] == this.sweepBest[bestReplica]) {
+                volume++;
+            }
+        }
+
+        if (this.hallOfFame != null) {
+            for (int r = 0; r < this.replicaCount; r++) {
+                if (this.hallOfFame.admits(this.sweepBest[r])) {
+                    this.hallOfFame.offer(Fold.toChromosome(this.acids, this.sweepBestXs[r],
+                            this.sweepBestYs[r], this.sweepBest[r]));
+                }
+            }
+        }
+
+        boolean improved = this.sweepBest[bestReplica] < this.best.getFitness();
+        if (improved) {
+            this.best = Fold.toChromosome(this.acids, this.sweepBestXs[bestReplica],
+                    this.sweepBestYs[bestReplica], this.sweepBest[bestReplica]);
+            this.publisher.publish(new Message(this.best, this.sweeps));
+        }
+        this.metrics.recordGeneration(this.best.getFitness(), volume,
+                (int) Arrays.stream(this.currentFitness).distinct().count());
+        long now = System.nanoTime();
+        if (improved || now - this.lastLogged >= ProgressLog.SAMPLE_INTERVAL) {
+            this.lastLogged = now;
+            this.log.record(this.metrics.getId(), this.sweeps, this.best.getFitness(),
+                    volume, this.replicaCount);
+        }
+
+        for (int slot = this.sweeps & 1; slot + 1 < this.replicaCount; slot += 2) {
+            int cold = this.replicaIn[slot];
+            int hot = this.replicaIn[slot + 1];
+            double exponent = (1 / this.temperatures[slot] - 1 / this.temperatures[slot + 1])
+                    * (this.currentFitness[cold] - this.currentFitness[hot]);
+            if (exponent >= 0 || this.random.nextDouble() < Math.exp(exponent)) {
+                this.replicaIn[slot] = hot;
+                this.replicaIn[slot + 1] = cold;
+                this.slotOf[hot] = slot;
+                this.slotOf[cold] = slot + 1;
+            }
+        }
+        return this.best.getFitness() <= this.stopFitness || this.cancelled;
+    }
+
+}
@@ -0,0 +1,43 @@
+import java.util.Locale;
+
+/**
+ * Summarizes measurements by percentile, for the reports of
+ * <code>Benchmark</code>, <code>SoakTest</code> and <code>JobServer</code>.
+ * Percentiles are taken by nearest rank over values sorted in ascending
+ * order, and written with a dot for the decimal point whatever the locale.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class Percentiles {
+
+    /**
+     * Returns a percentile of sorted values, by nearest rank.
+     *
+     * @param sorted the values, in ascending order
+     * @param fraction the percentile, as a fraction
+     * @return the value at that percentile, or zero if there are none
+     */
+    public static double of(double[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    /**
+     * Writes the count, median, 95th and 99th percentiles and maximum of
+     * values as a JSON object.
+     *
+     * @param sorted the values, in ascending order
+     * @return the percentiles as JSON
+     */
+    public static String toJson(double[] sorted) {
+        return String.format(Locale.ROOT,
+                "{\"count\":%d,\"median\":%.3f,\"p95\":%.3f,\"p99\":%.3f,\"max\":%.3f}",
+                sorted.length, Percentiles.of(sorted, 0.5), Percentiles.of(sorted, 0.95),
+                Percentiles.of(sorted, 0.99), Percentiles.of(sorted, 1));
+    }
+
+}
@@ -1,4 +1,8 @@
-import java.util.Observable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Flow;
 
 /**
  * Adds a level of abstraction that assists in running the search. Creates
@@ -9,25 +13,31 @@ import java.util.Observable;
  * @author Franklin D. Worrell
  * @version 16 September 2018
  */
-public class Population extends Observable {
-	
+public class Population implements FoldingEngine {
+
     /**
      * How many individuals each <code>Generation</code> should contain
-     * in total.
+     * in total, unless a search is given another size.
      */
     public static final int POP_SIZE = 500;
 
+    /**
+     * The fewest individuals a <code>Generation</code> may contain, so
+     * that at least one elite is carried over.
+     */
+    public static final int MIN_POP_SIZE = 20;
+
     /**
      * How many of the fittest individuals should be copied from one
      * generation to the next.
      */
-    public static final int ELITE_SIZE = POP_SIZE / 20;
+    public static final int ELITE_SIZE = eliteSize(POP_SIZE);
 
     /**
      * The number of individuals who will be produced by "breeding"
      * pairs of individuals from the previous generation.
      */
-    public static final int CROSSOVER_SIZE = POP_SIZE - ELITE_SIZE - POP_SIZE / 5;
+    public static final int CROSSOVER_SIZE = crossoverSize(POP_SIZE);
 
     /**
      * The number of individuals to randomly mutate in a given
@@ -35,7 +45,13 @@ public class Population extends Observable {
      * if enough subsequent <code>Generations</code> fail to produce
      * an improvement in protein fitness.
      */
-    public static final int MUTATION_NUMBER = POP_SIZE / 4;
+    public static final int MUTATION_NUMBER = mutationNumber(POP_SIZE);
+
+    /**
+     * How many generations without improvement pass before double-point
+     * mutation is applied, unless a search is given another threshold.
+     */
+    public static final int STAGNATION_THRESHOLD = 150;
 
     /**
      * The current <code>Generation</code> that is used to produce
@@ -61,6 +77,98 @@ public class Population extends Observable {
      */
     private int targetFitness;
 
+    /**
+     * The fitness at which the search stops: the target, unless the
+     * target is beyond the best fitness the sequence can possibly reach.
+     */
+    private int stopFitness;
+
+    /**
+     * Publishes each improvement in fitness to interested subscribers
+     * without blocking the search.
+     */
+    private ProgressPublisher publisher;
+
+    /**
+     * The live statistics of this search, exposed over JMX while
+     * <code>evolve</code> runs.
+     */
+    private SearchMetrics metrics;
+
+    /**
+     * Where sampled per-generation progress is reported.
+     */
+    private ProgressLog log;
+
+    /**
+     * The random generator used throughout this search. Owned by the
+     * search so that it can be seeded and checkpointed.
+     */
+    private Random random;
+
+    /**
+     * The number of <code>Generations</code> of the protein bred thus far.
+     */
+    private int numberOfGenerations;
+
+    /**
+     * The last <code>Generation</code> that showed improved fitness.
+     */
+    private int lastImprovement;
+
+    /**
+     * Writes periodic checkpoints of this search, or <code>null</code>
+     * if checkpointing is disabled.
+     */
+    private Checkpointer checkpointer;
+
+    /**
+     * Appends every generation and improvement of this search to a run
+     * history, or <code>null</code> if the history is not recorded.
+     */
+    private RunHistoryWriter history;
+
+    /**
+     * Refines the elites of each generation, or <code>null</code> to run
+     * the plain genetic algorithm.
+     */
+    private LocalSearch localSearch;
+
+    /**
+     * How many generations without improvement pass before double-point
+     * mutation is applied.
+     */
+    private int stagnationThreshold;
+
+    /**
+     * Whether the places of each generation are shared out among the
+     * breeding operators by an <code>OperatorController</code> rather
+     * than in fixed shares.
+     */
+    private boolean adaptiveOperators;
+
+    /**
+     * Decides when to partially restart the population for lack of
+     * diversity, or <code>null</code> never to restart.
+     */
+    private RestartPolicy restartPolicy;
+
+    /**
+     * The generation of the last restart.
+     */
+    private int lastRestart;
+
+    /**
+     * Where the fittest distinct individuals of every generation are
+     * offered, or <code>null</code> if they are not kept.
+     */
+    private HallOfFame hallOfFame;
+
+    /**
+     * Whether the search has been asked to stop early.
+     */
+    private volatile boolean cancelled;
+
 
     /**
      * Given a <code>String</code> of amino acids, builds a new
@@ -72,9 +180,253 @@ public class Population extends Observable {
      * @param targetFitness the goal fitness for the search being performed
      */
     public Population(String acidString, int targetFitness) {
-        this.currentGeneration = Generation.getRandomGeneration(acidString);
+        this(acidString, targetFitness, new Random());
+    }
+
+
+    /**
+     * Given a <code>String</code> of amino acids, builds a new
+     * <code>Population</code> instance whose every random choice is made
+     * by the provided random generator, so that a seeded generator makes
+     * the search reproducible.
+     *
+     * @param acidString the sequence of amino acids compromising the protein
+     * @param targetFitness the goal fitness for the search being performed
+     * @param random the random generator for the search
+     */
+    public Population(String acidString, int targetFitness, Random random) {
+        this(acidString, targetFitness, POP_SIZE, random);
+    }
+
+
+    /**
+     * Given a <code>String</code> of amino acids, builds a new
+     * <code>Population</code> instance, as above, whose every
+     * <code>Generation</code> holds the given number of individuals.
+     *
+     * @param acidString the sequence of amino acids compromising the protein
+     * @param targetFitness the goal fitness for the search being performed
+     * @param populationSize the number of individuals in each generation
+     * @param random the random generator for the search
+     */
+    public Population(String acidString, int targetFitness, int populationSize,
+                      Random random) {
+        if (populationSize < MIN_POP_SIZE) {
+            throw new IllegalArgumentException("A population holds at least "
+                    + MIN_POP_SIZE + " individuals, not " + populationSize);
+        }
+        this.metrics = new SearchMetrics(acidString, targetFitness);
+        this.random = random;
+        this.currentGeneration = Generation.getRandomGeneration(acidString,
+                populationSize, this.random, this.metrics);
         this.acidString = acidString;
         this.targetFitness = targetFitness;
+        this.stopFitness = Math.max(targetFitness,
+                FitnessBound.bestPossibleFitness(acidString));
+        this.publisher = new ProgressPublisher();
+        this.log = ProgressLog.getInstance();
+        this.numberOfGenerations = 0;
+        this.lastImprovement = 0;
+        this.stagnationThreshold = STAGNATION_THRESHOLD;
+    }
+
+
+    /**
+     * Rebuilds a <code>Population</code> in exactly the state captured by
+     * a <code>Checkpoint</code>.
+     *
+     * @param checkpoint the captured state of a search
+     * @throws IOException if the checkpoint cannot be decoded
+     */
+    private Population(Checkpoint checkpoint) throws IOException {
+        this.acidString = checkpoint.getAcidString();
+        this.targetFitness = checkpoint.getTargetFitness();
+        this.stopFitness = Math.max(this.targetFitness,
+                FitnessBound.bestPossibleFitness(this.acidString));
+        this.metrics = new SearchMetrics(this.acidString, this.targetFitness);
+        this.random = checkpoint.restoreRandom();
+        this.currentGeneration = checkpoint.restoreGeneration(this.random,
+                this.metrics);
+        this.publisher = new ProgressPublisher();
+        this.log = ProgressLog.getInstance();
+        this.numberOfGenerations = checkpoint.getGenerationNumber();
+        this.lastImprovement = checkpoint.getLastImprovement();
+        this.stagnationThreshold = STAGNATION_THRESHOLD;
+    }
+
+
+    /**
+     * Returns a <code>Population</code> that resumes the search captured
+     * in the given checkpoint file when <code>evolve</code> is called.
+     *
+     * @param checkpoint the checkpoint file written by a previous search
+     * @return the resumed search
+     * @throws IOException if the checkpoint cannot be read
+     */
+    public static Population resume(Path checkpoint) throws IOException {
+        return new Population(Checkpoint.read(checkpoint));
+    }
+
+
+    /**
+     * Returns the number of individuals that should be copied unchanged
+     * from one generation to the next.
+     *
+     * @param populationSize the number of individuals in each generation
+     * @return the number of elites
+     */
+    public static int eliteSize(int populationSize) {
+        return populationSize / 20;
+    }
+
+
+    /**
+     * Returns the number of individuals of a generation produced by
+     * crossover.
+     *
+     * @param populationSize the number of individuals in each generation
+     * @return the number of individuals bred
+     */
+    public static int crossoverSize(int populationSize) {
+        return populationSize - eliteSize(populationSize) - populationSize / 5;
+    }
+
+
+    /**
+     * Returns the number of individuals of a generation to mutate.
+     *
+     * @param populationSize the number of individuals in each generation
+     * @return the number of mutations
+     */
+    public static int mutationNumber(int populationSize) {
+        return populationSize / 4;
+    }
+
+
+    /**
+     * Warm-starts this search from known folds of its sequence, such as
+     * those found by earlier searches: the least fit quarter of the
+     * current generation is replaced by the folds, each followed by
+     * mutants of it, so the rest keeps the diversity of a random start.
+     * Must be called before <code>evolve</code>.
+     *
+     * @param seeds folds of this search's sequence, fittest first
+     */
+    public void seed(List<Chromosome> seeds) {
+        if (seeds.isEmpty()) {
+            return;
+        }
+        int size = this.currentGeneration.size();
+        Chromosome[] chromosomes = new Chromosome[size];
+        for (int i = 0; i < size; i++) {
+            chromosomes[i] = this.currentGeneration.get(i);
+        }
+
+        // Share the least fit quarter among the seeds and their mutants.
+        int room = size / 4;
+        int next = size - 1;
+        for (int s = 0; s < seeds.size() && s < room; s++) {
+            Chromosome seed = seeds.get(s);
+            if (seed.getAcids().length != this.acidString.length()) {
+                throw new IllegalArgumentException("A seed has " + seed.getAcids().length
+                        + " acids, not " + this.acidString.length());
+            }
+            chromosomes[next--] = seed;
+            int share = room / Math.min(seeds.size(), room) - 1;
+            for (int m = 0; m < share; m++) {
+                int pivot = this.random.nextInt(this.acidString.length() - 2) + 1;
+                Chromosome mutant = Chromosome.mutate(seed, pivot, this.random);
+                this.metrics.recordMutation(mutant != null);
+                if (mutant != null) {
+                    chromosomes[next--] = mutant;
+                }
+            }
+        }
+        this.currentGeneration = Generation.fromChromosomes(this.acidString, chromosomes,
+                this.random, this.metrics);
+        this.metrics.recordGeneration(this.currentGeneration.getBest().getFitness(),
+                this.currentGeneration.getVolumeAtBest(),
+                this.currentGeneration.getFitnesses().size());
+    }
+
+
+    /**
+     * Sets how many generations without improvement pass before
+     * double-point mutation is applied.
+     *
+     * @param generations the number of generations without improvement
+     */
+    public void setStagnationThreshold(int generations) {
+        if (generations < 1) {
+            throw new IllegalArgumentException("Stagnation threshold must be positive");
+        }
+        this.stagnationThreshold = generations;
+    }
+
+
+    /**
+     * Enables periodic checkpoints of this search. Checkpoints are written
+     * off the search thread, each replacing the last atomically, and a
+     * final checkpoint is written when <code>evolve</code> returns.
+     *
+     * @param path the file to write checkpoints to
+     * @param intervalMillis the minimum time between checkpoints in milliseconds
+     */
+    public void enableCheckpoints(Path path, long intervalMillis) {
+        this.checkpointer = new Checkpointer(path, intervalMillis);
+    }
+
+
+    /**
+     * Hybridizes this search with local search: the elites of every
+     * generation are refined with pull and other local moves before the
+     * generation is sorted.
+     *
+     * @param localSearch the local search to apply, or <code>null</code> for none
+     */
+    public void setLocalSearch(LocalSearch localSearch) {
+        this.localSearch = localSearch;
+    }
+
+
+    /**
+     * Adapts the effort put into each breeding operator as the search
+     * goes, in place of the fixed shares of the population and the switch
+     * to double-point mutation after a stretch without improvement. If a
+     * local search has been set, it becomes one of the operators rather
+     * than refining the elites.
+     *
+     * @param adaptive whether to adapt the operators
+     */
+    public void setAdaptiveOperators(boolean adaptive) {
+        this.adaptiveOperators = adaptive;
+    }
+
+
+    /**
+     * Partially restarts the population, re-seeding all but its fittest
+     * individuals, whenever the given policy finds that its diversity has
+     * collapsed. Diversity is measured every generation either way.
+     *
+     * @param policy the restart policy, or <code>null</code> never to restart
+     */
+    public void setRestartPolicy(RestartPolicy policy) {
+        this.restartPolicy = policy;
+    }
+
+
+    /**
+     * Records the history of this search, from its current generation on,
+     * to the run history files with the given base name, replacing any
+     * existing history there. The history is closed when
+     * <code>evolve</code> returns.
+     *
+     * @param base the path of the history files, without extension
+     * @throws IOException if the history files cannot be created
+     */
+    public void recordHistory(Path base) throws IOException {
+        this.history = new RunHistoryWriter(base, this.acidString);
+        this.appendHistory(true, this.currentGeneration.getBest());
     }
 
 
@@ -100,43 +452,230 @@ public class Population extends Observable {
     }
 
 
+    /**
+     * Returns the live statistics of this search.
+     *
+     * @return the statistics of this search
+     */
+    public SearchMetrics getMetrics() {
+        return this.metrics;
+    }
+
+
+    /**
+     * Registers a subscriber to be sent a <code>Message</code> whenever
+     * the search finds a fitter individual. Subscribers are completed
+     * when the search ends.
+     *
+     * @param subscriber the subscriber interested in search progress
+     */
+    public void subscribe(Flow.Subscriber<? super Message> subscriber) {
+        this.publisher.subscribe(subscriber);
+    }
+
+
+    /**
+     * Offers the fittest individuals of every generation to a hall of
+     * fame, until it would turn the rest away.
+     *
+     * @param hallOfFame the hall of fame, or <code>null</code> for none
+     */
+    public void setHallOfFame(HallOfFame hallOfFame) {
+        this.hallOfFame = hallOfFame;
+    }
+
+
+    /**
+     * Asks the search to stop after the generation being bred.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+
     /**
      * Implements the main loop of the genetic algorithm. Generates
-     * successive generations until a solution is reached.
+     * successive generations until a solution is reached or the search
+     * is cancelled. The statistics of the search are registered over JMX
+     * for the duration.
      */
     public void evolve() {
+        this.metrics.register();
+        try {
+            this.breedUntilTargetReached();
+        } finally {
+            if (this.checkpointer != null) {
+                this.checkpointer.submit(this.captureCheckpoint());
+                this.checkpointer.close();
+            }
+            if (this.history != null) {
+                try {
+                    this.history.close();
+                } catch (IOException e) {
+                    System.err.println("Could not close run history: " + e);
+                }
+            }
+            this.metrics.unregister();
+            this.publisher.close();
+        }
+    }
+
+
+    /**
+     * Breeds successive generations until the target fitness is reached
+     * or the search is cancelled, publishing each improvement.
+     */
+    private void breedUntilTargetReached() {
         Chromosome currentBest = this.currentGeneration.getBest();
         int currentFitness = currentBest.getFitness();
-        // The number of Generations of the protein bred thus far.
-        int numberOfGenerations = 0;
-        // The last Generation that showed improved fitness.
-        int lastImprovement = 0;
+        // When progress was last reported to the log.
+        long lastLogged = System.nanoTime();
+        OperatorController controller = this.adaptiveOperators
+                ? new OperatorController(this.localSearch != null) : null;
+        this.enterHallOfFame();
+        // A seeded search may start at or near its target, so report where it starts.
+        this.publisher.publish(new Message(currentBest, this.numberOfGenerations));
 
         // Create successive generations until target fitness reached.
-        while (currentFitness > Population.this.targetFitness) {
-            numberOfGenerations++;
-            // Introduce double-point mutation after stretches without improvement.
-            if ((numberOfGenerations - lastImprovement) >= 150) {
-                this.nextGeneration = this.currentGeneration.produceNextGeneration(true);
+        while (currentFitness > this.stopFitness && !this.cancelled) {
+            this.numberOfGenerations++;
+            if (controller != null) {
+                this.nextGeneration = this.currentGeneration.produceNextGeneration(
+                        controller, this.localSearch);
+            } else if ((this.numberOfGenerations - this.lastImprovement)
+                    >= this.stagnationThreshold) {
+                // Introduce double-point mutation after stretches without improvement.
+                this.nextGeneration = this.currentGeneration.produceNextGeneration(true,
+                        this.localSearch);
             } else {
-                this.nextGeneration = this.currentGeneration.produceNextGeneration(false);
+                this.nextGeneration = this.currentGeneration.produceNextGeneration(false,
+                        this.localSearch);
             }
 
             // Check the results of producing a subsequent generation.
             currentBest = this.nextGeneration.getBest();
-            if (currentBest.getFitness() < currentFitness) {
-                lastImprovement = numberOfGenerations;
+            boolean improved = currentBest.getFitness() < currentFitness;
+            if (improved) {
+                this.lastImprovement = this.numberOfGenerations;
                 // Update GUI upon improvement.
-                setChanged();
-                notifyObservers(new Message(new Chromosome(currentBest), numberOfGenerations));
+                this.publisher.publish(new Message(currentBest,
+                        this.numberOfGenerations));
             }
 
-            // Update the generations and print tracking date to terminal.
+            // Update the generations and report tracking data, sampled.
             this.currentGeneration = this.nextGeneration;
             currentFitness = currentBest.getFitness();
-            System.out.println("Generation " + numberOfGenerations + '\t' +
-                    this.nextGeneration.reportFittestAndVolume());
+            this.enterHallOfFame();
+            this.trackDiversity();
+            long now = System.nanoTime();
+            if (improved || now - lastLogged >= ProgressLog.SAMPLE_INTERVAL) {
+                lastLogged = now;
+                this.log.record(this.metrics.getId(), this.numberOfGenerations,
+                        currentFitness, this.currentGeneration.getVolumeAtBest(),
+                        this.currentGeneration.size());
+            }
+            if (this.history != null) {
+                this.appendHistory(improved, currentBest);
+            }
+
+            if (this.checkpointer != null && this.checkpointer.isDue()) {
+                this.checkpointer.submit(this.captureCheckpoint());
+            }
         }
     }
 
+
+    /**
+     * Offers the individuals of the current generation, fittest first, to
+     * the hall of fame, stopping at the first it is sure to turn away.
+     */
+    private void enterHallOfFame() {
+        if (this.hallOfFame == null) {
+            return;
+        }
+        for (int i = 0; i < this.currentGeneration.size(); i++) {
+            Chromosome individual = this.currentGeneration.get(i);
+            if (!this.hallOfFame.admits(individual.getFitness())) {
+                break;
+            }
+            this.hallOfFame.offer(individual);
+        }
+    }
+
+
+    /**
+     * Measures the diversity of the fittest quarter of the current
+     * generation and restarts it if the restart policy calls for it. The
+     * fittest individuals survive a restart, so the best fitness is
+     * unchanged.
+     */
+    private void trackDiversity() {
+        DiversityEvent event = new DiversityEvent();
+        event.begin();
+        int size = this.currentGeneration.size();
+        // Judge the fittest quarter, which selection mostly draws on.
+        int span = size / 4;
+        double moveDiversity = this.currentGeneration.measureMoveDiversity(span);
+        int distinctFolds = this.currentGeneration.countDistinctFolds(span);
+        this.metrics.recordDiversity(moveDiversity, distinctFolds);
+
+        boolean restarted = this.restartPolicy != null
+                && this.restartPolicy.shouldRestart(moveDiversity, distinctFolds,
+                        span, this.numberOfGenerations - this.lastRestart);
+        if (restarted) {
+            this.currentGeneration = this.currentGeneration.reseed(
+                    this.restartPolicy.getSurvivors(size));
+            this.lastRestart = this.numberOfGenerations;
+            this.metrics.recordRestart();
+        }
+
+        if (event.shouldCommit()) {
+            event.generation = this.numberOfGenerations;
+            event.moveDiversity = moveDiversity;
+            event.distinctFolds = distinctFolds;
+            event.populationSize = size;
+            event.restarted = restarted;
+            event.commit();
+        }
+    }
+
+
+    /**
+     * Appends the current generation, and its best individual if it is an
+     * improvement, to the run history. Recording stops, without stopping
+     * the search, if the history cannot be written.
+     *
+     * @param improved whether the current generation improved on the last
+     * @param best the fittest individual of the current generation
+     */
+    private void appendHistory(boolean improved, Chromosome best) {
+        try {
+            if (improved) {
+                this.history.appendImprovement(this.numberOfGenerations, best);
+            }
+            this.history.appendGeneration(this.numberOfGenerations,
+                    best.getFitness(), this.currentGeneration.getVolumeAtBest(),
+                    this.currentGeneration.getFitnesses().size());
+        } catch (IOException e) {
+            System.err.println("Could not record run history: " + e);
+            try {
+                this.history.close();
+            } catch (IOException ignored) {
+                // Already reported; the history is abandoned either way.
+            }
+            this.history = null;
+        }
+    }
+
+
+    /**
+     * Captures the current state of this search.
+     *
+     * @return a checkpoint of the current generation
+     */
+    private Checkpoint captureCheckpoint() {
+        return new Checkpoint(this.currentGeneration, this.numberOfGenerations,
+                this.lastImprovement, this.targetFitness, this.random);
+    }
+
 }
@@ -0,0 +1,476 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Races several differently configured engines on the same sequence and
+ * stops as soon as the first of them reaches the target. Which population
+ * size, stagnation threshold or method works best depends heavily on the
+ * sequence, so rather than guessing, a portfolio runs them all at once on
+ * a shared pool and cancels the rest when one reaches the target. A
+ * configuration that ends without reaching it, such as the exact solver
+ * proving the target out of reach, does not win. The winner is named on
+ * the last <code>Message</code> published and in the
+ * <code>ProgressLog</code>, along with any configuration that fails.
+ *
+ * <p>Each engine is built on its own thread of the pool, so a
+ * configuration that is slow to set up, such as a large population of a
+ * long sequence, does not hold up the others. Subscribers see a single
+ * search: every improvement on the best structure found by any
+ * configuration is published, and nothing else.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class Portfolio implements FoldingEngine {
+
+    /**
+     * The longest sequence for which the standard portfolio includes the
+     * exact solver.
+     */
+    public static final int EXACT_MAX_LENGTH = 30;
+
+    private final String acidString;
+    private final int targetFitness;
+    private final List<Contender> contenders;
+    private final ProgressPublisher publisher;
+
+    /**
+     * The statistics reported before any configuration has found a
+     * structure. Never registered; each engine registers its own.
+     */
+    private final SearchMetrics metrics;
+
+    /**
+     * Released once a configuration has won, every configuration has
+     * failed or ended short of the target, or the race has been cancelled.
+     */
+    private final CountDownLatch decided;
+
+    /**
+     * The number of configurations still in the race.
+     */
+    private final AtomicInteger running;
+
+    /**
+     * The fittest structure found by any configuration, and the
+     * configuration that found it. Guarded by <code>this</code>.
+     */
+    private Chromosome best;
+    private int bestGeneration;
+    private Contender leader;
+
+    /**
+     * The configuration that reached the target first, or <code>null</code>
+     * if none has. Guarded by <code>this</code>.
+     */
+    private Contender winner;
+
+    /**
+     * Whether the last message has been published, after which no more
+     * improvements are relayed. Guarded by <code>this</code>.
+     */
+    private boolean closed;
+
+    /**
+     * The hall of fame shared by every configuration, or <code>null</code>
+     * if the fittest are not kept.
+     */
+    private HallOfFame hallOfFame;
+
+    /**
+     * Whether the portfolio has been asked to stop early.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Builds an empty portfolio; configurations are added with
+     * <code>add</code> before <code>evolve</code> is called.
+     *
+     * @param acidString the sequence of amino acids compromising the protein
+     * @param targetFitness the goal fitness for the search being performed
+     */
+    public Portfolio(String acidString, int targetFitness) {
+        this.acidString = acidString;
+        this.targetFitness = targetFitness;
+        this.contenders = new ArrayList<>();
+        this.publisher = new ProgressPublisher();
+        this.metrics = new SearchMetrics(acidString, targetFitness);
+        this.decided = new CountDownLatch(1);
+        this.running = new AtomicInteger();
+    }
+
+    /**
+     * Builds a portfolio of genetic algorithms with small, default and
+     * large populations, each with a stagnation threshold to match, one
+     * adapting its operators, one in steady state and one breeding
+     * asynchronously, alongside parallel tempering, chain growth and, for
+     * short sequences, the exact solver. The parallel engines are given a
+     * share of the processors rather than all of them.
+     *
+     * @param acidString the sequence of amino acids compromising the protein
+     * @param targetFitness the goal fitness for the search being performed
+     * @return a portfolio ready to be run by a <code>Search</code>
+     */
+    public static Portfolio standard(String acidString, int targetFitness) {
+        Portfolio portfolio = new Portfolio(acidString, targetFitness);
+        // Pairs of population size and stagnation threshold.
+        int[][] populations = {
+            {200, 50},
+            {Population.POP_SIZE, Population.STAGNATION_THRESHOLD},
+            {1000, 300}
+        };
+        for (int[] configuration : populations) {
+            portfolio.add("Genetic algorithm, population " + configuration[0]
+                    + ", stagnation " + configuration[1], () -> {
+                Population population = new Population(acidString, targetFitness,
+                        configuration[0], new Random());
+                population.setStagnationThreshold(configuration[1]);
+                population.setLocalSearch(new LocalSearch());
+                return population;
+            });
+        }
+
+        portfolio.add("Genetic algorithm, adaptive operators", () -> {
+            Population population = new Population(acidString, targetFitness);
+            population.setLocalSearch(new LocalSearch());
+            population.setAdaptiveOperators(true);
+            return population;
+        });
+
+        portfolio.add("Steady-state genetic algorithm", () -> {
+            SteadyState steadyState = new SteadyState(acidString, targetFitness);
+            steadyState.setLocalSearch(new LocalSearch());
+            return steadyState;
+        });
+
+        int share = Math.max(2, Runtime.getRuntime().availableProcessors() / 3);
+        portfolio.add("Asynchronous genetic algorithm, " + share + " breeders", () -> {
+            AsyncPopulation population = new AsyncPopulation(acidString, targetFitness,
+                    Population.POP_SIZE, share, new Random());
+            population.setLocalSearch(new LocalSearch());
+            return population;
+        });
+        portfolio.add("Parallel tempering, " + share + " replicas",
+                () -> new ParallelTempering(acidString, targetFitness, share, new Random()));
+        portfolio.add("Chain growth, " + share + " workers",
+                () -> new ChainGrowth(acidString, targetFitness, share, new Random()));
+        if (acidString.length() <= EXACT_MAX_LENGTH) {
+            portfolio.add("Exact", () -> new ExactSolver(acidString, targetFitness));
+        }
+        return portfolio;
+    }
+
+    /**
+     * Adds a configuration to the race. The engine is built when the race
+     * starts, and must search the same sequence for the same target as
+     * the portfolio.
+     *
+     * @param name the name recorded if this configuration wins
+     * @param factory builds the engine of this configuration
+     */
+    public void add(String name, Supplier<? extends FoldingEngine> factory) {
+        this.contenders.add(new Contender(name, factory));
+    }
+
+    /**
+     * Returns the names of the configurations in the race, in the order
+     * they were added.
+     *
+     * @return the configuration names
+     */
+    public List<String> getConfigurations() {
+        List<String> names = new ArrayList<>(this.contenders.size());
+        for (Contender contender : this.contenders) {
+            names.add(contender.name);
+        }
+        return names;
+    }
+
+    /**
+     * Returns the name of the configuration that reached the target first.
+     *
+     * @return the winning configuration, or <code>null</code> if none has
+     *         reached the target, because the race is still on, was
+     *         cancelled or was lost by every configuration
+     */
+    public synchronized String getWinner() {
+        return (this.winner == null) ? null : this.winner.name;
+    }
+
+    /**
+     * Returns the fittest structure found by any configuration.
+     *
+     * @return the fittest structure, or <code>null</code> if none has been reported
+     */
+    public synchronized Chromosome getBest() {
+        return this.best;
+    }
+
+    @Override
+    public String getAcidString() {
+        return this.acidString;
+    }
+
+    @Override
+    public int getTargetFitness() {
+        return this.targetFitness;
+    }
+
+    /**
+     * Returns the live statistics of the configuration in the lead, or
+     * empty statistics before any configuration has found a structure.
+     *
+     * @return the statistics of the leading configuration
+     */
+    @Override
+    public synchronized SearchMetrics getMetrics() {
+        return (this.leader != null) ? this.leader.engine.getMetrics() : this.metrics;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Message> subscriber) {
+        this.publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Shares a hall of fame among every configuration, so that it keeps
+     * the fittest folds found by any of them.
+     *
+     * @param hallOfFame the hall of fame, or <code>null</code> for none
+     */
+    @Override
+    public void setHallOfFame(HallOfFame hallOfFame) {
+        this.hallOfFame = hallOfFame;
+    }
+
+    /**
+     * Runs every configuration on its own thread of a shared pool until
+     * the first reaches the target, then cancels the others. Returns once
+     * the winner has been announced on a last message repeating the
+     * fittest structure found; the others stop in the background at their
+     * next opportunity. A configuration that fails is logged and left out
+     * of the race.
+     */
+    @Override
+    public void evolve() {
+        if (this.contenders.isEmpty()) {
+            throw new IllegalStateException("A portfolio needs at least one configuration");
+        }
+        this.running.set(this.contenders.size());
+        ExecutorService pool = Executors.newFixedThreadPool(this.contenders.size(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "portfolio");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ProgressLog.getInstance().note("Portfolio racing "
+                + String.join("; ", this.getConfigurations()));
+        try {
+            for (Contender contender : this.contenders) {
+                pool.execute(() -> this.race(contender));
+            }
+            this.decided.await();
+            this.announce();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.cancel();
+        } finally {
+            pool.shutdown();
+            this.publisher.close();
+        }
+    }
+
+    /**
+     * Cancels every configuration still running.
+     */
+    @Override
+    public void cancel() {
+        this.cancelled = true;
+        for (Contender contender : this.contenders) {
+            FoldingEngine engine = contender.engine;
+            if (engine != null) {
+                engine.cancel();
+            }
+        }
+        this.decided.countDown();
+    }
+
+    /**
+     * The body of a configuration's thread: builds and runs the engine
+     * and, if it reaches the target before any other, records it as the
+     * winner and cancels the rest.
+     *
+     * @param contender the configuration to run
+     */
+    private void race(Contender contender) {
+        try {
+            FoldingEngine engine = contender.factory.get();
+            if (!engine.getAcidString().equals(this.acidString)
+                    || engine.getTargetFitness() != this.targetFitness) {
+                throw new IllegalArgumentException(
+                        "It searches for a different fold than the portfolio");
+            }
+            engine.subscribe(contender);
+            engine.setHallOfFame(this.hallOfFame);
+            contender.engine = engine;
+            // A race decided while the engine was being built has no use for it.
+            if (this.cancelled || this.isDecided()) {
+                engine.cancel();
+            }
+            engine.evolve();
+            // Its last report must be in before it can be judged.
+            contender.relayed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.drop(contender, "was interrupted");
+            return;
+        } catch (RuntimeException e) {
+            this.drop(contender, "failed: " + e);
+            return;
+        }
+
+        Message last = contender.last;
+        if (last == null || last.getFitness() > this.targetFitness) {
+            if (!this.cancelled && !this.isDecided()) {
+                this.drop(contender, "ended without reaching the target");
+            }
+            return;
+        }
+        synchronized (this) {
+            if (this.winner != null || this.cancelled) {
+                return;
+            }
+            this.winner = contender;
+        }
+        for (Contender other : this.contenders) {
+            FoldingEngine engine = other.engine;
+            if (other != contender && engine != null) {
+                engine.cancel();
+            }
+        }
+        this.decided.countDown();
+    }
+
+    /**
+     * Leaves a configuration out of the race, logging why, and decides
+     * the race if it was the last still running.
+     *
+     * @param contender the configuration to leave out
+     * @param reason why it is left out
+     */
+    private void drop(Contender contender, String reason) {
+        ProgressLog.getInstance().note("Portfolio configuration "
+                + contender.name + " " + reason);
+        if (this.running.decrementAndGet() == 0) {
+            this.decided.countDown();
+        }
+    }
+
+    /**
+     * Publishes the last message once the race is decided, naming the
+     * winner if there is one, and logs the outcome. Nothing is relayed
+     * after it.
+     */
+    private synchronized void announce() {
+        this.closed = true;
+        if (this.winner != null) {
+            ProgressLog.getInstance().note("Portfolio won by " + this.winner.name);
+            this.publisher.publish(new Message(this.best, this.bestGeneration,
+                    this.winner.name));
+        } else if (!this.cancelled) {
+            ProgressLog.getInstance().note("Portfolio ended with no configuration"
+                    + " reaching the target");
+        }
+    }
+
+    /**
+     * Returns whether a configuration has won.
+     *
+     * @return whether the race has a winner
+     */
+    private synchronized boolean isDecided() {
+        return this.winner != null;
+    }
+
+    /**
+     * Publishes a structure found by a configuration if it is fitter than
+     * any found so far.
+     *
+     * @param contender the configuration that found it
+     * @param message the configuration's report of the structure
+     */
+    private synchronized void relay(Contender contender, Message message) {
+        if (this.closed
+                || (this.best != null && message.getFitness() >= this.best.getFitness())) {
+            return;
+        }
+        this.best = message.getChromosome();
+        this.bestGeneration = message.getGeneration();
+        this.leader = contender;
+        this.publisher.publish(message);
+    }
+
+
+    /**
+     * A configuration in the race, subscribed to its own engine's progress
+     * so that improvements can be relayed.
+     */
+    private class Contender implements Flow.Subscriber<Message> {
+
+        private final String name;
+        private final Supplier<? extends FoldingEngine> factory;
+
+        /**
+         * Released once the engine's last report has been relayed.
+         */
+        private final CountDownLatch relayed = new CountDownLatch(1);
+
+        /**
+         * The engine, once built.
+         */
+        private volatile FoldingEngine engine;
+
+        /**
+         * The fittest structure the engine has reported, or
+         * <code>null</code> if none yet.
+         */
+        private volatile Message last;
+
+        Contender(String name, Supplier<? extends FoldingEngine> factory) {
+            this.name = name;
+            this.factory = factory;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Message message) {
+            if (this.last == null || message.getFitness() < this.last.getFitness()) {
+                this.last = message;
+            }
+            Portfolio.this.relay(this, message);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.relayed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            this.relayed.countDown();
+        }
+
+    }
+
+}
@@ -0,0 +1,239 @@
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An asynchronous sink for the per-generation progress lines of every
+ * running search. Searches hand over primitive fields only; formatting and
+ * console output happen on a single writer thread, so a search never waits
+ * on <code>System.out</code>. Records are passed through a fixed-size ring
+ * buffer; if the writer falls behind, new records are dropped rather than
+ * blocking the search, and the number dropped is reported. Rare events,
+ * such as the outcome of a race between engines, are logged as notes of
+ * free text, which are never dropped.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class ProgressLog {
+
+    /**
+     * The minimum time between two logged generations of the same search,
+     * in nanoseconds. Improvements are always logged.
+     */
+    public static final long SAMPLE_INTERVAL = 100_000_000L;
+
+    /**
+     * The number of records the ring buffer holds. A power of two.
+     */
+    private static final int CAPACITY = 1 << 12;
+
+    /**
+     * The number of <code>ints</code> in each record.
+     */
+    private static final int FIELDS = 5;
+
+    /**
+     * How long the writer thread sleeps when there is nothing to write,
+     * in nanoseconds.
+     */
+    private static final long IDLE_WAIT = 2_000_000L;
+
+    /**
+     * The sink shared by every search in the process.
+     */
+    private static final ProgressLog instance = new ProgressLog(
+            new OutputStreamWriter(new FileOutputStream(FileDescriptor.out),
+                    StandardCharsets.UTF_8));
+
+    /**
+     * The fields of each record, laid out record after record.
+     */
+    private final int[] records;
+
+    /**
+     * For each slot, one more than the sequence number of the record last
+     * published in it. A slot is readable once this matches.
+     */
+    private final AtomicLongArray published;
+
+    /**
+     * The sequence number of the next record to be claimed by a producer.
+     */
+    private final AtomicLong tail;
+
+    /**
+     * The sequence number of the next record to be written out. Only
+     * advanced by the writer thread.
+     */
+    private volatile long head;
+
+    /**
+     * The number of records dropped because the ring buffer was full.
+     */
+    private final LongAdder dropped;
+
+    /**
+     * Notes waiting to be written.
+     */
+    private final Queue<String> notes;
+
+    /**
+     * Where formatted lines are written.
+     */
+    private final Writer out;
+
+    /**
+     * Builds a new sink writing to the given <code>Writer</code> and
+     * starts its writer thread.
+     *
+     * @param out the destination of the formatted progress lines
+     */
+    public ProgressLog(Writer out) {
+        this.records = new int[CAPACITY * FIELDS];
+        this.published = new AtomicLongArray(CAPACITY);
+        this.tail = new AtomicLong();
+        this.head = 0;
+        this.dropped = new LongAdder();
+        this.notes = new ConcurrentLinkedQueue<>();
+        this.out = new BufferedWriter(out, 1 << 16);
+
+        Thread writer = new Thread(this::writeLoop, "progress-log");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drain));
+    }
+
+    /**
+     * Returns the sink shared by every search, which writes to standard
+     * output.
+     *
+     * @return the shared progress log
+     */
+    public static ProgressLog getInstance() {
+        return ProgressLog.instance;
+    }
+
+    /**
+     * Hands a generation's statistics to the writer thread. Never blocks
+     * and does no formatting.
+     *
+     * @param searchId the number identifying the search
+     * @param generation the number of the generation
+     * @param bestFitness the best fitness in the generation
+     * @param volumeAtBest the number of individuals with the best fitness
+     * @param populationSize the number of individuals in the generation
+     * @return whether the record was accepted rather than dropped
+     */
+    public boolean record(int searchId,
+                          int generation,
+                          int bestFitness,
+                          int volumeAtBest,
+                          int populationSize) {
+        // Claim a slot, giving up if the writer has not freed one.
+        long sequence;
+        do {
+            sequence = this.tail.get();
+            if (sequence - this.head >= CAPACITY) {
+                this.dropped.increment();
+                return false;
+            }
+        } while (!this.tail.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) (sequence & (CAPACITY - 1));
+        int offset = slot * FIELDS;
+        this.records[offset] = searchId;
+        this.records[offset + 1] = generation;
+        this.records[offset + 2] = bestFitness;
+        this.records[offset + 3] = volumeAtBest;
+        this.records[offset + 4] = populationSize;
+        this.published.lazySet(slot, sequence + 1);
+        return true;
+    }
+
+    /**
+     * Hands a line of free text to the writer thread, to be written after
+     * the records already accepted. Meant for rare events; a note is never
+     * dropped.
+     *
+     * @param note the line to write, without its line break
+     */
+    public void note(String note) {
+        this.notes.add(note);
+    }
+
+    /**
+     * The body of the writer thread: writes out records as they are
+     * published, flushing whenever it catches up.
+     */
+    private void writeLoop() {
+        while (true) {
+            if (!this.drain()) {
+                LockSupport.parkNanos(IDLE_WAIT);
+            }
+        }
+    }
+
+    /**
+     * Writes out every record and note published so far and flushes the
+     * output.
+     *
+     * @return whether anything was written
+     */
+    private synchronized boolean drain() {
+        StringBuilder line = new StringBuilder(64);
+        long start = this.head;
+        long sequence = start;
+        long alreadyDropped = this.dropped.sum();
+        boolean written = false;
+        try {
+            while (true) {
+                int slot = (int) (sequence & (CAPACITY - 1));
+                if (this.published.get(slot) != sequence + 1) {
+                    break;
+                }
+                int offset = slot * FIELDS;
+                line.setLength(0);
+                line.append("Search ").append(this.records[offset])
+                        .append("\tGeneration ").append(this.records[offset + 1])
+                        .append('\t').append(this.records[offset + 2])
+                        .append(": ").append(this.records[offset + 3])
+                        .append(" / ").append(this.records[offset + 4])
+                        .append('\n');
+                sequence++;
+                this.head = sequence;
+                this.out.append(line);
+            }
+
+            String note;
+            while ((note = this.notes.poll()) != null) {
+                this.out.append(note).append('\n');
+                written = true;
+            }
+
+            if (alreadyDropped > 0) {
+                this.out.append("Progress log dropped ")
+                        .append(Long.toString(alreadyDropped)).append(" records\n");
+                this.dropped.add(-alreadyDropped);
+            }
+            if (sequence != start || alreadyDropped > 0 || written) {
+                this.out.flush();
+            }
+        } catch (IOException e) {
+            // Progress output is best effort; skip what could not be written.
+            this.head = sequence;
+        }
+        return sequence != start || alreadyDropped > 0 || written;
+    }
+
+}
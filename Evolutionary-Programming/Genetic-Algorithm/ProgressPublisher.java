@@ -0,0 +1,110 @@
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Publishes the progress of a search to any number of subscribers without
+ * ever blocking the thread performing the search. Each subscriber is given
+ * a single latest-value slot: publishing overwrites the slot, and delivery
+ * happens on an <code>Executor</code>, so a slow subscriber only ever sees
+ * the newest <code>Message</code> and intermediate improvements are
+ * coalesced away.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class ProgressPublisher implements Flow.Publisher<Message> {
+
+    /**
+     * The subscriptions currently registered with this publisher. Reads
+     * (one per published <code>Message</code>) vastly outnumber writes.
+     */
+    private final CopyOnWriteArrayList<LatestValueSubscription> subscriptions;
+
+    /**
+     * The <code>Executor</code> on which subscribers are signalled.
+     */
+    private final Executor executor;
+
+    /**
+     * Whether <code>close</code> has been called.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Builds a new publisher that signals its subscribers on the common
+     * <code>ForkJoinPool</code>.
+     */
+    public ProgressPublisher() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Builds a new publisher that signals its subscribers on the provided
+     * <code>Executor</code>.
+     *
+     * @param executor the <code>Executor</code> used to deliver messages
+     */
+    public ProgressPublisher(Executor executor) {
+        this.subscriptions = new CopyOnWriteArrayList<>();
+        this.executor = executor;
+        this.closed = false;
+    }
+
+    /**
+     * Registers a new subscriber. A subscriber that arrives after the
+     * publisher has been closed is completed immediately.
+     *
+     * @param subscriber the subscriber interested in search progress
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super Message> subscriber) {
+        LatestValueSubscription subscription =
+                new LatestValueSubscription(subscriber, this.executor);
+        this.subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+        if (this.closed) {
+            subscription.complete();
+        }
+    }
+
+    /**
+     * Offers a new snapshot to every subscriber. Never blocks; any
+     * snapshot not yet delivered to a subscriber is replaced.
+     *
+     * @param message the newest snapshot of the search
+     */
+    public void publish(Message message) {
+        for (LatestValueSubscription subscription : this.subscriptions) {
+            if (subscription.isCancelled()) {
+                this.subscriptions.remove(subscription);
+            } else {
+                subscription.offer(message);
+            }
+        }
+    }
+
+    /**
+     * Completes every subscriber once its final pending snapshot, if any,
+     * has been delivered.
+     */
+    public void close() {
+        this.closed = true;
+        for (LatestValueSubscription subscription : this.subscriptions) {
+            subscription.complete();
+        }
+        this.subscriptions.clear();
+    }
+
+    /**
+     * Returns whether any subscriber is still listening. Publishers may use
+     * this to skip building snapshots nobody will receive.
+     *
+     * @return whether there is at least one live subscription
+     */
+    public boolean hasSubscribers() {
+        return !this.subscriptions.isEmpty();
+    }
+
+}
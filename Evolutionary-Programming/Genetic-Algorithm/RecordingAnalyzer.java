@@ -0,0 +1,150 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Summarizes a Flight Recorder recording of one or more searches into a
+ * breakdown of the time spent in each phase of breeding a
+ * <code>Generation</code>, along with the failures of the genetic
+ * operators and the diversity of the population. Record a search with, for example,
+ * <code>java -XX:StartFlightRecording=filename=search.jfr Searcher</code>
+ * and then run <code>java RecordingAnalyzer search.jfr</code>.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class RecordingAnalyzer {
+
+    /**
+     * The phases of breeding, named as the fields of
+     * <code>GenerationEvent</code>, in the order they run.
+     */
+    private static final String[] PHASES = {"selection", "crossover",
+            "randomFill", "mutation", "localSearch", "sort", "statistics"};
+
+    /**
+     * Total time spent in each phase in nanoseconds.
+     */
+    private long[] phaseTotals;
+
+    /**
+     * Total wall time of all recorded generations in nanoseconds.
+     */
+    private long wallTotal;
+
+    private long generations;
+    private long crossoverFailures;
+    private long mutationFailures;
+    private long randomWalkRejections;
+    private long diversitySamples;
+    private double moveDiversityTotal;
+    private long distinctFoldsTotal;
+    private double minMoveDiversity = 1;
+    private long restarts;
+
+    /**
+     * Builds a new, empty summary.
+     */
+    public RecordingAnalyzer() {
+        this.phaseTotals = new long[PHASES.length];
+    }
+
+    /**
+     * Adds every relevant event in the given recording to the summary.
+     *
+     * @param recording the path of the <code>.jfr</code> file
+     * @throws IOException if the recording cannot be read
+     */
+    public void analyze(Path recording) throws IOException {
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String name = event.getEventType().getName();
+                if ("GeneticAlgorithm.Generation".equals(name)) {
+                    this.generations++;
+                    this.wallTotal += event.getDuration().toNanos();
+                    for (int i = 0; i < PHASES.length; i++) {
+                        this.phaseTotals[i] += event.getLong(PHASES[i]);
+                    }
+                } else if ("GeneticAlgorithm.OperatorFailures".equals(name)) {
+                    this.crossoverFailures += event.getInt("crossoverFailures");
+                    this.mutationFailures += event.getInt("mutationFailures");
+                    this.randomWalkRejections += event.getLong("randomWalkRejections");
+                } else if ("GeneticAlgorithm.Diversity".equals(name)) {
+                    double moveDiversity = event.getDouble("moveDiversity");
+                    this.diversitySamples++;
+                    this.moveDiversityTotal += moveDiversity;
+                    this.minMoveDiversity = Math.min(this.minMoveDiversity, moveDiversity);
+                    this.distinctFoldsTotal += event.getInt("distinctFolds");
+                    if (event.getBoolean("restarted")) {
+                        this.restarts++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a human readable report of the summary.
+     *
+     * @return the per-phase time breakdown and failure totals
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append("Generations: ").append(this.generations).append('\n');
+        if (this.generations == 0) {
+            return report.toString();
+        }
+
+        report.append(String.format("%-12s %12s %10s %8s%n",
+                "Phase", "Total (ms)", "Mean (us)", "Share"));
+        long accounted = 0;
+        for (int i = 0; i < PHASES.length; i++) {
+            accounted += this.phaseTotals[i];
+            report.append(this.formatRow(PHASES[i], this.phaseTotals[i]));
+        }
+        report.append(this.formatRow("other", this.wallTotal - accounted));
+        report.append(this.formatRow("total", this.wallTotal));
+
+        report.append("Crossover failures: ").append(this.crossoverFailures).append('\n');
+        report.append("Mutation failures: ").append(this.mutationFailures).append('\n');
+        report.append("Random walk rejections: ").append(this.randomWalkRejections).append('\n');
+        if (this.diversitySamples > 0) {
+            report.append(String.format("Move diversity: mean %.3f, min %.3f%n",
+                    this.moveDiversityTotal / this.diversitySamples, this.minMoveDiversity));
+            report.append(String.format("Distinct folds: mean %.1f%n",
+                    (double) this.distinctFoldsTotal / this.diversitySamples));
+            report.append("Restarts: ").append(this.restarts).append('\n');
+        }
+        return report.toString();
+    }
+
+    /**
+     * Formats a single row of the time breakdown.
+     *
+     * @param phase the name of the phase
+     * @param nanos the total time spent in the phase in nanoseconds
+     * @return the formatted row
+     */
+    private String formatRow(String phase, long nanos) {
+        double share = (this.wallTotal == 0) ? 0 : 100.0 * nanos / this.wallTotal;
+        return String.format("%-12s %12.1f %10.1f %7.1f%%%n", phase,
+                nanos / 1e6, nanos / 1e3 / this.generations, share);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: java RecordingAnalyzer <recording.jfr>...");
+            System.exit(1);
+        }
+
+        RecordingAnalyzer analyzer = new RecordingAnalyzer();
+        for (String arg : args) {
+            analyzer.analyze(Paths.get(arg));
+        }
+        System.out.print(analyzer.report());
+    }
+
+}
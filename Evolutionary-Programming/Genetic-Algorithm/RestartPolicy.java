@@ -0,0 +1,114 @@
+/**
+ * Decides when a <code>Population</code> that has collapsed onto a single
+ * fold family should be partially restarted, and how much of it to
+ * replace. A restart keeps the elites, so the best structure found is
+ * never lost, and replaces some or all of the rest with random
+ * individuals, giving crossover something new to work with.
+ *
+ * <p>Diversity is judged among the fittest quarter of the population,
+ * from which selection mostly draws; the rest is dominated by fresh random
+ * individuals and mutants, which keep it looking diverse however stalled
+ * the search. A restart is triggered when either measure falls below its
+ * threshold: the mean fraction of moves at which those individuals
+ * differ, or the number of distinct fold families among them as a
+ * fraction of their number. A cooldown gives the new individuals time
+ * to be bred in before diversity is judged again.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class RestartPolicy {
+
+    /**
+     * The move diversity below which the standard policy restarts.
+     */
+    public static final double DEFAULT_MIN_MOVE_DIVERSITY = 0.1;
+
+    /**
+     * The fraction of the individuals judged that must be distinct folds,
+     * below which the standard policy restarts.
+     */
+    public static final double DEFAULT_MIN_DISTINCT_FRACTION = 0.5;
+
+    /**
+     * The fewest generations between two restarts under the standard
+     * policy.
+     */
+    public static final int DEFAULT_COOLDOWN = 100;
+
+    private final double minMoveDiversity;
+    private final double minDistinctFraction;
+    private final int cooldown;
+    private final double reseedFraction;
+
+    /**
+     * Builds a restart policy.
+     *
+     * @param minMoveDiversity the move diversity below which to restart
+     * @param minDistinctFraction the fraction of the individuals judged that
+     *                            must be distinct folds, below which to restart
+     * @param cooldown the fewest generations between restarts
+     * @param reseedFraction the fraction of the individuals other than
+     *                       the elites to replace, between 0 and 1
+     */
+    public RestartPolicy(double minMoveDiversity,
+                         double minDistinctFraction,
+                         int cooldown,
+                         double reseedFraction) {
+        if (cooldown < 1) {
+            throw new IllegalArgumentException("Restart cooldown must be positive");
+        }
+        if (reseedFraction < 0 || reseedFraction > 1) {
+            throw new IllegalArgumentException("Reseed fraction must be between 0 and 1");
+        }
+        this.minMoveDiversity = minMoveDiversity;
+        this.minDistinctFraction = minDistinctFraction;
+        this.cooldown = cooldown;
+        this.reseedFraction = reseedFraction;
+    }
+
+    /**
+     * Builds the standard policy, which replaces every individual but the
+     * elites once diversity collapses.
+     *
+     * @return the standard restart policy
+     */
+    public static RestartPolicy standard() {
+        return new RestartPolicy(DEFAULT_MIN_MOVE_DIVERSITY,
+                DEFAULT_MIN_DISTINCT_FRACTION, DEFAULT_COOLDOWN, 1.0);
+    }
+
+    /**
+     * Returns whether a generation should be restarted.
+     *
+     * @param moveDiversity the move diversity of the individuals judged
+     * @param distinctFolds the number of fold families among them
+     * @param judged the number of individuals judged
+     * @param sinceLastRestart the generations bred since the last restart,
+     *                         or since the search began
+     * @return whether to restart
+     */
+    public boolean shouldRestart(double moveDiversity,
+                                 int distinctFolds,
+                                 int judged,
+                                 int sinceLastRestart) {
+        if (sinceLastRestart < this.cooldown) {
+            return false;
+        }
+        return moveDiversity < this.minMoveDiversity
+                || distinctFolds < this.minDistinctFraction * judged;
+    }
+
+    /**
+     * Returns how many of the fittest individuals survive a restart.
+     *
+     * @param populationSize the number of individuals in the generation
+     * @return the number of survivors, at least the elites
+     */
+    public int getSurvivors(int populationSize) {
+        int elites = Population.eliteSize(populationSize);
+        int replaced = (int) Math.round(this.reseedFraction * (populationSize - elites));
+        return populationSize - replaced;
+    }
+
+}
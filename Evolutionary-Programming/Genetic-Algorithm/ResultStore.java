@@ -0,0 +1,544 @@
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Remembers the fittest folds found by past searches, so that a search
+ * whose target has already been reached can be answered at once, and a new
+ * search of the same or a related sequence can start from them rather than
+ * from nothing. The store is a text file of folds, one per line in the
+ * text form of <code>ChromosomeWriter</code>, that is appended to, and is
+ * indexed in memory by sequence. For each sequence the fittest few
+ * distinct folds are kept.
+ *
+ * <p>The store is bounded: once it holds more sequences than its capacity,
+ * the sequence least recently looked up or recorded is evicted. Lines of
+ * displaced folds and evicted sequences are dropped when the file grows to
+ * more than twice the lines still in use, by rewriting it to a temporary
+ * file that is atomically renamed over it, as a <code>Checkpoint</code> is.
+ *
+ * <p>Any number of searches may share a store, including searches in other
+ * processes using the same file. Within a process, access is serialized
+ * on the store. Between processes, appends and rewrites are made under an
+ * exclusive lock on a lock file beside the store, and before answering a
+ * lookup or recording a fold the store reads whatever other processes have
+ * appended since it last looked, or rereads the file if another process
+ * has rewritten it. Checking for changes costs a single file status call,
+ * so lookups of a store in use take microseconds.
+ *
+ * <p>Seeds for a sequence are the folds stored for it, if any. Otherwise
+ * folds of other sequences are borrowed, those sharing the longest prefix
+ * with it first: a fold of a sequence of the same length, or one sharing
+ * at least half of it as a prefix, gives its bond directions to the new
+ * sequence, cut short or extended at random as needed, and is rescored.
+ * The shape of a fold depends only on its moves, so a fold borrowed after
+ * a few acids of a sequence are changed, or a few added to its end, is
+ * usually still a good fold.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class ResultStore {
+
+    /**
+     * The conventional file for a store, in the working directory. No
+     * store is used unless one is opened and given to a <code>Search</code>.
+     */
+    public static final Path DEFAULT_PATH = Paths.get("results.txt");
+
+    /**
+     * How many sequences a store holds unless given another capacity.
+     */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    /**
+     * How many distinct folds are kept for each sequence.
+     */
+    public static final int FOLDS_PER_SEQUENCE = 5;
+
+    /**
+     * The most seeds returned for a sequence.
+     */
+    public static final int MAX_SEEDS = 10;
+
+    /**
+     * The fewest lines in the file before it is worth rewriting.
+     */
+    private static final int MIN_COMPACTION_LINES = 64;
+
+    /**
+     * How many times a borrowed fold is extended at random before it is
+     * given up as unable to fit the longer sequence.
+     */
+    private static final int EXTENSION_ATTEMPTS = 100;
+
+    private final Path path;
+    private final Path lockPath;
+    private final int capacity;
+
+    /**
+     * The folds kept for each sequence, written in lower case, fittest
+     * first, least recently used sequence first. Guarded by
+     * <code>this</code>.
+     */
+    private final LinkedHashMap<String, List<Chromosome>> folds;
+
+    /**
+     * How far into the file has been read, always to the end of a line,
+     * and which file that was, to notice when another process rewrites
+     * it. Guarded by <code>this</code>.
+     */
+    private long readOffset;
+    private Object readFileKey;
+
+    /**
+     * The number of lines in the file, and of folds kept, from which
+     * the need to rewrite the file is judged. Guarded by <code>this</code>.
+     */
+    private int fileLines;
+    private int keptFolds;
+
+    /**
+     * Opens a store of the default capacity.
+     *
+     * @param path the file the store is kept in; created when first written
+     * @throws IOException if the file exists but cannot be read
+     */
+    public ResultStore(Path path) throws IOException {
+        this(path, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Opens a store, reading every fold already in it. Lines that cannot
+     * be read, such as one cut short by a crash, are skipped, as are folds
+     * that are not self-avoiding or whose stored fitness is wrong.
+     *
+     * @param path the file the store is kept in; created when first written
+     * @param capacity the most sequences to hold
+     * @throws IOException if the file exists but cannot be read
+     */
+    public ResultStore(Path path, int capacity) throws IOException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("A result store holds at least one sequence");
+        }
+        this.path = path;
+        this.lockPath = path.resolveSibling(path.getFileName() + ".lock");
+        this.capacity = capacity;
+        this.folds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Chromosome>> eldest) {
+                if (this.size() <= ResultStore.this.capacity) {
+                    return false;
+                }
+                ResultStore.this.keptFolds -= eldest.getValue().size();
+                return true;
+            }
+        };
+        synchronized (this) {
+            this.refresh();
+        }
+    }
+
+    /**
+     * Returns the fittest fold stored for a sequence if it reaches the
+     * given target, so the search for it need not be run.
+     *
+     * @param acidString the sequence
+     * @param targetFitness the fitness sought
+     * @return the fittest fold stored, or <code>null</code> if none
+     *         reaches the target
+     * @throws IOException if changes made by other processes cannot be read
+     */
+    public synchronized Chromosome lookup(String acidString, int targetFitness)
+            throws IOException {
+        this.refresh();
+        List<Chromosome> kept = this.folds.get(acidString.toLowerCase());
+        if (kept == null || kept.get(0).getFitness() > targetFitness) {
+            return null;
+        }
+        return kept.get(0);
+    }
+
+    /**
+     * Records a fold, if it is among the fittest distinct folds of its
+     * sequence, appending it to the file and rewriting the file if too
+     * much of it is no longer in use.
+     *
+     * @param fold the fold to record
+     * @return whether the fold was kept
+     * @throws IOException if the fold cannot be written
+     */
+    public synchronized boolean record(Chromosome fold) throws IOException {
+        // Serialize stores of this process too, which cannot share a file lock.
+        synchronized (ResultStore.class) {
+            try (FileChannel lockFile = FileChannel.open(this.lockPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // Held until the channel is closed.
+                lockFile.lock();
+                this.refresh();
+                if (!this.keep(fold)) {
+                    return false;
+                }
+                StringWriter line = new StringWriter();
+                ChromosomeWriter.writeText(fold, line);
+                byte[] bytes = line.toString().getBytes(StandardCharsets.US_ASCII);
+                try (FileChannel out = FileChannel.open(this.path, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                }
+                // The file held nothing unread, so its end is now read too.
+                this.readOffset += bytes.length;
+                this.readFileKey = this.fileKey();
+                this.fileLines++;
+                if (this.fileLines > MIN_COMPACTION_LINES
+                        && this.fileLines > 2 * this.keptFolds) {
+                    this.compact();
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the folds kept for a sequence.
+     *
+     * @param acidString the sequence
+     * @return its folds, fittest first, or an empty list if there are none
+     */
+    public synchronized List<Chromosome> getFolds(String acidString) {
+        List<Chromosome> kept = this.folds.get(acidString.toLowerCase());
+        return (kept == null) ? List.of() : new ArrayList<>(kept);
+    }
+
+    /**
+     * Returns the number of sequences held.
+     *
+     * @return the number of sequences
+     */
+    public synchronized int size() {
+        return this.folds.size();
+    }
+
+    /**
+     * Returns folds of a sequence to seed a search with: those stored for
+     * it or, failing that, folds borrowed from related sequences.
+     *
+     * @param acidString the sequence to be searched
+     * @param random the random generator used to extend borrowed folds
+     * @return up to <code>MAX_SEEDS</code> folds of the sequence, fittest
+     *         first, or an empty list if nothing related is stored
+     */
+    public List<Chromosome> findSeeds(String acidString, Random random) {
+        String key = acidString.toLowerCase();
+        List<Chromosome> exact = this.getFolds(key);
+        if (!exact.isEmpty()) {
+            return exact;
+        }
+
+        // Rank related sequences by how much of a prefix they share.
+        Map<String, List<Chromosome>> related = new HashMap<>();
+        synchronized (this) {
+            for (Map.Entry<String, List<Chromosome>> entry : this.folds.entrySet()) {
+                if (ResultStore.isRelated(entry.getKey(), key)) {
+                    related.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+                }
+            }
+        }
+        List<String> sequences = new ArrayList<>(related.keySet());
+        sequences.sort(Comparator.comparingInt(
+                (String sequence) -> -ResultStore.sharedPrefix(sequence, key))
+                .thenComparing(Comparator.naturalOrder()));
+
+        boolean[] acids = Chromosome.parseAcids(key);
+        List<Chromosome> seeds = new ArrayList<>();
+        for (String sequence : sequences) {
+            for (Chromosome fold : related.get(sequence)) {
+                Chromosome borrowed = ResultStore.borrow(fold, acids, random);
+                if (borrowed != null) {
+                    seeds.add(borrowed);
+                }
+                if (seeds.size() == MAX_SEEDS) {
+                    break;
+                }
+            }
+            if (seeds.size() == MAX_SEEDS) {
+                break;
+            }
+        }
+        seeds.sort(Comparator.comparingInt(Chromosome::getFitness));
+        return seeds;
+    }
+
+    /**
+     * Brings the index up to date with the file: reads the lines appended
+     * since it was last read or, if the file has been rewritten, the
+     * whole file again. Lines that cannot be read are skipped, and a last
+     * line still being written is left to be read next time.
+     *
+     * @throws IOException if the file cannot be read
+     */
+    private void refresh() throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(this.path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        Object key = attributes.fileKey();
+        boolean rewritten = (key != null) ? !key.equals(this.readFileKey)
+                : attributes.size() < this.readOffset;
+        if (rewritten && this.readFileKey != null || attributes.size() < this.readOffset) {
+            this.folds.clear();
+            this.keptFolds = 0;
+            this.fileLines = 0;
+            this.readOffset = 0;
+        }
+        this.readFileKey = key;
+        if (attributes.size() == this.readOffset) {
+            return;
+        }
+
+        byte[] unread;
+        try (FileChannel in = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) (in.size() - this.readOffset));
+            while (buffer.hasRemaining() && in.read(buffer, this.readOffset + buffer.position()) > 0) {
+                // Keep reading until the buffer is full or the file ends.
+            }
+            unread = new byte[buffer.position()];
+            buffer.flip();
+            buffer.get(unread);
+        }
+        int start = 0;
+        for (int i = 0; i < unread.length; i++) {
+            if (unread[i] != '\n') {
+                continue;
+            }
+            String line = new String(unread, start, i - start, StandardCharsets.US_ASCII);
+            start = i + 1;
+            this.fileLines++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                Chromosome fold = ResultStore.verify(
+                        ChromosomeReader.readText(new StringReader(line)));
+                if (fold != null) {
+                    this.keep(fold);
+                }
+            } catch (IOException | RuntimeException e) {
+                // A torn or foreign line; the rest of the store is still good.
+            }
+        }
+        this.readOffset += start;
+    }
+
+    /**
+     * Rebuilds a fold read from the file from its moves alone, so that a
+     * lookup never answers with a fold that is not a self-avoiding walk or
+     * whose stored fitness is not its own.
+     *
+     * @param read the fold as read, its fitness taken on trust
+     * @return the fold with its fitness recomputed, or <code>null</code> if
+     *         it is not a self-avoiding walk or its fitness was misstated
+     */
+    private static Chromosome verify(Chromosome read) {
+        Chromosome fold = Chromosome.fromMoves(read.getAcids(), read.getMoves());
+        if (fold == null || fold.getFitness() != read.getFitness()) {
+            return null;
+        }
+        return fold;
+    }
+
+    /**
+     * Rewrites the file with only the folds kept. Must be called holding
+     * the lock on the lock file.
+     *
+     * @throws IOException if the file cannot be rewritten
+     */
+    private void compact() throws IOException {
+        Path temporary = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        long written = 0;
+        int lines = 0;
+        try (FileChannel file = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            StringWriter text = new StringWriter();
+            for (List<Chromosome> kept : this.folds.values()) {
+                for (Chromosome fold : kept) {
+                    ChromosomeWriter.writeText(fold, text);
+                    lines++;
+                }
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.US_ASCII));
+            written = buffer.remaining();
+            while (buffer.hasRemaining()) {
+                file.write(buffer);
+            }
+            file.force(true);
+        }
+        Files.move(temporary, this.path, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        this.readOffset = written;
+        this.readFileKey = this.fileKey();
+        this.fileLines = lines;
+    }
+
+    /**
+     * Returns the identity of the file, which changes when it is replaced.
+     *
+     * @return the file key, or <code>null</code> if the file system has none
+     * @throws IOException if the file cannot be read
+     */
+    private Object fileKey() throws IOException {
+        return Files.readAttributes(this.path, BasicFileAttributes.class).fileKey();
+    }
+
+    /**
+     * Adds a fold to the index if it is among the fittest distinct folds
+     * of its sequence, displacing the least fit if there are too many.
+     *
+     * @param fold the fold to add
+     * @return whether the fold was kept
+     */
+    private boolean keep(Chromosome fold) {
+        String key = ResultStore.toKey(fold.getAcids());
+        List<Chromosome> kept = this.folds.get(key);
+        if (kept == null) {
+            kept = new ArrayList<>();
+            this.folds.put(key, kept);
+        }
+        long hash = fold.getCanonicalHash();
+        for (Chromosome other : kept) {
+            if (other.getCanonicalHash() == hash) {
+                return false;
+            }
+        }
+        if (kept.size() == FOLDS_PER_SEQUENCE
+                && fold.getFitness() >= kept.get(kept.size() - 1).getFitness()) {
+            return false;
+        }
+        int at = 0;
+        while (at < kept.size() && kept.get(at).getFitness() <= fold.getFitness()) {
+            at++;
+        }
+        kept.add(at, fold);
+        this.keptFolds++;
+        if (kept.size() > FOLDS_PER_SEQUENCE) {
+            kept.remove(kept.size() - 1);
+            this.keptFolds--;
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether folds of one sequence are worth borrowing for
+     * another: whether they are the same length, or share at least half
+     * of the other as a prefix.
+     *
+     * @param stored the sequence of the stored folds
+     * @param wanted the sequence to be searched
+     * @return whether the stored folds are related
+     */
+    private static boolean isRelated(String stored, String wanted) {
+        return stored.length() == wanted.length()
+                || 2 * ResultStore.sharedPrefix(stored, wanted) >= wanted.length();
+    }
+
+    /**
+     * Returns the length of the prefix two sequences share.
+     *
+     * @param left one sequence
+     * @param right the other
+     * @return the number of leading acids they have in common
+     */
+    private static int sharedPrefix(String left, String right) {
+        int length = Math.min(left.length(), right.length());
+        int shared = 0;
+        while (shared < length && left.charAt(shared) == right.charAt(shared)) {
+            shared++;
+        }
+        return shared;
+    }
+
+    /**
+     * Gives the shape of a fold to another sequence, cutting it short or
+     * extending it at random to fit, and rescores it.
+     *
+     * @param fold the fold to borrow
+     * @param acids the sequence to give its shape to
+     * @param random the random generator used to extend the fold
+     * @return the borrowed fold, or <code>null</code> if it could not be extended
+     */
+    private static Chromosome borrow(Chromosome fold, boolean[] acids, Random random) {
+        byte[] stored = fold.getMoves();
+        byte[] moves = new byte[acids.length - 1];
+        int kept = Math.min(stored.length, moves.length);
+        System.arraycopy(stored, 0, moves, 0, kept);
+        if (kept == moves.length) {
+            return Chromosome.fromMoves(acids, moves);
+        }
+        for (int attempt = 0; attempt < EXTENSION_ATTEMPTS; attempt++) {
+            byte previous = (kept > 0) ? moves[kept - 1] : 1;
+            for (int i = kept; i < moves.length; i++) {
+                // Any direction but straight back.
+                byte next;
+                do {
+                    next = (byte) (random.nextInt(4) + 1);
+                } while (ResultStore.isReverse(previous, next));
+                moves[i] = next;
+                previous = next;
+            }
+            Chromosome extended = Chromosome.fromMoves(acids, moves);
+            if (extended != null) {
+                return extended;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether one direction is the reverse of another.
+     *
+     * @param direction a direction
+     * @param other another direction
+     * @return whether they point opposite ways
+     */
+    private static boolean isReverse(byte direction, byte other) {
+        // Right and left are 1 and 2, up and down 3 and 4.
+        return direction != other && (direction + 1) / 2 == (other + 1) / 2;
+    }
+
+    /**
+     * Returns the sequence of a fold as the store writes it.
+     *
+     * @param acids the acids, hydrophobic coded <code>true</code>
+     * @return the sequence in lower case
+     */
+    private static String toKey(boolean[] acids) {
+        char[] letters = new char[acids.length];
+        for (int i = 0; i < acids.length; i++) {
+            letters[i] = acids[i] ? 'h' : 'p';
+        }
+        return new String(letters);
+    }
+
+}
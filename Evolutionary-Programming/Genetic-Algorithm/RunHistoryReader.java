@@ -0,0 +1,163 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Replays the history of a search written by <code>RunHistoryWriter</code>.
+ * Both files are memory mapped, so opening a history is immediate however
+ * long the run was, and any generation, along with the fittest individual
+ * as of that generation, is found in constant time.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class RunHistoryReader {
+
+    private final ByteBuffer generations;
+    private final ByteBuffer improvements;
+    private final boolean[] acids;
+    private final int improvementsStart;
+    private final int improvementRecordSize;
+    private final int generationCount;
+
+    /**
+     * Opens the history with the given base name.
+     *
+     * @param base the path of the history files, without extension
+     * @throws IOException if the files cannot be read or are not a history
+     */
+    public RunHistoryReader(Path base) throws IOException {
+        this.generations = ChromosomeReader.map(RunHistoryReader.generationsFile(base));
+        this.improvements = ChromosomeReader.map(RunHistoryReader.improvementsFile(base));
+        if (this.generations.getInt(0) != RunHistoryWriter.GENERATIONS_MAGIC
+                || this.improvements.getInt(0) != RunHistoryWriter.IMPROVEMENTS_MAGIC) {
+            throw new IOException(base + " is not a run history");
+        }
+        if (this.generations.getInt(4) != RunHistoryWriter.VERSION
+                || this.improvements.getInt(4) != RunHistoryWriter.VERSION) {
+            throw new IOException("Unsupported run history version");
+        }
+
+        this.generationCount = (int) this.generations.getLong(
+                RunHistoryWriter.COUNT_OFFSET);
+        ByteBuffer header = this.improvements.duplicate();
+        header.position(RunHistoryWriter.HEADER_SIZE);
+        int length = header.getInt();
+        this.acids = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            this.acids[i] = ((header.get(header.position() + (i >> 3)) >> (i & 7)) & 1) == 1;
+        }
+        this.improvementsStart = RunHistoryWriter.HEADER_SIZE + 4
+                + ChromosomeWriter.packedAcidsLength(length);
+        this.improvementRecordSize = 8 + ChromosomeWriter.packedMovesLength(length);
+    }
+
+    /**
+     * Returns the file holding the generation summaries of a history.
+     *
+     * @param base the path of the history files, without extension
+     * @return the generations file
+     */
+    public static Path generationsFile(Path base) {
+        return base.resolveSibling(base.getFileName() + ".gens");
+    }
+
+    /**
+     * Returns the file holding the improvements of a history.
+     *
+     * @param base the path of the history files, without extension
+     * @return the improvements file
+     */
+    public static Path improvementsFile(Path base) {
+        return base.resolveSibling(base.getFileName() + ".imps");
+    }
+
+    /**
+     * Returns the number of generations recorded.
+     *
+     * @return the number of generation summaries
+     */
+    public int getGenerationCount() {
+        return this.generationCount;
+    }
+
+    /**
+     * Returns the number of the generation recorded at the given index.
+     *
+     * @param index the index of the summary
+     * @return the generation number
+     */
+    public int getGenerationNumber(int index) {
+        return this.generations.getInt(this.offsetOf(index));
+    }
+
+    /**
+     * Returns the best fitness of the generation at the given index.
+     *
+     * @param index the index of the summary
+     * @return the best fitness
+     */
+    public int getBestFitness(int index) {
+        return this.generations.getInt(this.offsetOf(index) + 4);
+    }
+
+    /**
+     * Returns the volume at the best fitness of the generation at the
+     * given index.
+     *
+     * @param index the index of the summary
+     * @return the number of individuals with the best fitness
+     */
+    public int getVolumeAtBest(int index) {
+        return this.generations.getInt(this.offsetOf(index) + 8);
+    }
+
+    /**
+     * Returns the number of distinct fitnesses of the generation at the
+     * given index.
+     *
+     * @param index the index of the summary
+     * @return the number of distinct fitnesses
+     */
+    public int getDistinctFitnesses(int index) {
+        return this.generations.getInt(this.offsetOf(index) + 12);
+    }
+
+    /**
+     * Returns the fittest individual found as of the generation at the
+     * given index, or <code>null</code> if none had been recorded yet.
+     *
+     * @param index the index of the summary
+     * @return the fittest individual as of that generation
+     */
+    public Chromosome getBestAt(int index) {
+        int improvement = this.generations.getInt(this.offsetOf(index) + 16);
+        if (improvement < 0) {
+            return null;
+        }
+
+        int at = this.improvementsStart + improvement * this.improvementRecordSize;
+        int fitness = this.improvements.getInt(at + 4);
+        byte[] moves = new byte[this.acids.length - 1];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = (byte) (((this.improvements.get(at + 8 + (i >> 2))
+                    >> ((i & 3) * 2)) & 3) + 1);
+        }
+        return Chromosome.fromMoves(this.acids, moves, fitness);
+    }
+
+    /**
+     * Returns the offset of the summary at the given index.
+     *
+     * @param index the index of the summary
+     * @return the offset into the generations file
+     */
+    private int offsetOf(int index) {
+        if (index < 0 || index >= this.generationCount) {
+            throw new IndexOutOfBoundsException("No generation at index " + index);
+        }
+        return RunHistoryWriter.HEADER_SIZE
+                + index * RunHistoryWriter.GENERATION_RECORD_SIZE;
+    }
+
+}
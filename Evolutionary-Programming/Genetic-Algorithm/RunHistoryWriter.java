@@ -0,0 +1,212 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends the history of a search to a pair of memory-mapped files, so
+ * that the run can be replayed without being repeated. Every record in a
+ * file has the same size, which is what lets <code>RunHistoryReader</code>
+ * seek to any generation in constant time.
+ *
+ * <p>The generations file (<code>base.gens</code>) holds, for each
+ * generation, its number, best fitness, volume at best, number of distinct
+ * fitnesses, and the index of the latest improvement at or before it. The
+ * improvements file (<code>base.imps</code>) holds the packed acids of the
+ * protein and then, for each improvement, its generation number, fitness
+ * and moves packed as in <code>ChromosomeWriter</code>. Both start with a
+ * magic number, a version and the number of records, which is updated after
+ * each record is appended, so a reader never sees a partial record.
+ *
+ * <p>Appending only writes to mapped memory, so it is cheap enough to do
+ * on the search thread every generation.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class RunHistoryWriter implements AutoCloseable {
+
+    public static final int GENERATIONS_MAGIC = 0x48505247; 	// "HPRG"
+    public static final int IMPROVEMENTS_MAGIC = 0x48505249; 	// "HPRI"
+    public static final int VERSION = 1;
+
+    /**
+     * The size of the header shared by both files: magic number, version
+     * and record count.
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * The offset of the record count within the header.
+     */
+    static final int COUNT_OFFSET = 8;
+
+    /**
+     * The size of each record in the generations file.
+     */
+    static final int GENERATION_RECORD_SIZE = 20;
+
+    /**
+     * The number of records by which each file is extended when it fills.
+     * Improvements are far rarer than generations.
+     */
+    private static final int GENERATIONS_PER_EXTENSION = 1 << 16;
+    private static final int IMPROVEMENTS_PER_EXTENSION = 1 << 10;
+
+    private final FileChannel generationsChannel;
+    private final FileChannel improvementsChannel;
+    private MappedByteBuffer generations;
+    private MappedByteBuffer improvements;
+
+    /**
+     * Where the improvement records start in the improvements file.
+     */
+    private final int improvementsStart;
+
+    /**
+     * The size of each record in the improvements file.
+     */
+    private final int improvementRecordSize;
+
+    private long generationCount;
+    private long improvementCount;
+
+    /**
+     * Creates the files for the history of a new run, replacing any
+     * existing history with the same base name.
+     *
+     * @param base the path of the history files, without extension
+     * @param acidString the amino acid sequence of the search
+     * @throws IOException if the files cannot be created
+     */
+    public RunHistoryWriter(Path base, String acidString) throws IOException {
+        int length = acidString.length();
+        this.improvementsStart = HEADER_SIZE + 4
+                + ChromosomeWriter.packedAcidsLength(length);
+        this.improvementRecordSize = 8 + ChromosomeWriter.packedMovesLength(length);
+
+        this.generationsChannel = RunHistoryWriter.create(
+                RunHistoryReader.generationsFile(base));
+        this.improvementsChannel = RunHistoryWriter.create(
+                RunHistoryReader.improvementsFile(base));
+        this.generations = this.generationsChannel.map(FileChannel.MapMode.READ_WRITE,
+                0, HEADER_SIZE + (long) GENERATION_RECORD_SIZE * GENERATIONS_PER_EXTENSION);
+        this.improvements = this.improvementsChannel.map(FileChannel.MapMode.READ_WRITE,
+                0, this.improvementsStart + (long) this.improvementRecordSize * IMPROVEMENTS_PER_EXTENSION);
+
+        this.generations.putInt(0, GENERATIONS_MAGIC);
+        this.generations.putInt(4, VERSION);
+        this.generations.putLong(COUNT_OFFSET, 0);
+        this.improvements.putInt(0, IMPROVEMENTS_MAGIC);
+        this.improvements.putInt(4, VERSION);
+        this.improvements.putLong(COUNT_OFFSET, 0);
+        this.improvements.putInt(HEADER_SIZE, length);
+        boolean[] acids = Chromosome.parseAcids(acidString);
+        for (int i = 0; i < length; i++) {
+            if (acids[i]) {
+                int offset = HEADER_SIZE + 4 + (i >> 3);
+                this.improvements.put(offset,
+                        (byte) (this.improvements.get(offset) | (1 << (i & 7))));
+            }
+        }
+        this.generationCount = 0;
+        this.improvementCount = 0;
+    }
+
+    /**
+     * Appends the summary statistics of a generation.
+     *
+     * @param generation the number of the generation
+     * @param bestFitness the best fitness in the generation
+     * @param volumeAtBest the number of individuals with the best fitness
+     * @param distinctFitnesses the number of distinct fitnesses in the generation
+     * @throws IOException if the file cannot be extended
+     */
+    public void appendGeneration(int generation,
+                                 int bestFitness,
+                                 int volumeAtBest,
+                                 int distinctFitnesses) throws IOException {
+        long offset = HEADER_SIZE + this.generationCount * GENERATION_RECORD_SIZE;
+        if (offset + GENERATION_RECORD_SIZE > this.generations.capacity()) {
+            this.generations = this.generationsChannel.map(FileChannel.MapMode.READ_WRITE,
+                    0, offset + (long) GENERATION_RECORD_SIZE * GENERATIONS_PER_EXTENSION);
+        }
+
+        int at = (int) offset;
+        this.generations.putInt(at, generation);
+        this.generations.putInt(at + 4, bestFitness);
+        this.generations.putInt(at + 8, volumeAtBest);
+        this.generations.putInt(at + 12, distinctFitnesses);
+        this.generations.putInt(at + 16, (int) this.improvementCount - 1);
+        this.generationCount++;
+        this.generations.putLong(COUNT_OFFSET, this.generationCount);
+    }
+
+    /**
+     * Appends a new fittest individual. Must be called before the
+     * summary of the generation that produced it is appended.
+     *
+     * @param generation the number of the generation that produced it
+     * @param best the new fittest individual
+     * @throws IOException if the file cannot be extended
+     */
+    public void appendImprovement(int generation, Chromosome best)
+            throws IOException {
+        long offset = this.improvementsStart
+                + this.improvementCount * this.improvementRecordSize;
+        if (offset + this.improvementRecordSize > this.improvements.capacity()) {
+            this.improvements = this.improvementsChannel.map(FileChannel.MapMode.READ_WRITE,
+                    0, offset + (long) this.improvementRecordSize * IMPROVEMENTS_PER_EXTENSION);
+        }
+
+        int at = (int) offset;
+        this.improvements.putInt(at, generation);
+        this.improvements.putInt(at + 4, best.getFitness());
+        byte[] moves = best.getMoves();
+        for (int i = 0; i < ChromosomeWriter.packedMovesLength(moves.length + 1); i++) {
+            this.improvements.put(at + 8 + i, (byte) 0);
+        }
+        for (int i = 0; i < moves.length; i++) {
+            int byteAt = at + 8 + (i >> 2);
+            this.improvements.put(byteAt, (byte) (this.improvements.get(byteAt)
+                    | ((moves[i] - 1) << ((i & 3) * 2))));
+        }
+        this.improvementCount++;
+        this.improvements.putLong(COUNT_OFFSET, this.improvementCount);
+    }
+
+    /**
+     * Flushes the history to disk and trims the files to the records
+     * actually written.
+     *
+     * @throws IOException if the files cannot be flushed or trimmed
+     */
+    @Override
+    public void close() throws IOException {
+        this.generations.force();
+        this.improvements.force();
+        this.generations = null;
+        this.improvements = null;
+        this.generationsChannel.truncate(HEADER_SIZE
+                + this.generationCount * GENERATION_RECORD_SIZE);
+        this.improvementsChannel.truncate(this.improvementsStart
+                + this.improvementCount * this.improvementRecordSize);
+        this.generationsChannel.close();
+        this.improvementsChannel.close();
+    }
+
+    /**
+     * Opens a fresh, empty file for writing.
+     *
+     * @param path the file to create
+     * @return a channel for reading and writing the file
+     * @throws IOException if the file cannot be created
+     */
+    private static FileChannel create(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+}
@@ -1,6 +1,9 @@
-import java.util.Observer;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
 
 /**
  * Models a search for a protein achieving a target fitness for a given
@@ -34,35 +37,240 @@ public class Search {
      * more closely approximating the target fitness is bred during the
      * search.
      */
-    private Observer observer;
+    private Flow.Subscriber<? super Message> subscriber;
 
     /**
      * The <code>ExecutorService</code> that will manage the execution
-     * of the thread that this search takes place in.
+     * of the thread that this search takes place in, or <code>null</code>
+     * if the search was answered from the result store. It is shut down as
+     * soon as the search is handed to it, so its thread ends with the search.
      */
     private ExecutorService thread;
 
+    /**
+     * The fittest distinct folds found by this search.
+     */
+    private HallOfFame hallOfFame;
+
     /**
      * Constructs and begins a new search for a protein of the
      * desired amino acid sequence and the specified target fitness
-     * in a new, separate thread. The specified <code>Observer</code>
-     * will be updated when a new, fitter individual is found during
-     * the course of the search.
+     * in a new, separate thread. The specified subscriber will be sent
+     * the newest fittest individual whenever the search improves; the
+     * search never waits for the subscriber to keep up. The elites of
+     * each generation are refined by a <code>LocalSearch</code>; the
+     * <code>ADAPTIVE_GENETIC_ALGORITHM</code> engine type adapts the
+     * operators instead. No result store is used.
+     *
+     * @param acidString the amino acid sequence who fitness is sought
+     * @param targetFitness the target fitness of the protein to find
+     * @param subscriber the subscriber interested in results
+     * @throws IllegalArgumentException if no fold of the sequence can reach the target
+     */
+    public Search (String acidString,
+                   int targetFitness,
+                   Flow.Subscriber<? super Message> subscriber) {
+        this(acidString, targetFitness, subscriber, null, null);
+    }
+
+    /**
+     * Constructs and begins a new search, as above, that also records its
+     * history to the run history files with the given base name so that
+     * it can be replayed later.
      *
      * @param acidString the amino acid sequence who fitness is sought
      * @param targetFitness the target fitness of the protein to find
-     * @param observer the <code>Observer</code> interested in results
+     * @param subscriber the subscriber interested in results
+     * @param history the path of the history files, without extension, or
+     *                <code>null</code> to record no history
+     * @throws IllegalArgumentException if no fold of the sequence can reach the target
      */
-    public Search (String acidString, int targetFitness, Observer observer) {
+    public Search (String acidString,
+                   int targetFitness,
+                   Flow.Subscriber<? super Message> subscriber,
+                   Path history) {
+        this(acidString, targetFitness, subscriber, history, null);
+    }
+
+    /**
+     * Constructs and begins a new search, as above, that may also use a
+     * <code>ResultStore</code>. The search starts from the folds of the
+     * sequence, or of related sequences, kept in the store by earlier
+     * searches, and adds its own hall of fame to the store when it ends.
+     * If the store already holds a fold of the sequence reaching the target,
+     * no search is run: the stored fold is sent to the subscriber at once.
+     *
+     * @param acidString the amino acid sequence who fitness is sought
+     * @param targetFitness the target fitness of the protein to find
+     * @param subscriber the subscriber interested in results
+     * @param history the path of the history files, without extension, or
+     *                <code>null</code> to record no history
+     * @param store the store of earlier results, or <code>null</code> for none
+     * @throws IllegalArgumentException if no fold of the sequence can reach the target
+     */
+    public Search (String acidString,
+                   int targetFitness,
+                   Flow.Subscriber<? super Message> subscriber,
+                   Path history,
+                   ResultStore store) {
+        Search.checkReachable(acidString, targetFitness);
         this.acidString = acidString;
         this.targetFitness = targetFitness;
-        this.observer = observer;
+        this.subscriber = subscriber;
+        this.hallOfFame = new HallOfFame();
+        if (this.answerFromStore(store)) {
+            return;
+        }
         this.thread = Executors.newSingleThreadExecutor();
         this.thread.execute(() -> {
             Population population = new Population(this.acidString, this.targetFitness);
-            population.addObserver(this.observer);
+            population.subscribe(this.subscriber);
+            population.setHallOfFame(this.hallOfFame);
+            population.setLocalSearch(new LocalSearch());
+            if (store != null) {
+                population.seed(store.findSeeds(this.acidString, new Random()));
+            }
+            if (history != null) {
+                try {
+                    population.recordHistory(history);
+                } catch (IOException e) {
+                    System.err.println("Could not record run history: " + e);
+                }
+            }
             population.evolve();
+            this.recordResults(store);
+        });
+        this.thread.shutdown();
+    }
+
+    /**
+     * Constructs and begins a new search with the given engine in a new,
+     * separate thread, so that the method best suited to the sequence can
+     * be chosen. The specified subscriber will be sent the newest fittest
+     * structure whenever the search improves. No result store is used.
+     *
+     * @param engine the engine that will perform the search
+     * @param subscriber the subscriber interested in results
+     * @throws IllegalArgumentException if no fold of the sequence can reach the target
+     */
+    public Search (FoldingEngine engine,
+                   Flow.Subscriber<? super Message> subscriber) {
+        this(engine, subscriber, null);
+    }
+
+    /**
+     * Constructs and begins a new search with the given engine, as above,
+     * that may also use a <code>ResultStore</code>. Its hall of fame is
+     * added to the store when it ends. If the store already holds a fold of
+     * the sequence reaching the target, the engine is not run: the stored
+     * fold is sent to the subscriber at once.
+     *
+     * @param engine the engine that will perform the search
+     * @param subscriber the subscriber interested in results
+     * @param store the store of earlier results, or <code>null</code> for none
+     * @throws IllegalArgumentException if no fold of the sequence can reach the target
+     */
+    public Search (FoldingEngine engine,
+                   Flow.Subscriber<? super Message> subscriber,
+                   ResultStore store) {
+        Search.checkReachable(engine.getAcidString(), engine.getTargetFitness());
+        this.acidString = engine.getAcidString();
+        this.targetFitness = engine.getTargetFitness();
+        this.subscriber = subscriber;
+        this.hallOfFame = new HallOfFame();
+        if (this.answerFromStore(store)) {
+            return;
+        }
+        this.thread = Executors.newSingleThreadExecutor();
+        this.thread.execute(() -> {
+            engine.subscribe(this.subscriber);
+            engine.setHallOfFame(this.hallOfFame);
+            engine.evolve();
+            this.recordResults(store);
         });
+        this.thread.shutdown();
+    }
+
+
+    /**
+     * Returns the fittest distinct folds found so far. May be read while
+     * the search runs.
+     *
+     * @return the hall of fame of this search
+     */
+    public HallOfFame getHallOfFame() {
+        return this.hallOfFame;
+    }
+
+
+    /**
+     * Answers the search from the result store if it holds a fold of the
+     * sequence reaching the target: the stored folds enter the hall of
+     * fame, and the fittest is sent to the subscriber as generation zero.
+     *
+     * @param store the result store, or <code>null</code> if none is used
+     * @return whether the search was answered, so need not be run
+     */
+    private boolean answerFromStore(ResultStore store) {
+        if (store == null) {
+            return false;
+        }
+        Chromosome cached;
+        try {
+            cached = store.lookup(this.acidString, this.targetFitness);
+        } catch (IOException e) {
+            System.err.println("Could not read result store: " + e);
+            return false;
+        }
+        if (cached == null) {
+            return false;
+        }
+        for (Chromosome fold : store.getFolds(this.acidString)) {
+            this.hallOfFame.offer(fold);
+        }
+        ProgressPublisher publisher = new ProgressPublisher();
+        publisher.subscribe(this.subscriber);
+        publisher.publish(new Message(cached, 0));
+        publisher.close();
+        return true;
+    }
+
+
+    /**
+     * Records the hall of fame in the result store, for later searches to
+     * start from.
+     *
+     * @param store the result store, or <code>null</code> if none is used
+     */
+    private void recordResults(ResultStore store) {
+        if (store == null) {
+            return;
+        }
+        try {
+            for (Chromosome fold : this.hallOfFame.getFolds()) {
+                store.record(fold);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not record results: " + e);
+        }
+    }
+
+
+    /**
+     * Refuses a target fitness that no fold of the sequence can reach,
+     * as bounded by <code>FitnessBound</code>.
+     *
+     * @param acidString the amino acid sequence whose fold is sought
+     * @param targetFitness the target fitness of the fold to find
+     * @throws IllegalArgumentException if the target cannot be reached
+     */
+    private static void checkReachable(String acidString, int targetFitness) {
+        int bound = FitnessBound.bestPossibleFitness(acidString);
+        if (targetFitness < bound) {
+            throw new IllegalArgumentException("Target fitness " + targetFitness
+                    + " is unreachable: no fold of this sequence is fitter than "
+                    + bound + ".");
+        }
     }
 
 }
\ No newline at end of file
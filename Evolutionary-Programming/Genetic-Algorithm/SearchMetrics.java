@@ -0,0 +1,345 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Live statistics of a single search, registered as a JMX MBean while the
+ * search runs. Counters are <code>LongAdders</code>, which stripe updates
+ * across cells, so the breeding threads updating them never contend; the
+ * cells are only summed when a monitoring client reads an attribute.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class SearchMetrics implements SearchMetricsMBean {
+
+    /**
+     * The JMX domain under which every search is registered.
+     */
+    public static final String DOMAIN = "GeneticAlgorithm";
+
+    /**
+     * Numbers each search so that concurrent searches register under
+     * distinct names.
+     */
+    private static final AtomicInteger searchCount = new AtomicInteger();
+
+    private final int id;
+    private final String acidString;
+    private final int targetFitness;
+    private final long startTime;
+
+    private final LongAdder generations = new LongAdder();
+    private final LongAdder fitnessEvaluations = new LongAdder();
+    private final LongAdder crossoverSuccesses = new LongAdder();
+    private final LongAdder crossoverFailures = new LongAdder();
+    private final LongAdder mutationSuccesses = new LongAdder();
+    private final LongAdder mutationFailures = new LongAdder();
+    private final LongAdder randomWalkRejections = new LongAdder();
+    private final LongAdder localSearchMoves = new LongAdder();
+    private final LongAdder localSearchImprovements = new LongAdder();
+    private final LongAdder restarts = new LongAdder();
+
+    /**
+     * Statistics of the current generation. Written only by the search
+     * thread once per generation.
+     */
+    private volatile int bestFitness;
+    private volatile int volumeAtBest;
+    private volatile int distinctFitnesses;
+    private volatile long lastImprovementTime;
+    private volatile double moveDiversity;
+    private volatile int distinctFolds;
+
+    /**
+     * The name this instance is registered under, or <code>null</code>
+     * if it is not registered.
+     */
+    private ObjectName name;
+
+    /**
+     * Builds a new, unregistered set of statistics for a search.
+     *
+     * @param acidString the amino acid sequence being searched
+     * @param targetFitness the fitness the search is trying to reach
+     */
+    public SearchMetrics(String acidString, int targetFitness) {
+        this.id = SearchMetrics.searchCount.incrementAndGet();
+        this.acidString = acidString;
+        this.targetFitness = targetFitness;
+        this.startTime = System.nanoTime();
+        this.lastImprovementTime = this.startTime;
+        this.bestFitness = 0;
+    }
+
+    /**
+     * Returns the number identifying the search within this process.
+     *
+     * @return the number of the search
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Registers this instance with the platform MBean server. Failure to
+     * register is reported but does not prevent the search from running.
+     */
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            this.name = new ObjectName(DOMAIN + ":type=Search,name=search-"
+                    + this.id);
+            server.registerMBean(this, this.name);
+        } catch (JMException e) {
+            System.err.println("Could not register search metrics: " + e);
+            this.name = null;
+        }
+    }
+
+    /**
+     * Removes this instance from the platform MBean server.
+     */
+    public void unregister() {
+        if (this.name == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.name);
+        } catch (JMException e) {
+            System.err.println("Could not unregister search metrics: " + e);
+        }
+        this.name = null;
+    }
+
+    /**
+     * Records the outcome of a single crossover attempt.
+     *
+     * @param succeeded whether a valid structure was produced
+     */
+    public void recordCrossover(boolean succeeded) {
+        if (succeeded) {
+            this.crossoverSuccesses.increment();
+            this.fitnessEvaluations.increment();
+        } else {
+            this.crossoverFailures.increment();
+        }
+    }
+
+    /**
+     * Records the outcome of a single mutation attempt.
+     *
+     * @param succeeded whether a valid structure was produced
+     */
+    public void recordMutation(boolean succeeded) {
+        if (succeeded) {
+            this.mutationSuccesses.increment();
+            this.fitnessEvaluations.increment();
+        } else {
+            this.mutationFailures.increment();
+        }
+    }
+
+    /**
+     * Records fitness evaluations not attributable to crossover or
+     * mutation, such as building randomly generated individuals.
+     *
+     * @param count the number of evaluations performed
+     */
+    public void recordEvaluations(int count) {
+        this.fitnessEvaluations.add(count);
+    }
+
+    /**
+     * Records random walks discarded while generating a random individual.
+     *
+     * @param count the number of walks that were not self-avoiding
+     */
+    public void recordRandomWalkRejections(int count) {
+        if (count > 0) {
+            this.randomWalkRejections.add(count);
+        }
+    }
+
+    /**
+     * Records the local search of a single individual.
+     *
+     * @param moves the number of moves tried
+     * @param improved whether a fitter conformation was found
+     */
+    public void recordLocalSearch(int moves, boolean improved) {
+        this.localSearchMoves.add(moves);
+        if (improved) {
+            this.localSearchImprovements.increment();
+        }
+    }
+
+    /**
+     * Records the statistics of a newly bred generation.
+     *
+     * @param best the best fitness in the generation
+     * @param volume the number of individuals with the best fitness
+     * @param distinct the number of distinct fitnesses in the generation
+     */
+    public void recordGeneration(int best, int volume, int distinct) {
+        this.generations.increment();
+        if (best < this.bestFitness) {
+            this.lastImprovementTime = System.nanoTime();
+        }
+        this.bestFitness = best;
+        this.volumeAtBest = volume;
+        this.distinctFitnesses = distinct;
+    }
+
+    /**
+     * Records the diversity of a newly bred generation.
+     *
+     * @param moveDiversity the mean fraction of moves at which individuals differ
+     * @param distinctFolds the number of fold families in the generation
+     */
+    public void recordDiversity(double moveDiversity, int distinctFolds) {
+        this.moveDiversity = moveDiversity;
+        this.distinctFolds = distinctFolds;
+    }
+
+    /**
+     * Records a partial restart of the population.
+     */
+    public void recordRestart() {
+        this.restarts.increment();
+    }
+
+    @Override
+    public String getAcidString() {
+        return this.acidString;
+    }
+
+    @Override
+    public int getTargetFitness() {
+        return this.targetFitness;
+    }
+
+    @Override
+    public double getElapsedSeconds() {
+        return (System.nanoTime() - this.startTime) / 1e9;
+    }
+
+    @Override
+    public long getGenerations() {
+        return this.generations.sum();
+    }
+
+    @Override
+    public double getGenerationsPerSecond() {
+        return this.getGenerations() / this.getElapsedSeconds();
+    }
+
+    @Override
+    public long getFitnessEvaluations() {
+        return this.fitnessEvaluations.sum();
+    }
+
+    @Override
+    public double getFitnessEvaluationsPerSecond() {
+        return this.getFitnessEvaluations() / this.getElapsedSeconds();
+    }
+
+    @Override
+    public long getCrossoverSuccesses() {
+        return this.crossoverSuccesses.sum();
+    }
+
+    @Override
+    public long getCrossoverFailures() {
+        return this.crossoverFailures.sum();
+    }
+
+    @Override
+    public double getCrossoverSuccessRate() {
+        return SearchMetrics.rate(this.getCrossoverSuccesses(),
+                this.getCrossoverFailures());
+    }
+
+    @Override
+    public long getMutationSuccesses() {
+        return this.mutationSuccesses.sum();
+    }
+
+    @Override
+    public long getMutationFailures() {
+        return this.mutationFailures.sum();
+    }
+
+    @Override
+    public double getMutationSuccessRate() {
+        return SearchMetrics.rate(this.getMutationSuccesses(),
+                this.getMutationFailures());
+    }
+
+    @Override
+    public long getRandomWalkRejections() {
+        return this.randomWalkRejections.sum();
+    }
+
+    @Override
+    public long getLocalSearchMoves() {
+        return this.localSearchMoves.sum();
+    }
+
+    @Override
+    public long getLocalSearchImprovements() {
+        return this.localSearchImprovements.sum();
+    }
+
+    @Override
+    public int getBestFitness() {
+        return this.bestFitness;
+    }
+
+    @Override
+    public int getVolumeAtBest() {
+        return this.volumeAtBest;
+    }
+
+    @Override
+    public int getDistinctFitnesses() {
+        return this.distinctFitnesses;
+    }
+
+    @Override
+    public double getMoveDiversity() {
+        return this.moveDiversity;
+    }
+
+    @Override
+    public int getDistinctFolds() {
+        return this.distinctFolds;
+    }
+
+    @Override
+    public long getRestarts() {
+        return this.restarts.sum();
+    }
+
+    @Override
+    public double getSecondsSinceLastImprovement() {
+        return (System.nanoTime() - this.lastImprovementTime) / 1e9;
+    }
+
+    /**
+     * Returns the fraction of attempts that succeeded, or zero if there
+     * have been no attempts.
+     *
+     * @param successes the number of successful attempts
+     * @param failures the number of failed attempts
+     * @return the success rate between 0 and 1
+     */
+    private static double rate(long successes, long failures) {
+        long attempts = successes + failures;
+        return (attempts == 0) ? 0 : (double) successes / attempts;
+    }
+
+}
@@ -0,0 +1,183 @@
+/**
+ * The management interface through which the live statistics of a running
+ * search are exposed over JMX. Rates are averaged over the lifetime of the
+ * search.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public interface SearchMetricsMBean {
+
+    /**
+     * Returns the amino acid sequence being searched.
+     *
+     * @return the amino acid sequence
+     */
+    String getAcidString();
+
+    /**
+     * Returns the fitness the search is trying to reach.
+     *
+     * @return the target fitness
+     */
+    int getTargetFitness();
+
+    /**
+     * Returns how long the search has been running.
+     *
+     * @return the elapsed time in seconds
+     */
+    double getElapsedSeconds();
+
+    /**
+     * Returns the number of generations bred so far.
+     *
+     * @return the number of generations
+     */
+    long getGenerations();
+
+    /**
+     * Returns the mean number of generations bred per second.
+     *
+     * @return the generation rate
+     */
+    double getGenerationsPerSecond();
+
+    /**
+     * Returns the number of times the fitness of a structure was computed.
+     *
+     * @return the number of fitness evaluations
+     */
+    long getFitnessEvaluations();
+
+    /**
+     * Returns the mean number of fitness evaluations per second.
+     *
+     * @return the fitness evaluation rate
+     */
+    double getFitnessEvaluationsPerSecond();
+
+    /**
+     * Returns the number of crossovers that produced a valid structure.
+     *
+     * @return the number of successful crossovers
+     */
+    long getCrossoverSuccesses();
+
+    /**
+     * Returns the number of crossovers that failed to produce a valid
+     * structure.
+     *
+     * @return the number of failed crossovers
+     */
+    long getCrossoverFailures();
+
+    /**
+     * Returns the fraction of crossovers that produced a valid structure.
+     *
+     * @return the crossover success rate between 0 and 1
+     */
+    double getCrossoverSuccessRate();
+
+    /**
+     * Returns the number of mutations that produced a valid structure.
+     *
+     * @return the number of successful mutations
+     */
+    long getMutationSuccesses();
+
+    /**
+     * Returns the number of mutations that failed to produce a valid
+     * structure.
+     *
+     * @return the number of failed mutations
+     */
+    long getMutationFailures();
+
+    /**
+     * Returns the fraction of mutations that produced a valid structure.
+     *
+     * @return the mutation success rate between 0 and 1
+     */
+    double getMutationSuccessRate();
+
+    /**
+     * Returns the number of randomly generated walks discarded for not
+     * being self-avoiding.
+     *
+     * @return the number of rejected random walks
+     */
+    long getRandomWalkRejections();
+
+    /**
+     * Returns the number of local search moves tried on elites.
+     *
+     * @return the number of local search moves
+     */
+    long getLocalSearchMoves();
+
+    /**
+     * Returns the number of times local search found a fitter
+     * conformation of an elite.
+     *
+     * @return the number of local search improvements
+     */
+    long getLocalSearchImprovements();
+
+    /**
+     * Returns the fitness of the fittest individual of the current
+     * generation.
+     *
+     * @return the current best fitness
+     */
+    int getBestFitness();
+
+    /**
+     * Returns the number of individuals in the current generation sharing
+     * the best fitness.
+     *
+     * @return the volume at the best fitness
+     */
+    int getVolumeAtBest();
+
+    /**
+     * Returns the number of distinct fitnesses in the current generation,
+     * a cheap indication of the diversity of the population.
+     *
+     * @return the number of distinct fitnesses
+     */
+    int getDistinctFitnesses();
+
+    /**
+     * Returns the mean fraction of moves at which two of the fittest
+     * quarter of the current generation differ, estimated from a sample
+     * of pairs.
+     *
+     * @return the move diversity, between 0 and 1
+     */
+    double getMoveDiversity();
+
+    /**
+     * Returns the number of fold families, distinct up to rotation and
+     * reflection, among the fittest quarter of the current generation.
+     *
+     * @return the number of distinct folds
+     */
+    int getDistinctFolds();
+
+    /**
+     * Returns the number of times the population has been partially
+     * restarted for lack of diversity.
+     *
+     * @return the number of restarts
+     */
+    long getRestarts();
+
+    /**
+     * Returns how long it has been since the best fitness last improved.
+     *
+     * @return the time since the last improvement in seconds
+     */
+    double getSecondsSinceLastImprovement();
+
+}
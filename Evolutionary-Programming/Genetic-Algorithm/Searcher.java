@@ -1,6 +1,11 @@
-import java.util.Observable;
-import java.util.Observer;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicReference;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -8,7 +13,10 @@ import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
@@ -16,6 +24,7 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
 /**
@@ -26,12 +35,100 @@ import javafx.stage.Stage;
  * @author Franklin D. Worrell
  * @version 16 September 2018
  */
-public class Searcher extends Application implements Observer {
-    private static final double DIAMETER = 30;
-    private static final int OFFSET = 300;
+public class Searcher extends Application implements Flow.Subscriber<Message> {
     private static final int CANVAS_DIMENSION = 600;
+
+    /**
+     * The blank border left around a fitted protein in pixels.
+     */
+    private static final double MARGIN = 60;
+
+    /**
+     * Proteins longer than this, or drawn with lattice cells smaller than
+     * <code>MIN_DETAILED_CELL</code> pixels, are drawn with the
+     * level-of-detail renderer: a single polyline for the backbone and a
+     * single batched fill for the hydrophobic acids.
+     */
+    private static final int MAX_DETAILED_LENGTH = 500;
+    private static final double MIN_DETAILED_CELL = 8;
+
+    /**
+     * The most frames per second the canvas will be redrawn at, however
+     * quickly the search reports improvements.
+     */
+    private static final int TARGET_FPS = 30;
+
+    /**
+     * The minimum time between redraws of the canvas in nanoseconds.
+     */
+    private static final long FRAME_INTERVAL = 1_000_000_000L / TARGET_FPS;
+
     private Canvas canvas;
 
+    /**
+     * The newest <code>Message</code> received from a search that has not
+     * yet been drawn. Written by the thread delivering progress and taken
+     * by the JavaFX application thread, so only the latest fold is drawn.
+     */
+    private final AtomicReference<Message> pending = new AtomicReference<>();
+
+    /**
+     * Redraws the canvas on the JavaFX application thread, at most once
+     * every <code>FRAME_INTERVAL</code>.
+     */
+    private AnimationTimer renderer;
+
+    /**
+     * Maps lattice coordinates to canvas pixels. Only used on the JavaFX
+     * application thread.
+     */
+    private Viewport viewport;
+
+    /**
+     * The <code>Message</code> currently on the canvas, retained so it can
+     * be redrawn when the user pans or zooms.
+     */
+    private Message displayed;
+
+    /**
+     * Whether the user has changed the view since the last frame.
+     */
+    private boolean viewChanged;
+
+    /**
+     * Reusable pixel coordinate buffers for the level-of-detail renderer.
+     */
+    private double[] pixelXs = new double[0];
+    private double[] pixelYs = new double[0];
+
+    /**
+     * The last mouse position while the user drags to pan.
+     */
+    private double dragX;
+    private double dragY;
+
+    /**
+     * The history of a finished run being replayed, or <code>null</code>
+     * if no run has been opened.
+     */
+    private RunHistoryReader replay;
+
+    /**
+     * The search last started, or <code>null</code> if none has been.
+     */
+    private Search search;
+
+    /**
+     * The store of earlier results, opened the first time a search is
+     * asked to use it, or <code>null</code> until then.
+     */
+    private ResultStore results;
+
+    /**
+     * The hall of fame of that search as of the last time it was shown.
+     */
+    private List<Chromosome> famous = List.of();
+
     /**
      * Builds the buttons, text fields, and canvas required to run the
      * nondeterministic search using our genetic algorithm. Contains the
@@ -44,6 +141,30 @@ public class Searcher extends Application implements Observer {
         // Canvas for drawing the protein.
         this.canvas = new Canvas(CANVAS_DIMENSION, CANVAS_DIMENSION);
         this.canvas.getGraphicsContext2D().setFont(new Font("Arial", 22));
+        this.viewport = new Viewport(CANVAS_DIMENSION, CANVAS_DIMENSION, MARGIN);
+
+        // Scroll to zoom, drag to pan, and double-click to fit the protein again.
+        this.canvas.setOnScroll(event -> {
+            this.viewport.zoomAt((event.getDeltaY() > 0) ? 1.1 : 1 / 1.1,
+                    event.getX(), event.getY());
+            this.viewChanged = true;
+        });
+        this.canvas.setOnMousePressed(event -> {
+            this.dragX = event.getX();
+            this.dragY = event.getY();
+        });
+        this.canvas.setOnMouseDragged(event -> {
+            this.viewport.pan(event.getX() - this.dragX, event.getY() - this.dragY);
+            this.dragX = event.getX();
+            this.dragY = event.getY();
+            this.viewChanged = true;
+        });
+        this.canvas.setOnMouseClicked(event -> {
+            if (event.getClickCount() == 2) {
+                this.viewport.reset();
+                this.viewChanged = true;
+            }
+        });
 
         // Create text field for amino acid sequence.
         HBox acidGetter = new HBox();
@@ -65,17 +186,126 @@ public class Searcher extends Application implements Observer {
         fields.setPadding(new Insets(10.0, 10.0, 10.0, 10.0));
         fields.getChildren().addAll(acidGetter, fitnessGetter);
 
-        // Create button to start search with genetic algorithm.
+        // Choose the search method.
+        final ChoiceBox<EngineType> engineChoice = new ChoiceBox<>();
+        engineChoice.getItems().addAll(EngineType.values());
+        engineChoice.setValue(EngineType.GENETIC_ALGORITHM);
+        fields.getChildren().add(engineChoice);
+
+        // Recording a genetic algorithm's history for replay is opt-in.
+        final CheckBox recordBox = new CheckBox("Record run for replay");
+        fields.getChildren().add(recordBox);
+
+        // Starting from and adding to the results of earlier searches is opt-in.
+        final CheckBox resultsBox = new CheckBox("Use results of earlier searches");
+        fields.getChildren().add(resultsBox);
+
+        // Instructions, replaced by an explanation if a search is refused.
+        Text initialLabel = new Text("Please enter required information" +
+                " and press Start.");
+        initialLabel.setFont(new Font("Arial", 18));
+
+        // Create button to start search with the chosen method.
         Button searchBtn = new Button();
         searchBtn.setText("Start");
         searchBtn.setOnAction(event -> {
             // Collect search parameters from the UI.
             String acids = acidField.getText();
-            int target = Integer.parseInt(fitnessField.getText());
-            // Create and start a new search.
-            new Search(acids, target, Searcher.this);
+            try {
+                int target = Integer.parseInt(fitnessField.getText());
+                ResultStore store = null;
+                if (resultsBox.isSelected()) {
+                    if (this.results == null) {
+                        this.results = new ResultStore(ResultStore.DEFAULT_PATH);
+                    }
+                    store = this.results;
+                }
+                // Create and start a new search. The genetic algorithm records
+                // its history for replay only if asked to, where the user chooses.
+                EngineType engine = engineChoice.getValue();
+                if (engine == EngineType.GENETIC_ALGORITHM) {
+                    Path history = null;
+                    if (recordBox.isSelected()) {
+                        FileChooser chooser = new FileChooser();
+                        chooser.setTitle("Record run history");
+                        chooser.setInitialFileName("run-" + System.currentTimeMillis());
+                        File file = chooser.showSaveDialog(searchBtn.getScene().getWindow());
+                        if (file == null) {
+                            return;
+                        }
+                        history = Searcher.toHistoryBase(file.toPath());
+                    }
+                    this.search = new Search(acids, target, Searcher.this, history, store);
+                } else {
+                    this.search = new Search(engine.create(acids, target), Searcher.this,
+                            store);
+                }
+                initialLabel.setText("Searching.");
+            } catch (IllegalArgumentException e) {
+                // Unparsable or unreachable targets are refused.
+                initialLabel.setText(e.getMessage());
+            } catch (IOException e) {
+                initialLabel.setText("Could not open the results of earlier searches: "
+                        + e.getMessage());
+            }
 		});
 
+        // Replay a recorded run by scrubbing through its generations.
+        Label replayLabel = new Label("No run opened.");
+        Slider replaySlider = new Slider(0, 0, 0);
+        replaySlider.setBlockIncrement(1);
+        replaySlider.setDisable(true);
+        replaySlider.valueProperty().addListener((observable, oldValue, newValue) ->
+                this.showReplayedGeneration(newValue.intValue(), replayLabel));
+        Button openBtn = new Button();
+        openBtn.setText("Open run");
+        openBtn.setOnAction(event -> {
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("Open run history");
+            File file = chooser.showOpenDialog(openBtn.getScene().getWindow());
+            if (file == null) {
+                return;
+            }
+            try {
+                this.replay = new RunHistoryReader(Searcher.toHistoryBase(file.toPath()));
+            } catch (IOException e) {
+                replayLabel.setText("Could not open run: " + e.getMessage());
+                return;
+            }
+            int last = this.replay.getGenerationCount() - 1;
+            replaySlider.setMax(Math.max(last, 0));
+            replaySlider.setDisable(last < 0);
+            replaySlider.setValue(last);
+            this.showReplayedGeneration(last, replayLabel);
+        });
+        HBox replayControls = new HBox();
+        replayControls.setPadding(new Insets(10.0, 10.0, 10.0, 10.0));
+        replayControls.getChildren().addAll(openBtn, replaySlider, replayLabel);
+
+        // Browse the fittest distinct folds the search has found so far.
+        Label fameLabel = new Label("No search started.");
+        Slider fameSlider = new Slider(0, 0, 0);
+        fameSlider.setBlockIncrement(1);
+        fameSlider.setDisable(true);
+        fameSlider.valueProperty().addListener((observable, oldValue, newValue) ->
+                this.showFamousFold(newValue.intValue(), fameLabel));
+        Button fameBtn = new Button();
+        fameBtn.setText("Hall of fame");
+        fameBtn.setOnAction(event -> {
+            if (this.search == null) {
+                return;
+            }
+            this.famous = this.search.getHallOfFame().getFolds();
+            int last = this.famous.size() - 1;
+            fameSlider.setMax(Math.max(last, 0));
+            fameSlider.setDisable(last < 0);
+            fameSlider.setValue(0);
+            this.showFamousFold(0, fameLabel);
+        });
+        HBox fameControls = new HBox();
+        fameControls.setPadding(new Insets(10.0, 10.0, 10.0, 10.0));
+        fameControls.getChildren().addAll(fameBtn, fameSlider, fameLabel);
+
         // TODO: Create a mechanism to terminate a search.
         // This could be an user-provided upper limit on the number of generations to breed.
 
@@ -91,12 +321,9 @@ public class Searcher extends Application implements Observer {
         startOptions.getChildren().addAll(fields, buttonBox);
 
         VBox all = new VBox();
-        all.getChildren().addAll(startOptions, canvas);
+        all.getChildren().addAll(startOptions, canvas, replayControls, fameControls);
         all.setAlignment(Pos.CENTER);
         // Configure the display window.
-        Text initialLabel = new Text("Please enter required information" +
-                " and press Start.");
-        initialLabel.setFont(new Font("Arial", 18));
         BorderPane root = new BorderPane();
         root.setPadding(new Insets(10.0, 10.0, 10.0, 10.0));
         root.setTop(initialLabel);
@@ -105,25 +332,155 @@ public class Searcher extends Application implements Observer {
         primaryStage.setTitle("Genetic Algorithm");
         primaryStage.setScene(scene);
         primaryStage.show();
+
+        // Draw the newest fold handed over by the search once per frame.
+        this.renderer = new AnimationTimer() {
+            private long lastFrame = 0;
+
+            @Override
+            public void handle(long now) {
+                if (now - this.lastFrame < FRAME_INTERVAL) {
+                    return;
+                }
+                Message message = Searcher.this.pending.getAndSet(null);
+                if (message != null) {
+                    Searcher.this.displayed = message;
+                } else if (!Searcher.this.viewChanged
+                        || Searcher.this.displayed == null) {
+                    return;
+                }
+                this.lastFrame = now;
+                Searcher.this.viewChanged = false;
+                Searcher.this.drawChromosome(Searcher.this.displayed.getChromosome(),
+                        Searcher.this.displayed.getGeneration(),
+                        Searcher.this.canvas.getGraphicsContext2D());
+                // A portfolio names the configuration that won on its last fold.
+                String winner = Searcher.this.displayed.getWinner();
+                if (winner != null) {
+                    Searcher.this.canvas.getGraphicsContext2D()
+                            .fillText("Won by: " + winner, 25, 65);
+                }
+            }
+        };
+        this.renderer.start();
     }
 
 
     /**
-     * When a new fittest <code>Chromosome</code> is found, it is drawn to the
-     * canvas.
-     *
-     * @param o the <code>Population</code> that is evolving
-     * @param arg the <code>Chromosome</code> that is the new fittest found
+     * Stops redrawing the canvas when the application exits.
      */
     @Override
-    public void update(Observable o, Object arg) {
-        if (!(arg instanceof Message)) {
-            throw new IllegalArgumentException("Message was not correct type.");
+    public void stop() {
+        if (this.renderer != null) {
+            this.renderer.stop();
         }
+    }
+
 
-        this.drawChromosome(((Message) arg).getChromosome(),
-                ((Message) arg).getGeneration(),
-                this.canvas.getGraphicsContext2D());
+    /**
+     * Shows the fittest fold as of a generation of the run being replayed,
+     * along with that generation's statistics. Both are read straight from
+     * the memory-mapped history, so scrubbing never waits on the length of
+     * the run.
+     *
+     * @param index the index of the generation in the history
+     * @param label where to show the generation's statistics
+     */
+    private void showReplayedGeneration(int index, Label label) {
+        if (this.replay == null || index < 0
+                || index >= this.replay.getGenerationCount()) {
+            return;
+        }
+        int generation = this.replay.getGenerationNumber(index);
+        label.setText("Generation " + generation
+                + "\tbest: " + this.replay.getBestFitness(index)
+                + "\tvolume: " + this.replay.getVolumeAtBest(index)
+                + "\tdistinct: " + this.replay.getDistinctFitnesses(index));
+        Chromosome best = this.replay.getBestAt(index);
+        if (best != null) {
+            this.pending.set(new Message(best, generation));
+        }
+    }
+
+
+    /**
+     * Shows a fold from the snapshot of the hall of fame, with its rank.
+     *
+     * @param index the index of the fold, fittest first
+     * @param label where to show the fold's rank and fitness
+     */
+    private void showFamousFold(int index, Label label) {
+        if (index < 0 || index >= this.famous.size()) {
+            label.setText("No folds found yet.");
+            return;
+        }
+        Chromosome fold = this.famous.get(index);
+        label.setText("Fold " + (index + 1) + " of " + this.famous.size()
+                + "\tfitness: " + fold.getFitness());
+        this.pending.set(new Message(fold, 0));
+    }
+
+
+    /**
+     * Returns the base name of a run history given either of its files.
+     *
+     * @param file a file of the history, with or without its extension
+     * @return the path of the history files, without extension
+     */
+    private static Path toHistoryBase(Path file) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".gens") || name.endsWith(".imps")) {
+            return file.resolveSibling(name.substring(0, name.length() - 5));
+        }
+        return file;
+    }
+
+
+    /**
+     * Requests every snapshot the search publishes. The publisher coalesces
+     * snapshots that arrive faster than they can be drawn, so unbounded
+     * demand never builds a backlog.
+     *
+     * @param subscription the subscription to the search's progress
+     */
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+
+    /**
+     * When a new fittest <code>Chromosome</code> is found, it is handed to
+     * the JavaFX application thread to be drawn on the next frame. Called
+     * off the JavaFX application thread, so the canvas is never touched
+     * here; a <code>Message</code> that arrives before the previous one was
+     * drawn simply replaces it.
+     *
+     * @param message the newest fittest <code>Chromosome</code> and its generation
+     */
+    @Override
+    public void onNext(Message message) {
+        this.pending.set(message);
+    }
+
+
+    /**
+     * Reports a failure in delivering the progress of a search.
+     *
+     * @param throwable the cause of the failure
+     */
+    @Override
+    public void onError(Throwable throwable) {
+        throwable.printStackTrace();
+    }
+
+
+    /**
+     * Called when a search finishes. The last fittest
+     * <code>Chromosome</code> remains on the canvas.
+     */
+    @Override
+    public void onComplete() {
     }
 
 
@@ -131,6 +488,10 @@ public class Searcher extends Application implements Observer {
      * Draws a <code>Chromosome</code>'s protein structure to the
      * <code>Canvas</code> along with information about the generation
      * that spawned it and the fitness of that <code>Chromosome</code>.
+     * The structure is scaled to fit the canvas; long structures, or ones
+     * zoomed out too far to make out individual acids, are drawn with the
+     * level-of-detail renderer. Must be called on the JavaFX application
+     * thread.
      *
      * @param chromosome the protein structure to draw
      * @param generation the generation that spawned the <code>Chromosome</code>
@@ -140,80 +501,112 @@ public class Searcher extends Application implements Observer {
                                int generation,
                                GraphicsContext gc) {
         // Clear and format canvas.
-        gc.clearRect(0, 0, 600, 600); 	// Clear graphic of previous iteration.
-        gc.setLineWidth(3);
+        gc.clearRect(0, 0, CANVAS_DIMENSION, CANVAS_DIMENSION);
         gc.setFill(Color.LIGHTSTEELBLUE);
-        gc.fillRect(0, 0, 600, 600);
+        gc.fillRect(0, 0, CANVAS_DIMENSION, CANVAS_DIMENSION);
 
         // Grab Chromosome bits so code is more compact.
         boolean[] acids = chromosome.getAcids();
         Location[] locations = chromosome.getLocations();
 
-        // TODO: Implement flexible scaling based on protein size.
-
-        // Draw the first acid.
-        Location previous = locations[0];
-        double prevX = previous.getX() + OFFSET;
-        double prevY = previous.getY() + OFFSET;
-        gc.setFill((acids[0]) ? Color.BLACK : Color.WHITE);
-        gc.fillOval(prevX, prevY, DIAMETER - 10,  DIAMETER - 10);
-
-        // Draw all subsequent acids with connecting lines.
-        for (int i = 1; i < locations.length; i++) {
-            Location current = locations[i];
-            double currX = current.getX() * DIAMETER + OFFSET;
-            double currY = current.getY() * DIAMETER + OFFSET;
-            // Draw acid.
-            gc.setStroke((acids[i]) ? Color.BLACK : Color.WHITE);
-            gc.strokeOval(currX, currY, DIAMETER - 10,  DIAMETER - 10);
-            // Draw covalent bond.
-            gc.setStroke(Color.BURLYWOOD);
-            gc.strokeLine(prevX + 10, prevY + 10, currX + 10, currY + 10);
-            // Retain previous for drawing next bond.
-            prevX = currX;
-            prevY = currY;
+        this.viewport.fit(locations);
+        if (locations.length > MAX_DETAILED_LENGTH
+                || this.viewport.getCellSize() < MIN_DETAILED_CELL) {
+            this.drawOutline(acids, locations, gc);
+        } else {
+            this.drawDetailed(acids, locations, gc);
         }
 
         // Draw the iteration number and current fitness to the canvas.
         gc.setFill(Color.BLACK);
         gc.setLineWidth(1);
         gc.fillText("Generation: " + generation, 25, 45);
-        gc.fillText(((Integer) chromosome.getFitness()).toString(), 550, 575);
+        gc.fillText(((Integer) chromosome.getFitness()).toString(),
+                CANVAS_DIMENSION - 50, CANVAS_DIMENSION - 25);
     }
 
 
     /**
-     * Given the structure of a protein, returns the required window dimensions
-     * for drawing the protein to the screen. These must be later adjusted to
-     * accommodate lines between covalent acids and the size of the acids when
-     * drawn.
+     * Draws every acid of a protein as a circle joined to its neighbors by
+     * covalent bonds. The first acid is filled.
      *
-     * Currently unused. Implemented as part of dynamic scaling of drawing of
-     * protein structure.
+     * @param acids the type of each acid in order
+     * @param locations the coordinates of each acid in order
+     * @param gc the <code>GraphicsContext</code> of the <code>Canvas</code>
+     */
+    private void drawDetailed(boolean[] acids,
+                              Location[] locations,
+                              GraphicsContext gc) {
+        double cell = this.viewport.getCellSize();
+        double radius = cell / 3;
+        gc.setLineWidth(Math.max(1, cell / 10));
+
+        // Draw the covalent bonds beneath the acids.
+        gc.setStroke(Color.BURLYWOOD);
+        double prevX = this.viewport.toPixelX(locations[0].getX());
+        double prevY = this.viewport.toPixelY(locations[0].getY());
+        for (int i = 1; i < locations.length; i++) {
+            double currX = this.viewport.toPixelX(locations[i].getX());
+            double currY = this.viewport.toPixelY(locations[i].getY());
+            gc.strokeLine(prevX, prevY, currX, currY);
+            prevX = currX;
+            prevY = currY;
+        }
+
+        // Draw the first acid filled and all subsequent acids outlined.
+        for (int i = 0; i < locations.length; i++) {
+            double x = this.viewport.toPixelX(locations[i].getX()) - radius;
+            double y = this.viewport.toPixelY(locations[i].getY()) - radius;
+            if (i == 0) {
+                gc.setFill((acids[i]) ? Color.BLACK : Color.WHITE);
+                gc.fillOval(x, y, 2 * radius, 2 * radius);
+            } else {
+                gc.setStroke((acids[i]) ? Color.BLACK : Color.WHITE);
+                gc.strokeOval(x, y, 2 * radius, 2 * radius);
+            }
+        }
+    }
+
+
+    /**
+     * Draws a protein as a single polyline for the backbone with a small
+     * square marking each hydrophobic acid. All markers are filled with one
+     * call, so the cost of a redraw is dominated by computing coordinates
+     * rather than by the number of draw calls.
      *
-     * @param locations the coordinates of each amino acid in the protein
-     * @return an array containing the horizontal and vertical spans of the protein
-     */
-    private int[] getRequiredWindowDimensions(Location[] locations) {
-        int[] xAndY = {0, 0}; 	// TODO: Implement a Dimension object to use.
-        int minX = 0;
-        int maxX = 0;
-        int minY = 0;
-        int maxY = 0;
-
-        // Find the most extreme x and y values.
-        for (Location location : locations) {
-            int x = location.getX();
-            int y = location.getY();
-            if (x < minX) { minX = x; }
-            if (x > maxX) { maxX = x; }
-            if (y < minY) { minY = y; }
-            if (y > maxY) { maxY = y; }
+     * @param acids the type of each acid in order
+     * @param locations the coordinates of each acid in order
+     * @param gc the <code>GraphicsContext</code> of the <code>Canvas</code>
+     */
+    private void drawOutline(boolean[] acids,
+                             Location[] locations,
+                             GraphicsContext gc) {
+        int length = locations.length;
+        if (this.pixelXs.length < length) {
+            this.pixelXs = new double[length];
+            this.pixelYs = new double[length];
+        }
+        for (int i = 0; i < length; i++) {
+            this.pixelXs[i] = this.viewport.toPixelX(locations[i].getX());
+            this.pixelYs[i] = this.viewport.toPixelY(locations[i].getY());
         }
 
-        xAndY[0] = maxX - minX; 	// the horizontal width
-        xAndY[1] = maxY - minY; 	// the vertical height
-        return xAndY;
+        // Backbone.
+        gc.setLineWidth(1);
+        gc.setStroke(Color.DIMGRAY);
+        gc.strokePolyline(this.pixelXs, this.pixelYs, length);
+
+        // Hydrophobic markers, batched into a single path.
+        double half = Math.max(1, this.viewport.getCellSize() / 4);
+        gc.beginPath();
+        for (int i = 0; i < length; i++) {
+            if (acids[i]) {
+                gc.rect(this.pixelXs[i] - half, this.pixelYs[i] - half,
+                        2 * half, 2 * half);
+            }
+        }
+        gc.setFill(Color.BLACK);
+        gc.fill();
     }
 
 
@@ -0,0 +1,535 @@
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Runs many searches at once for a long stretch, to show how the process
+ * holds up under load: how many threads it runs, how much heap it uses,
+ * how long the garbage collector pauses it, and how long searches take
+ * when they share the machine. A fixed number of <code>Searches</code>
+ * are kept running, of random sequences of mixed lengths, each with the
+ * next of a rotation of engines and with a time budget, until the soak
+ * ends. Heap, collections and live threads are sampled throughout.
+ *
+ * <p>Once the last search has ended, every thread started during the soak
+ * must have ended too. Threads that outlive it, other than the idle
+ * workers of the common <code>ForkJoinPool</code> and the progress log's
+ * writer, are reported as leaked, grouped by the executor that started
+ * them, and the soak exits with status 1, so that a search that never
+ * shuts down its executor fails the soak.
+ *
+ * <p>Run it with, for example,
+ * <code>java SoakTest -searches 32 -duration 300 -out soak.json</code>.
+ * <code>-searches</code> is the number kept running, <code>-duration</code>
+ * and <code>-budget</code>, the most a search may run, are in seconds,
+ * <code>-engines</code> takes comma-separated names of
+ * <code>EngineType</code>, <code>-fraction</code> sets each target to that
+ * fraction of the bound of <code>FitnessBound</code>, and
+ * <code>-seed</code> fixes the sequences. A report is printed, and the
+ * samples and statistics are written to the <code>-out</code> file as
+ * JSON. Searches are given no result store, so every one is run.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class SoakTest {
+
+    /**
+     * The shortest and longest sequences searched.
+     */
+    private static final int MIN_LENGTH = 20;
+    private static final int MAX_LENGTH = 48;
+
+    /**
+     * How long threads are given to end once the last search has.
+     */
+    private static final long GRACE_MILLIS = 10_000;
+
+    /**
+     * The prefix of the names of the soak's own threads.
+     */
+    private static final String OWN_THREADS = "soak-";
+
+    private int concurrency = 24;
+    private long durationMillis = 60_000;
+    private long budgetMillis = 10_000;
+    private long sampleMillis = 1_000;
+    private double fraction = 0.7;
+    private long seed = 1;
+    private Path out = Paths.get("soak.json");
+    private List<EngineType> engines = new ArrayList<>(Arrays.asList(
+            EngineType.GENETIC_ALGORITHM, EngineType.STEADY_STATE, EngineType.ASYNCHRONOUS,
+            EngineType.PARALLEL_TEMPERING, EngineType.CHAIN_GROWTH));
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Every collection pause seen, in milliseconds, and the samples taken.
+     */
+    private final ConcurrentLinkedQueue<Double> pauses = new ConcurrentLinkedQueue<>();
+    private final List<String> samples = new ArrayList<>();
+
+    /**
+     * The most heap used in any sample, in megabytes. Guarded by
+     * <code>samples</code>.
+     */
+    private double peakHeap;
+
+    /**
+     * The searches running, and the outcomes of those finished.
+     */
+    private final Map<Integer, FoldingEngine> running = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Outcome> outcomes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger started = new AtomicInteger();
+
+    /**
+     * Runs the soak, prints its report and writes it as JSON.
+     *
+     * @return whether no thread was leaked
+     * @throws IOException if the report cannot be written
+     * @throws InterruptedException if interrupted while waiting for searches
+     */
+    public boolean run() throws IOException, InterruptedException {
+        Set<Long> baseline = new HashSet<>();
+        for (long id : this.threads.getAllThreadIds()) {
+            baseline.add(id);
+        }
+        NotificationListener gcListener = (notification, handback) -> {
+            if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION
+                    .equals(notification.getType())) {
+                this.pauses.add((double) GarbageCollectionNotificationInfo.from(
+                        (CompositeData) notification.getUserData()).getGcInfo().getDuration());
+            }
+        };
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) collector).addNotificationListener(gcListener, null, null);
+        }
+
+        AtomicInteger ownThreads = new AtomicInteger();
+        ScheduledExecutorService timer = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, OWN_THREADS + ownThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        ScheduledFuture<?> sampler = timer.scheduleAtFixedRate(() -> this.sample(start),
+                0, this.sampleMillis, TimeUnit.MILLISECONDS);
+
+        Semaphore slots = new Semaphore(this.concurrency);
+        Random random = new Random(this.seed);
+        long deadline = start + this.durationMillis * 1_000_000;
+        while (System.nanoTime() < deadline) {
+            if (!slots.tryAcquire(Math.max(1, (deadline - System.nanoTime()) / 1_000_000),
+                    TimeUnit.MILLISECONDS)) {
+                break;
+            }
+            this.launch(random, timer, slots);
+        }
+
+        // Stop whatever is still running, and wait for every search to end.
+        for (FoldingEngine engine : this.running.values()) {
+            engine.cancel();
+        }
+        slots.acquire(this.concurrency);
+        long end = System.nanoTime();
+        sampler.cancel(false);
+        this.sample(start);
+
+        Map<String, List<String>> leaks = this.findLeaks(baseline);
+        String report = this.report(end - start, leaks);
+        System.out.print(report);
+        try (Writer writer = Files.newBufferedWriter(this.out, StandardCharsets.UTF_8)) {
+            writer.write(this.toJson(end - start, leaks));
+        }
+        System.out.println("Samples written to " + this.out);
+        timer.shutdownNow();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            try {
+                ((NotificationEmitter) collector).removeNotificationListener(gcListener);
+            } catch (ListenerNotFoundException e) {
+                // Already gone.
+            }
+        }
+        return leaks.isEmpty();
+    }
+
+    /**
+     * Starts a search of a new random sequence with the next engine,
+     * giving back its slot when it ends.
+     *
+     * @param random the random generator choosing the sequence
+     * @param timer the executor enforcing the budget
+     * @param slots the slots of running searches
+     */
+    private void launch(Random random, ScheduledExecutorService timer, Semaphore slots) {
+        int index = this.started.getAndIncrement();
+        String acids;
+        int target;
+        do {
+            int length = MIN_LENGTH + random.nextInt(MAX_LENGTH - MIN_LENGTH + 1);
+            StringBuilder builder = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                builder.append(random.nextBoolean() ? 'h' : 'p');
+            }
+            acids = builder.toString();
+            target = (int) (FitnessBound.bestPossibleFitness(acids) * this.fraction);
+        } while (target == 0);
+        EngineType engineType = this.engines.get(index % this.engines.size());
+
+        long launched = System.nanoTime();
+        FoldingEngine engine;
+        try {
+            engine = engineType.create(acids, target);
+        } catch (RuntimeException e) {
+            this.outcomes.add(new Outcome(engineType, System.nanoTime() - launched, 0, false));
+            slots.release();
+            return;
+        }
+        this.running.put(index, engine);
+        ScheduledFuture<?> budget = timer.schedule(engine::cancel, this.budgetMillis,
+                TimeUnit.MILLISECONDS);
+        int goal = target;
+        new Search(engine, new Flow.Subscriber<Message>() {
+            private int best = 1;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Message message) {
+                this.best = Math.min(this.best, message.getFitness());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                this.onComplete();
+            }
+
+            @Override
+            public void onComplete() {
+                budget.cancel(false);
+                SoakTest.this.running.remove(index);
+                SoakTest.this.outcomes.add(new Outcome(engineType, System.nanoTime() - launched,
+                        engine.getMetrics().getFitnessEvaluations(), this.best <= goal));
+                slots.release();
+            }
+        });
+    }
+
+    /**
+     * Records the heap, collections, threads and searches of the moment.
+     *
+     * @param start when the soak started, by <code>System.nanoTime</code>
+     */
+    private void sample(long start) {
+        long collections = 0;
+        long collectionMillis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collections += Math.max(0, collector.getCollectionCount());
+            collectionMillis += Math.max(0, collector.getCollectionTime());
+        }
+        double heapUsed = this.memory.getHeapMemoryUsage().getUsed() / 1048576.0;
+        String sample = String.format(Locale.ROOT,
+                "{\"seconds\":%.1f,\"heapUsedMB\":%.1f,\"heapCommittedMB\":%.1f,"
+                        + "\"threads\":%d,\"running\":%d,\"finished\":%d,"
+                        + "\"collections\":%d,\"collectionMillis\":%d}",
+                (System.nanoTime() - start) / 1e9,
+                heapUsed, this.memory.getHeapMemoryUsage().getCommitted() / 1048576.0,
+                this.threads.getThreadCount(), this.running.size(), this.outcomes.size(),
+                collections, collectionMillis);
+        synchronized (this.samples) {
+            this.samples.add(sample);
+            this.peakHeap = Math.max(this.peakHeap, heapUsed);
+        }
+    }
+
+    /**
+     * Waits for the threads started during the soak to end, and returns
+     * those that do not, by the executor or name they were started under.
+     *
+     * @param baseline the threads alive before the soak
+     * @return the names of the threads leaked, by executor
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private Map<String, List<String>> findLeaks(Set<Long> baseline)
+            throws InterruptedException {
+        long giveUp = System.nanoTime() + GRACE_MILLIS * 1_000_000;
+        Map<String, List<String>> leaks;
+        do {
+            leaks = new TreeMap<>();
+            for (ThreadInfo info : this.threads.getThreadInfo(this.threads.getAllThreadIds())) {
+                if (info == null || baseline.contains(info.getThreadId())) {
+                    continue;
+                }
+                String name = info.getThreadName();
+                if (name.startsWith(OWN_THREADS) || name.startsWith("ForkJoinPool.commonPool")
+                        || name.equals("progress-log")) {
+                    continue;
+                }
+                // Threads of one executor share all of their name but their number.
+                String executor = name.matches(".*-thread-\\d+")
+                        ? name.replaceAll("-thread-\\d+$", "") : name.replaceAll("-\\d+$", "");
+                leaks.computeIfAbsent(executor, key -> new ArrayList<>()).add(name);
+            }
+            if (!leaks.isEmpty()) {
+                Thread.sleep(100);
+            }
+        } while (!leaks.isEmpty() && System.nanoTime() < giveUp);
+        return leaks;
+    }
+
+    /**
+     * Describes the soak for a person.
+     *
+     * @param elapsed how long the soak ran, in nanoseconds
+     * @param leaks the threads leaked, by executor
+     * @return the report
+     */
+    private String report(long elapsed, Map<String, List<String>> leaks) {
+        List<Outcome> finished = new ArrayList<>(this.outcomes);
+        double[] latencies = SoakTest.latencies(finished);
+        double[] throughputs = SoakTest.throughputs(finished);
+        double[] pauseMillis = this.pauses.stream().mapToDouble(Double::doubleValue)
+                .sorted().toArray();
+        long successes = finished.stream().filter(outcome -> outcome.success).count();
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "Soak of %.1f s, %d searches at a time:%n",
+                elapsed / 1e9, this.concurrency));
+        report.append(String.format(Locale.ROOT,
+                "  %d searches finished, %d reached their target (%.1f per minute)%n",
+                finished.size(), successes, finished.size() / (elapsed / 60e9)));
+        report.append(SoakTest.formatPercentiles("search latency ms", latencies));
+        report.append(SoakTest.formatPercentiles("evaluations/s per search", throughputs));
+        for (EngineType engine : this.engines) {
+            List<Outcome> ofEngine = new ArrayList<>();
+            for (Outcome outcome : finished) {
+                if (outcome.engine == engine) {
+                    ofEngine.add(outcome);
+                }
+            }
+            report.append(String.format(Locale.ROOT,
+                    "    %-20s %5d searches, median %10.1f ms, %12.0f evaluations/s%n",
+                    engine.name(), ofEngine.size(),
+                    Percentiles.of(SoakTest.latencies(ofEngine), 0.5),
+                    Percentiles.of(SoakTest.throughputs(ofEngine), 0.5)));
+        }
+        report.append(SoakTest.formatPercentiles("GC pause ms", pauseMillis));
+        report.append(String.format(Locale.ROOT,
+                "  peak threads %d, peak heap used %.1f MB%n",
+                this.threads.getPeakThreadCount(), this.peakHeap()));
+        if (leaks.isEmpty()) {
+            report.append("  no leaked threads").append(System.lineSeparator());
+        } else {
+            int count = leaks.values().stream().mapToInt(List::size).sum();
+            report.append(String.format("  LEAKED %d threads of %d executors:%n",
+                    count, leaks.size()));
+            for (Map.Entry<String, List<String>> leak : leaks.entrySet()) {
+                report.append(String.format("    %s: %d threads%n",
+                        leak.getKey(), leak.getValue().size()));
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Describes the soak as a JSON object.
+     *
+     * @param elapsed how long the soak ran, in nanoseconds
+     * @param leaks the threads leaked, by executor
+     * @return the samples, percentiles and leaks of the soak
+     */
+    private String toJson(long elapsed, Map<String, List<String>> leaks) {
+        List<Outcome> finished = new ArrayList<>(this.outcomes);
+        double[] latencies = SoakTest.latencies(finished);
+        double[] throughputs = SoakTest.throughputs(finished);
+        double[] pauseMillis = this.pauses.stream().mapToDouble(Double::doubleValue)
+                .sorted().toArray();
+        StringBuilder json = new StringBuilder();
+        json.append(String.format(Locale.ROOT,
+                "{\"environment\":{\"java\":\"%s\",\"processors\":%d,\"maxMemoryMB\":%d,"
+                        + "\"started\":\"%s\"},\"settings\":{\"searches\":%d,"
+                        + "\"durationMillis\":%d,\"budgetMillis\":%d,\"fraction\":%s,"
+                        + "\"seed\":%d},\"seconds\":%.3f,\"finished\":%d,\"succeeded\":%d,"
+                        + "\"peakThreads\":%d,\"peakHeapMB\":%.1f,",
+                System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(),
+                Runtime.getRuntime().maxMemory() >> 20, Instant.now(), this.concurrency,
+                this.durationMillis, this.budgetMillis, this.fraction, this.seed,
+                elapsed / 1e9, finished.size(),
+                finished.stream().filter(outcome -> outcome.success).count(),
+                this.threads.getPeakThreadCount(), this.peakHeap()));
+        json.append("\"latencyMillis\":").append(Percentiles.toJson(latencies))
+                .append(",\"evaluationsPerSecond\":").append(Percentiles.toJson(throughputs))
+                .append(",\"gcPauseMillis\":").append(Percentiles.toJson(pauseMillis))
+                .append(",\"leakedThreads\":{");
+        boolean first = true;
+        for (Map.Entry<String, List<String>> leak : leaks.entrySet()) {
+            json.append(first ? "" : ",").append('"').append(leak.getKey()).append("\":")
+                    .append(leak.getValue().size());
+            first = false;
+        }
+        json.append("},\"samples\":[");
+        synchronized (this.samples) {
+            json.append(String.join(",", this.samples));
+        }
+        return json.append("]}").append(System.lineSeparator()).toString();
+    }
+
+    /**
+     * Returns the most heap used in any sample, in megabytes.
+     *
+     * @return the peak heap used
+     */
+    private double peakHeap() {
+        synchronized (this.samples) {
+            return this.peakHeap;
+        }
+    }
+
+    /**
+     * Returns how long searches took, in milliseconds.
+     *
+     * @param outcomes the searches
+     * @return their latencies, in ascending order
+     */
+    private static double[] latencies(List<Outcome> outcomes) {
+        return outcomes.stream().mapToDouble(outcome -> outcome.nanos / 1e6).sorted().toArray();
+    }
+
+    /**
+     * Returns how many fitness evaluations searches made per second.
+     *
+     * @param outcomes the searches
+     * @return their throughputs, in ascending order
+     */
+    private static double[] throughputs(List<Outcome> outcomes) {
+        return outcomes.stream().filter(outcome -> outcome.nanos > 0)
+                .mapToDouble(outcome -> outcome.evaluations / (outcome.nanos / 1e9))
+                .sorted().toArray();
+    }
+
+    /**
+     * Formats the median, 95th and 99th percentiles and maximum of values.
+     *
+     * @param label what the values are
+     * @param sorted the values, in ascending order
+     * @return a line of the report
+     */
+    private static String formatPercentiles(String label, double[] sorted) {
+        return String.format(Locale.ROOT, "  %-25s median %10.1f  p95 %10.1f  p99 %10.1f"
+                        + "  max %10.1f%n", label, Percentiles.of(sorted, 0.5),
+                Percentiles.of(sorted, 0.95), Percentiles.of(sorted, 0.99),
+                Percentiles.of(sorted, 1));
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        SoakTest soak = new SoakTest();
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException(args[i] + " needs a value");
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "-searches":
+                        soak.concurrency = Integer.parseInt(value);
+                        break;
+                    case "-duration":
+                        soak.durationMillis = Math.round(Double.parseDouble(value) * 1000);
+                        break;
+                    case "-budget":
+                        soak.budgetMillis = Math.round(Double.parseDouble(value) * 1000);
+                        break;
+                    case "-sample":
+                        soak.sampleMillis = Math.max(1,
+                                Math.round(Double.parseDouble(value) * 1000));
+                        break;
+                    case "-engines":
+                        soak.engines.clear();
+                        for (String name : value.split(",")) {
+                            soak.engines.add(EngineType.valueOf(name.trim().toUpperCase()));
+                        }
+                        break;
+                    case "-fraction":
+                        soak.fraction = Double.parseDouble(value);
+                        break;
+                    case "-seed":
+                        soak.seed = Long.parseLong(value);
+                        break;
+                    case "-out":
+                        soak.out = Paths.get(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (soak.concurrency < 1) {
+                throw new IllegalArgumentException("At least one search must run");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: java SoakTest [-searches n] [-duration seconds] "
+                    + "[-budget seconds] [-sample seconds] [-engines a,b] [-fraction f] "
+                    + "[-seed n] [-out file]");
+            System.exit(2);
+        }
+        System.exit(soak.run() ? 0 : 1);
+    }
+
+
+    /**
+     * How one search went.
+     */
+    private static class Outcome {
+
+        private final EngineType engine;
+        private final long nanos;
+        private final long evaluations;
+        private final boolean success;
+
+        Outcome(EngineType engine, long nanos, long evaluations, boolean success) {
+            this.engine = engine;
+            this.nanos = nanos;
+            this.evaluations = evaluations;
+            this.success = success;
+        }
+
+    }
+
+}
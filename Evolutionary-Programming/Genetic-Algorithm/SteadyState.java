@@ -0,0 +1,350 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Flow;
+
+/**
+ * Runs the genetic algorithm in steady state: rather than breeding a whole
+ * <code>Generation</code> from the last, children are bred one pair at a
+ * time and each is inserted into the population at once, in place of one
+ * of the worst individuals. A fitter child can be selected as a parent on
+ * the very next step, so improvements spread without waiting for the rest
+ * of a generation to be bred, and the first improvements come sooner.
+ *
+ * <p>The population is kept in a <code>FitnessIndex</code>, so selecting
+ * a parent, inserting a child and removing the worst individual each take
+ * logarithmic time. The operators and their shares follow
+ * <code>Population</code>: each step breeds two children by crossover, a
+ * quarter of which are then mutated, or, a fifth of the time, adds a
+ * random immigrant. Mutation turns double-point after a stretch without
+ * improvement. Since replacement only ever removes the worst, the fittest
+ * individuals are never lost, as the elites are in a generational search.
+ * Children folded the same way as an individual already in the
+ * population are turned away, since replacing the worst would otherwise
+ * soon fill it with copies of the best.
+ *
+ * <p>As many insertions as the population holds count as a generation in
+ * the <code>Messages</code> sent to subscribers, in the statistics and in
+ * the progress log.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class SteadyState implements FoldingEngine {
+
+    /**
+     * The fraction of steps that add a random immigrant rather than
+     * breed by crossover, as in a generational search.
+     */
+    public static final double IMMIGRANT_RATE = 0.2;
+
+    /**
+     * The fraction of children bred by crossover that are then mutated,
+     * as in a generational search.
+     */
+    public static final double MUTATION_RATE = (double) Population.MUTATION_NUMBER
+            / Population.CROSSOVER_SIZE;
+
+    private final String acidString;
+    private final int targetFitness;
+    private final int stopFitness;
+    private final int populationSize;
+    private final Random random;
+    private final SearchMetrics metrics;
+    private final ProgressPublisher publisher;
+    private final ProgressLog log;
+    private final FitnessIndex population;
+
+    /**
+     * How many individuals of the population share each canonical hash,
+     * so that a child folded the same way as one already present can be
+     * turned away.
+     */
+    private final Map<Long, Integer> folds;
+
+    /**
+     * How many generations' worth of insertions without improvement pass
+     * before double-point mutation is applied.
+     */
+    private int stagnationThreshold;
+
+    /**
+     * Refines each child that ties or beats the best before it is
+     * inserted, or <code>null</code> to run the plain genetic algorithm.
+     */
+    private LocalSearch localSearch;
+
+    /**
+     * Where every child is offered, or <code>null</code> if the fittest
+     * are not kept.
+     */
+    private HallOfFame hallOfFame;
+
+    /**
+     * The fittest individual found so far.
+     */
+    private Chromosome best;
+
+    /**
+     * The number of children inserted, and the number inserted when the
+     * best last improved.
+     */
+    private long insertions;
+    private long lastImprovement;
+
+    /**
+     * When progress was last reported to the log.
+     */
+    private long lastLogged;
+
+    /**
+     * Whether the search has been asked to stop early.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Builds a steady-state search of the default population size.
+     *
+     * @param acidString the sequence of amino acids compromising the protein
+     * @param targetFitness the goal fitness for the search being performed
+     */
+    public SteadyState(String acidString, int targetFitness) {
+        this(acidString, targetFitness, Population.POP_SIZE, new Random());
+    }
+
+    /**
+     * Builds a steady-state search whose every random choice is made by
+     * the provided random generator.
+     *
+     * @param acidString the sequence of amino acids compromising the protein
+     * @param targetFitness the goal fitness for the search being performed
+     * @param populationSize the number of individuals in the population
+     * @param random the random generator for the search
+     */
+    public SteadyState(String acidString, int targetFitness, int populationSize,
+                       Random random) {
+        if (populationSize < Population.MIN_POP_SIZE) {
+            throw new IllegalArgumentException("A population holds at least "
+                    + Population.MIN_POP_SIZE + " individuals, not " + populationSize);
+        }
+        int bound = FitnessBound.bestPossibleFitness(acidString);
+        this.acidString = acidString;
+        this.targetFitness = targetFitness;
+        this.stopFitness = Math.max(targetFitness, bound);
+        this.populationSize = populationSize;
+        this.random = random;
+        this.metrics = new SearchMetrics(acidString, targetFitness);
+        this.publisher = new ProgressPublisher();
+        this.log = ProgressLog.getInstance();
+        this.stagnationThreshold = Population.STAGNATION_THRESHOLD;
+
+        this.population = new FitnessIndex(-bound);
+        this.folds = new HashMap<>();
+        for (int i = 0; i < populationSize; i++) {
+            Chromosome individual = new Chromosome(acidString, random, this.metrics);
+            this.population.insert(individual);
+            this.folds.merge(individual.getCanonicalHash(), 1, Integer::sum);
+        }
+        this.metrics.recordEvaluations(populationSize);
+    }
+
+    /**
+     * Sets how many generations' worth of insertions without improvement
+     * pass before double-point mutation is applied.
+     *
+     * @param generations the number of generations without improvement
+     */
+    public void setStagnationThreshold(int generations) {
+        if (generations < 1) {
+            throw new IllegalArgumentException("Stagnation threshold must be positive");
+        }
+        this.stagnationThreshold = generations;
+    }
+
+    /**
+     * Hybridizes this search with local search: every child at least as
+     * fit as the best individual is refined before it is inserted.
+     *
+     * @param localSearch the local search to apply, or <code>null</code> for none
+     */
+    public void setLocalSearch(LocalSearch localSearch) {
+        this.localSearch = localSearch;
+    }
+
+    /**
+     * Offers every child, and the fittest of the initial population, to a
+     * hall of fame.
+     *
+     * @param hallOfFame the hall of fame, or <code>null</code> for none
+     */
+    @Override
+    public void setHallOfFame(HallOfFame hallOfFame) {
+        this.hallOfFame = hallOfFame;
+    }
+
+    @Override
+    public String getAcidString() {
+        return this.acidString;
+    }
+
+    @Override
+    public int getTargetFitness() {
+        return this.targetFitness;
+    }
+
+    @Override
+    public SearchMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Message> subscriber) {
+        this.publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Asks the search to stop after the step under way.
+     */
+    @Override
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * Breeds and inserts children until the target fitness is reached or
+     * the search is cancelled, publishing each improvement as soon as it
+     * is inserted. The statistics of the search are registered over JMX
+     * for the duration.
+     */
+    @Override
+    public void evolve() {
+        this.metrics.register();
+        try {
+            this.best = this.population.getBest();
+            if (this.hallOfFame != null) {
+                this.hallOfFame.offer(this.best);
+            }
+            this.lastLogged = System.nanoTime();
+            while (this.best.getFitness() > this.stopFitness && !this.cancelled) {
+                this.step();
+            }
+            // Count the last, partial generation, so the statistics end current.
+            if (this.insertions % this.populationSize != 0) {
+                this.recordGeneration();
+            }
+        } finally {
+            this.metrics.unregister();
+            this.publisher.close();
+        }
+    }
+
+    /**
+     * Breeds one pair of children by crossover, or one random immigrant,
+     * and inserts them.
+     */
+    private void step() {
+        if (this.random.nextDouble() < IMMIGRANT_RATE) {
+            this.metrics.recordEvaluations(1);
+            this.insert(new Chromosome(this.acidString, this.random, this.metrics));
+            return;
+        }
+
+        Chromosome left = this.population.select(this.random);
+        Chromosome right = this.population.select(this.random);
+        int pivot = this.random.nextInt(this.acidString.length() - 2) + 1;
+        Chromosome newLeft = Chromosome.crossover(left, right, pivot, this.random);
+        Chromosome newRight = Chromosome.crossover(right, left, pivot, this.random);
+        this.metrics.recordCrossover(newLeft != null);
+        this.metrics.recordCrossover(newRight != null);
+        if (newLeft != null) {
+            this.insert(this.maybeMutate(newLeft));
+        }
+        if (newRight != null) {
+            this.insert(this.maybeMutate(newRight));
+        }
+    }
+
+    /**
+     * Mutates a child at the mutation rate, at two points if the search
+     * has stagnated. A failed mutation leaves the child unchanged.
+     *
+     * @param child the child bred by crossover
+     * @return the child, mutated or not
+     */
+    private Chromosome maybeMutate(Chromosome child) {
+        if (this.random.nextDouble() >= MUTATION_RATE) {
+            return child;
+        }
+        boolean doublePoint = (this.insertions - this.lastImprovement)
+                >= (long) this.stagnationThreshold * this.populationSize;
+        int pivot = this.random.nextInt(this.acidString.length() - 2) + 1;
+        Chromosome mutant = Chromosome.mutate(child, pivot, this.random);
+        this.metrics.recordMutation(mutant != null);
+        if (mutant != null && doublePoint) {
+            int secondPivot = this.random.nextInt(this.acidString.length() - 2) + 1;
+            mutant = Chromosome.mutate(mutant, secondPivot, this.random);
+            this.metrics.recordMutation(mutant != null);
+        }
+        return (mutant != null) ? mutant : child;
+    }
+
+    /**
+     * Inserts a child in place of one of the worst individuals, unless it
+     * is worse than all of them or folded the same way as an individual
+     * already present, and reports progress.
+     *
+     * @param child the child to insert
+     */
+    private void insert(Chromosome child) {
+        if (this.localSearch != null && child.getFitness() <= this.best.getFitness()) {
+            Chromosome refined = this.localSearch.refine(child, this.random);
+            this.metrics.recordLocalSearch(this.localSearch.getMoves(),
+                    refined.getFitness() < child.getFitness());
+            child = refined;
+        }
+        if (this.hallOfFame != null) {
+            this.hallOfFame.offer(child);
+        }
+        if (child.getFitness() <= this.population.getWorstFitness()
+                && !this.folds.containsKey(child.getCanonicalHash())) {
+            this.population.insert(child);
+            this.folds.merge(child.getCanonicalHash(), 1, Integer::sum);
+            Chromosome removed = this.population.removeWorst(this.random);
+            this.folds.computeIfPresent(removed.getCanonicalHash(),
+                    (hash, count) -> (count == 1) ? null : count - 1);
+        }
+        this.insertions++;
+
+        boolean improved = child.getFitness() < this.best.getFitness();
+        int generation = (int) (this.insertions / this.populationSize);
+        if (improved) {
+            this.best = child;
+            this.lastImprovement = this.insertions;
+            this.publisher.publish(new Message(child, generation));
+        }
+        boolean endOfGeneration = this.insertions % this.populationSize == 0;
+        if (endOfGeneration) {
+            this.recordGeneration();
+        }
+        if (improved || endOfGeneration) {
+            long now = System.nanoTime();
+            if (improved || now - this.lastLogged >= ProgressLog.SAMPLE_INTERVAL) {
+                this.lastLogged = now;
+                this.log.record(this.metrics.getId(), generation, this.best.getFitness(),
+                        this.population.countAt(this.best.getFitness()),
+                        this.population.size());
+            }
+        }
+    }
+
+
+    /**
+     * Records the state of the population as the end of a generation.
+     */
+    private void recordGeneration() {
+        this.metrics.recordGeneration(this.best.getFitness(),
+                this.population.countAt(this.best.getFitness()),
+                this.population.countDistinctFitnesses());
+    }
+
+}
@@ -0,0 +1,171 @@
+/**
+ * Maps the integral coordinates of a protein structure onto the pixels of
+ * a drawing surface. The structure is first fitted so that its bounding box
+ * fills the surface; a user-controlled zoom and pan are then applied on top
+ * of the fitted view, so they persist as successive structures are drawn.
+ *
+ * @author Franklin D. Worrell
+ * @version 18 October 2026
+ */
+public class Viewport {
+
+    /**
+     * The largest size of a lattice cell in pixels. Short proteins are not
+     * blown up past this size when fitted.
+     */
+    public static final double MAX_CELL_SIZE = 30;
+
+    /**
+     * The smallest and largest zoom factors the user may apply.
+     */
+    private static final double MIN_ZOOM = 0.1;
+    private static final double MAX_ZOOM = 50;
+
+    /**
+     * The dimensions of the drawing surface in pixels.
+     */
+    private double width;
+    private double height;
+
+    /**
+     * The blank border left around a fitted structure in pixels.
+     */
+    private double margin;
+
+    /**
+     * The lattice coordinates of the center of the fitted structure.
+     */
+    private double centerX;
+    private double centerY;
+
+    /**
+     * The pixels per lattice cell of the fitted structure, before zoom.
+     */
+    private double fittedCellSize;
+
+    /**
+     * The user-applied magnification of the fitted view.
+     */
+    private double zoom;
+
+    /**
+     * The user-applied translation of the fitted view in pixels.
+     */
+    private double panX;
+    private double panY;
+
+    /**
+     * Builds a new <code>Viewport</code> for a drawing surface of the given
+     * dimensions.
+     *
+     * @param width the width of the drawing surface in pixels
+     * @param height the height of the drawing surface in pixels
+     * @param margin the border to leave around a fitted structure in pixels
+     */
+    public Viewport(double width, double height, double margin) {
+        this.width = width;
+        this.height = height;
+        this.margin = margin;
+        this.fittedCellSize = MAX_CELL_SIZE;
+        this.reset();
+    }
+
+    /**
+     * Fits the view to the bounding box of the provided structure.
+     * The user's zoom and pan are retained.
+     *
+     * @param locations the coordinates of each amino acid in the protein
+     */
+    public void fit(Location[] locations) {
+        int minX = locations[0].getX();
+        int maxX = minX;
+        int minY = locations[0].getY();
+        int maxY = minY;
+
+        // Find the most extreme x and y values.
+        for (Location location : locations) {
+            int x = location.getX();
+            int y = location.getY();
+            if (x < minX) { minX = x; }
+            if (x > maxX) { maxX = x; }
+            if (y < minY) { minY = y; }
+            if (y > maxY) { maxY = y; }
+        }
+
+        // One extra cell in each direction leaves room for the acids themselves.
+        double horizontal = (this.width - 2 * this.margin) / (maxX - minX + 1);
+        double vertical = (this.height - 2 * this.margin) / (maxY - minY + 1);
+        this.fittedCellSize = Math.min(MAX_CELL_SIZE, Math.min(horizontal, vertical));
+        this.centerX = (minX + maxX) / 2.0;
+        this.centerY = (minY + maxY) / 2.0;
+    }
+
+    /**
+     * Magnifies the view by the given factor while keeping the point under
+     * the given pixel fixed.
+     *
+     * @param factor the relative change in magnification
+     * @param pixelX the horizontal pixel to zoom about
+     * @param pixelY the vertical pixel to zoom about
+     */
+    public void zoomAt(double factor, double pixelX, double pixelY) {
+        double newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, this.zoom * factor));
+        double applied = newZoom / this.zoom;
+        double fromCenterX = pixelX - this.width / 2;
+        double fromCenterY = pixelY - this.height / 2;
+        this.panX = fromCenterX - (fromCenterX - this.panX) * applied;
+        this.panY = fromCenterY - (fromCenterY - this.panY) * applied;
+        this.zoom = newZoom;
+    }
+
+    /**
+     * Translates the view by the given number of pixels.
+     *
+     * @param deltaX the horizontal translation in pixels
+     * @param deltaY the vertical translation in pixels
+     */
+    public void pan(double deltaX, double deltaY) {
+        this.panX += deltaX;
+        this.panY += deltaY;
+    }
+
+    /**
+     * Discards the user's zoom and pan, returning to the fitted view.
+     */
+    public void reset() {
+        this.zoom = 1;
+        this.panX = 0;
+        this.panY = 0;
+    }
+
+    /**
+     * Returns the size of a lattice cell in pixels, including zoom.
+     *
+     * @return the pixels per lattice cell
+     */
+    public double getCellSize() {
+        return this.fittedCellSize * this.zoom;
+    }
+
+    /**
+     * Returns the horizontal pixel at the center of the given lattice
+     * column.
+     *
+     * @param x the lattice x-coordinate
+     * @return the corresponding horizontal pixel
+     */
+    public double toPixelX(int x) {
+        return (x - this.centerX) * this.getCellSize() + this.width / 2 + this.panX;
+    }
+
+    /**
+     * Returns the vertical pixel at the center of the given lattice row.
+     *
+     * @param y the lattice y-coordinate
+     * @return the corresponding vertical pixel
+     */
+    public double toPixelY(int y) {
+        return (y - this.centerY) * this.getCellSize() + this.height / 2 + this.panY;
+    }
+
+}